@@ -0,0 +1,148 @@
+package com.anyoffice.service;
+
+import com.anyoffice.benchmark.Stubs;
+import com.anyoffice.dto.CreateOrderRequest;
+import com.anyoffice.model.OfficeOrder;
+import com.anyoffice.model.OfficeUser;
+import com.anyoffice.model.OfficeUserRole;
+import com.anyoffice.model.Stationery;
+import com.anyoffice.repository.ApprovalWorkflowRepository;
+import com.anyoffice.repository.BudgetAllocationRepository;
+import com.anyoffice.repository.DepartmentRepository;
+import com.anyoffice.repository.OfficeOrderItemRepository;
+import com.anyoffice.repository.OfficeOrderRepository;
+import com.anyoffice.repository.OfficeUserRepository;
+import com.anyoffice.repository.StationeryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OfficeOrderService.createOrder without the database: item pricing, VAT,
+ * approval tier decision and workflow / budget bookkeeping, with one order
+ * per approval tier (auto-approve, department manager, procurement, company
+ * admin). Repositories and the mail sender are in-memory stubs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfficeOrderApprovalBenchmark {
+
+    private static final int LINES = 5;
+
+    /** Units per line at R100 each, +15% VAT: R1 150 / R11 500 / R34 500 / R69 000 */
+    private static final Map<String, Integer> UNITS_PER_LINE = Map.of(
+            "AUTO_APPROVE", 2,
+            "DEPARTMENT_MANAGER", 20,
+            "PROCUREMENT_OFFICER", 60,
+            "COMPANY_ADMIN", 120
+    );
+
+    @Param({"AUTO_APPROVE", "DEPARTMENT_MANAGER", "PROCUREMENT_OFFICER", "COMPANY_ADMIN"})
+    public String tier;
+
+    private OfficeOrderService orderService;
+    private OfficeUser requester;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() {
+        List<Stationery> catalogue = new ArrayList<>();
+        for (long id = 1; id <= LINES; id++) {
+            Stationery stationery = new Stationery();
+            ReflectionTestUtils.setField(stationery, "id", id);
+            ReflectionTestUtils.setField(stationery, "name", "Item " + id);
+            ReflectionTestUtils.setField(stationery, "price", new BigDecimal("100.00"));
+            ReflectionTestUtils.setField(stationery, "available", true);
+            catalogue.add(stationery);
+        }
+
+        requester = user(1L, OfficeUserRole.EMPLOYEE);
+        Map<OfficeUserRole, List<OfficeUser>> approvers = Map.of(
+                OfficeUserRole.DEPARTMENT_MANAGER, List.of(user(2L, OfficeUserRole.DEPARTMENT_MANAGER)),
+                OfficeUserRole.PROCUREMENT_OFFICER, List.of(user(3L, OfficeUserRole.PROCUREMENT_OFFICER)),
+                OfficeUserRole.COMPANY_ADMIN, List.of(user(4L, OfficeUserRole.COMPANY_ADMIN))
+        );
+
+        BudgetService budgetService = new BudgetService(
+                Stubs.of(BudgetAllocationRepository.class, Map.of(
+                        "findByCompanyIdAndDepartmentIdAndFiscalYear", args -> Optional.empty()
+                )),
+                Stubs.of(DepartmentRepository.class, Map.of(
+                        "findById", args -> Optional.empty()
+                ))
+        );
+        EmailService emailService = new EmailService(Stubs.of(JavaMailSender.class, Map.of(
+                "send", args -> null
+        )));
+
+        orderService = new OfficeOrderService(
+                Stubs.of(OfficeOrderRepository.class, Map.of(
+                        "findByOrderNumber", args -> Optional.empty(),
+                        "save", args -> (OfficeOrder) args[0]
+                )),
+                Stubs.of(OfficeOrderItemRepository.class, Map.of(
+                        "save", args -> args[0]
+                )),
+                Stubs.of(ApprovalWorkflowRepository.class, Map.of(
+                        "save", args -> args[0]
+                )),
+                Stubs.of(StationeryRepository.class, Map.of(
+                        "findById", args -> Optional.of(catalogue.get((int) ((Long) args[0] - 1)))
+                )),
+                Stubs.of(OfficeUserRepository.class, Map.of(
+                        "findByCompanyIdAndRole", args -> approvers.getOrDefault((OfficeUserRole) args[1], List.of())
+                )),
+                budgetService,
+                emailService
+        );
+
+        request = new CreateOrderRequest();
+        request.setShippingAddress("1 Benchmark Street, Sandton");
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (Stationery stationery : catalogue) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setStationeryId(stationery.getId());
+            item.setQuantity(UNITS_PER_LINE.get(tier));
+            items.add(item);
+        }
+        request.setItems(items);
+    }
+
+    @Benchmark
+    public OfficeOrder createOrder() {
+        return orderService.createOrder(requester, request);
+    }
+
+    private static OfficeUser user(long id, OfficeUserRole role) {
+        OfficeUser user = new OfficeUser();
+        user.setId(id);
+        user.setEmail("user" + id + "@benchmark.anyoffice.co.za");
+        user.setFirstName("User");
+        user.setLastName(String.valueOf(id));
+        user.setRole(role);
+        user.setCompanyId(1L);
+        user.setDepartmentId(1L);
+        return user;
+    }
+}
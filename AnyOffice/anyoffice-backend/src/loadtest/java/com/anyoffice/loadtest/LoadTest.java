@@ -0,0 +1,148 @@
+package com.anyoffice.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * AnyOffice Load Test
+ *
+ * Capacity test entry point, run before each release:
+ *
+ *   mvn -Ploadtest verify
+ *   mvn -Ploadtest verify -Dloadtest.args="profiles=office-order-approval:50 duration=300"
+ *   mvn -Ploadtest verify -Dloadtest.args="base-url=https://staging.example profiles=office-order-approval:20"
+ *   mvn -Ploadtest verify -Dloadtest.args="profiles=office-order-approval:80 server-threads=platform,virtual"
+ *
+ * Starts the application in this JVM (see TestEnvironment) unless base-url
+ * is given, drives the requested workload profiles at their arrival rates
+ * (see OpenModelDriver), prints per-endpoint throughput and latency
+ * percentiles and writes them to the JSON report. Exits with 1 when the
+ * error rate is above max-error-percent so CI can gate on it.
+ *
+ * server-threads=platform,virtual runs the same workload once per request
+ * threading mode, each against a freshly started and seeded server, writes
+ * one report per mode (loadtest-report-platform.json, ...) and prints a
+ * side-by-side comparison.
+ *
+ * Profiles: office-order-approval.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        List<OpenModelDriver.Arrival> arrivals = arrivals(settings);
+        List<String> modes = serverThreads(settings);
+
+        int exitCode = 0;
+        Map<String, Metrics> results = new LinkedHashMap<>();
+        ExecutorService executor = OpenModelDriver.newSessionExecutor();
+        try {
+            for (String mode : modes) {
+                Settings run = settings.with("server-threads", mode);
+                Path report = modes.size() > 1 ? suffixed(Path.of(settings.get("report")), mode) : Path.of(settings.get("report"));
+                Metrics metrics = run(run, arrivals, executor);
+
+                Report.print(metrics, System.out);
+                Report.write(metrics, run, report);
+                log.info("Report written to {}", report.toAbsolutePath());
+                results.put(mode.isEmpty() ? "configured" : mode, metrics);
+
+                double errorPercent = metrics.totalRequests() == 0 ? 100 : metrics.totalErrors() * 100.0 / metrics.totalRequests();
+                if (errorPercent > settings.getDouble("max-error-percent")) {
+                    exitCode = 1;
+                    log.error("Error rate {}% is above max-error-percent {}%",
+                            Math.round(errorPercent * 100) / 100.0, settings.get("max-error-percent"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (results.size() > 1) {
+            Report.compare(results, System.out);
+        }
+        System.exit(exitCode);
+    }
+
+    private static Metrics run(Settings settings, List<OpenModelDriver.Arrival> arrivals, ExecutorService executor) throws Exception {
+        if (!settings.isBlank("server-threads")) {
+            log.info("Server request threads: {}", settings.get("server-threads"));
+        }
+        try (TestEnvironment environment = TestEnvironment.start(settings)) {
+            Client client = new Client(environment.baseUrl(), executor,
+                    Duration.ofSeconds(settings.getInt("request-timeout")), new Metrics());
+            OpenModelDriver driver = new OpenModelDriver(client, executor, arrivals,
+                    settings.getInt("max-sessions"), Long.parseLong(settings.get("random-seed")));
+
+            return driver.run(
+                    Duration.ofSeconds(settings.getInt("warmup")),
+                    Duration.ofSeconds(settings.getInt("duration")),
+                    Duration.ofSeconds(settings.getInt("request-timeout")));
+        }
+    }
+
+    /**
+     * server-threads=platform,virtual (blank = one run, as configured)
+     */
+    private static List<String> serverThreads(Settings settings) {
+        List<String> modes = new ArrayList<>();
+        for (String mode : settings.get("server-threads").split(",")) {
+            mode = mode.trim();
+            if (mode.isEmpty()) {
+                continue;
+            }
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("server-threads must be platform and/or virtual, not " + mode);
+            }
+            // The server runs in this JVM: on an older runtime "virtual" would be a second platform run
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                throw new IllegalArgumentException("server-threads=virtual needs a Java 21+ runtime (running "
+                        + Runtime.version().feature() + ")");
+            }
+            modes.add(mode);
+        }
+        if (modes.isEmpty()) {
+            modes.add("");
+        }
+        return modes;
+    }
+
+    private static Path suffixed(Path report, String mode) {
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String file = dot < 0 ? name + "-" + mode : name.substring(0, dot) + "-" + mode + name.substring(dot);
+        return report.resolveSibling(file);
+    }
+
+    /**
+     * profiles=name[:rate],... (rate in sessions per second, default rate=)
+     */
+    private static List<OpenModelDriver.Arrival> arrivals(Settings settings) {
+        List<OpenModelDriver.Arrival> arrivals = new ArrayList<>();
+        for (String entry : settings.get("profiles").split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            double rate = parts.length > 1 ? Double.parseDouble(parts[1]) : settings.getDouble("rate");
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Arrival rate must be positive for profile " + parts[0]);
+            }
+            arrivals.add(new OpenModelDriver.Arrival(Workload.create(parts[0], settings), rate));
+        }
+        if (arrivals.isEmpty()) {
+            throw new IllegalArgumentException("No workload profiles given (known: " + Workload.names() + ")");
+        }
+        return arrivals;
+    }
+}
@@ -0,0 +1,89 @@
+package com.anyoffice.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load Test Metrics
+ *
+ * Client-side measurements for one measurement window, recorded from many
+ * session threads at once.
+ *
+ * - per endpoint ("POST /api/orders"): latency, responses, errors
+ * - per workload: sessions started / completed / failed / dropped, session
+ *   duration measured from the scheduled arrival time (so client-side
+ *   queueing shows up instead of being hidden), and arrival lag
+ */
+final class Metrics {
+
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, WorkloadStats> workloads = new ConcurrentHashMap<>();
+    private final long startedAtNanos = System.nanoTime();
+    private volatile long stoppedAtNanos;
+
+    static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        volatile String lastError;
+    }
+
+    static final class WorkloadStats {
+        final LatencyHistogram sessionLatency = new LatencyHistogram();
+        final LatencyHistogram arrivalLag = new LatencyHistogram();
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        volatile String lastFailure;
+    }
+
+    /**
+     * Record one HTTP exchange
+     *
+     * @param endpoint Method + path template
+     * @param status HTTP status (0 = no response: timeout, connection error)
+     * @param micros Time from send to response body received
+     * @param error Error description, null if the response was expected
+     */
+    void recordRequest(String endpoint, int status, long micros, String error) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, k -> new EndpointStats());
+        stats.latency.record(micros);
+        stats.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        if (error != null) {
+            stats.errors.increment();
+            stats.lastError = error;
+        }
+    }
+
+    WorkloadStats workload(String name) {
+        return workloads.computeIfAbsent(name, k -> new WorkloadStats());
+    }
+
+    void stop() {
+        stoppedAtNanos = System.nanoTime();
+    }
+
+    double elapsedSeconds() {
+        long end = stoppedAtNanos != 0 ? stoppedAtNanos : System.nanoTime();
+        return Math.max(0.001, (end - startedAtNanos) / 1_000_000_000.0);
+    }
+
+    Map<String, EndpointStats> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    Map<String, WorkloadStats> getWorkloads() {
+        return new TreeMap<>(workloads);
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(e -> e.latency.getCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+}
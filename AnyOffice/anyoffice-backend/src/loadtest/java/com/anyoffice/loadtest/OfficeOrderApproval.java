@@ -0,0 +1,110 @@
+package com.anyoffice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Office order and approval.
+ *
+ * 80% of visits: an employee browses the catalogue, places an order (mostly
+ * small, auto-approved; ~15% bulk orders that go to an approver) and checks
+ * their orders. 20%: a department manager works through pending approvals.
+ * User emails follow ScaleDataSeeder's layout, so the data-set settings must
+ * match the seeded database.
+ */
+final class OfficeOrderApproval implements Workload {
+
+    static final String NAME = "office-order-approval";
+
+    private final int companies;
+    private final int departments;
+    private final int employees;
+    private final int usersPerCompany;
+    private final String password;
+
+    OfficeOrderApproval(Settings settings) {
+        this.companies = settings.getInt("companies");
+        this.departments = settings.getInt("departments-per-company");
+        this.employees = settings.getInt("employees-per-department");
+        this.usersPerCompany = 2 + departments * (employees + 1);
+        this.password = settings.get("password");
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void run(Session session) {
+        int company = 1 + session.random().nextInt(companies);
+        int department = 1 + session.random().nextInt(departments);
+        if (session.random().nextInt(100) < 80) {
+            placeOrder(session, company, department, 1 + session.random().nextInt(employees));
+        } else {
+            approve(session, company, department);
+        }
+    }
+
+    private void placeOrder(Session session, int company, int department, int employee) {
+        login(session, userEmail(company, department, employee));
+
+        JsonNode catalogue = session.get("GET /api/office/catalog", "/api/office/catalog").path("items");
+        if (catalogue.isEmpty()) {
+            throw new Session.Failure("Catalogue is empty");
+        }
+        boolean bulk = session.random().nextInt(100) < 15;
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + session.random().nextInt(5);
+        for (int i = 0; i < lines; i++) {
+            int quantity = bulk ? 50 + session.random().nextInt(150) : 1 + session.random().nextInt(10);
+            items.add(Map.of("stationeryId", session.pick(catalogue).path("id").asLong(), "quantity", quantity));
+        }
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("shippingAddress", "1 Main Road");
+        order.put("priority", bulk ? "HIGH" : "MEDIUM");
+        order.put("items", items);
+        session.post("POST /api/office/orders", "/api/office/orders", order);
+
+        session.get("GET /api/office/orders", "/api/office/orders");
+    }
+
+    private void approve(Session session, int company, int department) {
+        login(session, userEmail(company, department, 0));
+
+        JsonNode pending = session.get("GET /api/office/approvals/pending", "/api/office/approvals/pending").path("approvals");
+        JsonNode workflow = session.pick(pending);
+        if (!workflow.isMissingNode()) {
+            long id = workflow.path("id").asLong();
+            // Another session for the same manager may decide it first
+            if (session.random().nextInt(100) < 90) {
+                session.request("PUT", "PUT /api/office/approvals/{id}/approve",
+                        "/api/office/approvals/" + id + "/approve", Map.of("comments", "Approved"), 409);
+            } else {
+                session.request("PUT", "PUT /api/office/approvals/{id}/reject",
+                        "/api/office/approvals/" + id + "/reject", Map.of("rejectionReason", "Over budget this month"), 409);
+            }
+        }
+
+        session.get("GET /api/office/budget/summary", "/api/office/budget/summary");
+    }
+
+    private void login(Session session, String email) {
+        if (!session.login(email, password)) {
+            throw new Session.Failure(email + " cannot log in");
+        }
+    }
+
+    /**
+     * Seeded email: employee 0 = the department manager
+     */
+    private String userEmail(int company, int department, int employee) {
+        long index = (long) (company - 1) * usersPerCompany + 3 + (long) (department - 1) * (employees + 1) + employee;
+        return "user" + index + "@seed.anyoffice.test";
+    }
+}
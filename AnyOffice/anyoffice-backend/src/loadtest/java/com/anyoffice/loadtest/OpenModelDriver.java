@@ -0,0 +1,147 @@
+package com.anyoffice.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-Model Load Driver
+ *
+ * Starts sessions on a Poisson arrival schedule per workload (exponential
+ * gaps, mean 1/rate), independent of how many sessions are still running.
+ * A closed-model tool (N users in a loop) slows its own request rate down
+ * when the server slows down and so under-reports latency exactly when it
+ * matters; here the arrival rate is fixed and queueing shows up as latency.
+ *
+ * Session duration is measured from the scheduled arrival time, not the
+ * moment a thread picked it up, so client-side lag is included too
+ * (coordinated omission). Each session runs on its own virtual thread, and
+ * arrivals beyond max-sessions in flight are counted as dropped instead of
+ * queued.
+ *
+ * The arrival schedule and every session's random choices derive from
+ * random-seed, so two runs issue the same sequence of visits.
+ */
+@Slf4j
+final class OpenModelDriver {
+
+    record Arrival(Workload workload, double ratePerSecond) {
+    }
+
+    private final Client client;
+    private final ExecutorService executor;
+    private final List<Arrival> arrivals;
+    private final int maxSessions;
+    private final long randomSeed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(Client client, ExecutorService executor, List<Arrival> arrivals, int maxSessions, long randomSeed) {
+        this.client = client;
+        this.executor = executor;
+        this.arrivals = arrivals;
+        this.maxSessions = maxSessions;
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * Thread-per-session executor on virtual threads
+     */
+    static ExecutorService newSessionExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Run warm-up then the measured window
+     *
+     * @return Metrics of the measured window (including sessions draining after it)
+     */
+    Metrics run(Duration warmup, Duration measure, Duration drainTimeout) throws InterruptedException {
+        SplittableRandom schedule = new SplittableRandom(randomSeed);
+        long start = System.nanoTime();
+        long warmupEnd = start + warmup.toNanos();
+        long end = warmupEnd + measure.toNanos();
+
+        long[] due = new long[arrivals.size()];
+        for (int i = 0; i < due.length; i++) {
+            due[i] = start + gap(schedule, arrivals.get(i).ratePerSecond());
+        }
+
+        Metrics measured = null;
+        log.info("Warm-up {} s, then measuring {} s", warmup.toSeconds(), measure.toSeconds());
+        while (true) {
+            int next = 0;
+            for (int i = 1; i < due.length; i++) {
+                if (due[i] < due[next]) {
+                    next = i;
+                }
+            }
+            long at = due[next];
+            if (at >= end) {
+                break;
+            }
+            if (measured == null && at >= warmupEnd) {
+                measured = new Metrics();
+                client.switchMetrics(measured);
+                log.info("Warm-up done - measuring");
+            }
+
+            long wait;
+            while ((wait = at - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            dispatch(arrivals.get(next).workload(), at, schedule.split());
+            due[next] = at + gap(schedule, arrivals.get(next).ratePerSecond());
+        }
+        if (measured == null) {
+            measured = new Metrics();
+            client.switchMetrics(measured);
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} sessions still running after {} s drain - not included", inFlight.get(), drainTimeout.toSeconds());
+        }
+        measured.stop();
+        return measured;
+    }
+
+    private void dispatch(Workload workload, long scheduledAt, SplittableRandom random) {
+        Metrics.WorkloadStats stats = client.metrics().workload(workload.name());
+        if (inFlight.get() >= maxSessions) {
+            stats.dropped.increment();
+            return;
+        }
+        inFlight.incrementAndGet();
+        stats.started.increment();
+        executor.execute(() -> {
+            stats.arrivalLag.record((System.nanoTime() - scheduledAt) / 1000);
+            try {
+                workload.run(new Session(client, random));
+                stats.completed.increment();
+            } catch (Exception e) {
+                stats.failed.increment();
+                stats.lastFailure = e.getMessage();
+            } finally {
+                stats.sessionLatency.record((System.nanoTime() - scheduledAt) / 1000);
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Exponentially distributed gap in nanoseconds (Poisson process)
+     */
+    private static long gap(SplittableRandom random, double ratePerSecond) {
+        return (long) (-Math.log(1.0 - random.nextDouble()) / ratePerSecond * 1_000_000_000L);
+    }
+}
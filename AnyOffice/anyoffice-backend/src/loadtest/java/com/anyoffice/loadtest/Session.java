@@ -0,0 +1,169 @@
+package com.anyoffice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Load Test Session
+ *
+ * One virtual user's visit: the HTTP calls a workload makes for a single
+ * arrival. Every call is timed and recorded under its endpoint template
+ * ("GET /api/office/orders/{id}"), so per-endpoint percentiles don't fragment by id.
+ *
+ * Any response outside the accepted statuses (2xx unless stated otherwise)
+ * ends the session with a Failure - later steps depend on earlier ones.
+ */
+final class Session {
+
+    static final class Failure extends RuntimeException {
+        Failure(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    record Response(int status, JsonNode body) {
+    }
+
+    private final Client client;
+    private final SplittableRandom random;
+    private String token;
+
+    Session(Client client, SplittableRandom random) {
+        this.client = client;
+        this.random = random;
+    }
+
+    SplittableRandom random() {
+        return random;
+    }
+
+    /**
+     * Log in (or reuse the cached token for this user)
+     *
+     * @return false if the account can't log in yet (403, e.g. unverified)
+     */
+    boolean login(String email, String password) {
+        String cached = client.cachedToken(email);
+        if (cached != null) {
+            token = cached;
+            return true;
+        }
+        token = null;
+        Response response = request("POST", "POST /api/office/auth/login", "/api/office/auth/login",
+                Map.of("email", email, "password", password), 403);
+        if (response.status() == 403) {
+            return false;
+        }
+        token = response.body().path("token").asText(null);
+        if (token == null) {
+            throw new Failure("Login for " + email + " returned no token");
+        }
+        client.cacheToken(email, token);
+        return true;
+    }
+
+    JsonNode get(String endpoint, String path) {
+        return request("GET", endpoint, path, null).body();
+    }
+
+    JsonNode post(String endpoint, String path, Object body) {
+        return request("POST", endpoint, path, body).body();
+    }
+
+    JsonNode put(String endpoint, String path, Object body) {
+        return request("PUT", endpoint, path, body).body();
+    }
+
+    /**
+     * Send one request and record it
+     *
+     * @param accepted Non-2xx statuses that are an expected outcome for this step
+     */
+    Response request(String method, String endpoint, String path, Object body, int... accepted) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(client.baseUrl + path))
+                .timeout(client.requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(client.mapper.writeValueAsBytes(body)));
+            } else {
+                builder.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialise request body for " + endpoint, e);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            client.metrics().recordRequest(endpoint, 0, (System.nanoTime() - start) / 1000, error);
+            throw new Failure(endpoint + " -> " + error);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Failure(endpoint + " interrupted");
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+
+        int status = response.statusCode();
+        boolean ok = (status >= 200 && status < 300) || contains(accepted, status);
+        String error = ok ? null : "HTTP " + status + " " + snippet(response.body());
+        client.metrics().recordRequest(endpoint, status, micros, error);
+        if (!ok) {
+            throw new Failure(endpoint + " -> " + error);
+        }
+        return new Response(status, parse(response.body()));
+    }
+
+    /**
+     * Random element of a JSON array (MissingNode if empty or absent)
+     */
+    JsonNode pick(JsonNode array) {
+        if (array == null || !array.isArray() || array.isEmpty()) {
+            return MissingNode.getInstance();
+        }
+        return array.get(random.nextInt(array.size()));
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return client.mapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String snippet(byte[] body) {
+        if (body == null || body.length == 0) {
+            return "";
+        }
+        String text = new String(body, 0, Math.min(body.length, 200), StandardCharsets.UTF_8);
+        return text.replace('\n', ' ');
+    }
+}
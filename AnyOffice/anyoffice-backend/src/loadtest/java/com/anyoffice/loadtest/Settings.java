@@ -0,0 +1,94 @@
+package com.anyoffice.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load Test Settings
+ *
+ * key=value arguments (mvn -Ploadtest verify -Dloadtest.args="profiles=office-order-approval:40 duration=120").
+ * Unknown keys are rejected so a typo can't silently fall back to a default.
+ */
+final class Settings {
+
+    static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        // Workload
+        DEFAULTS.put("profiles", "office-order-approval"); // name[:sessions per second], comma separated
+        DEFAULTS.put("rate", "10");                      // sessions per second for profiles without an explicit rate
+        DEFAULTS.put("warmup", "15");                    // seconds, not reported
+        DEFAULTS.put("duration", "60");                  // seconds, reported
+        DEFAULTS.put("max-sessions", "2000");            // in-flight cap; arrivals beyond it are counted as dropped
+        DEFAULTS.put("request-timeout", "30");           // seconds
+        DEFAULTS.put("max-error-percent", "1");          // exit code 1 above this
+        DEFAULTS.put("random-seed", "1");
+        DEFAULTS.put("report", "target/loadtest-report.json");
+
+        // Target: blank base-url = start the application in this JVM
+        DEFAULTS.put("base-url", "");
+        DEFAULTS.put("jdbc-url", "");                    // blank = embedded PostgreSQL
+        DEFAULTS.put("db-user", "postgres");
+        DEFAULTS.put("db-password", "");
+        DEFAULTS.put("server-threads", "");              // platform, virtual or platform,virtual (one run each); blank = as configured
+
+        // Data set (passed to ScaleDataSeeder; must match the target when base-url is used)
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("companies", "200");
+        DEFAULTS.put("departments-per-company", "5");
+        DEFAULTS.put("employees-per-department", "8");
+        DEFAULTS.put("orders", "20000");
+        DEFAULTS.put("password", "Seed@2026");
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+
+    static Settings parse(String[] args) {
+        Settings settings = new Settings();
+        for (String arg : args) {
+            if (arg == null || arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String key = (eq < 0 ? arg : arg.substring(0, eq)).trim().replaceFirst("^--", "");
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown load test setting: " + key + " (known: " + DEFAULTS.keySet() + ")");
+            }
+            settings.values.put(key, eq < 0 ? "true" : arg.substring(eq + 1).trim());
+        }
+        return settings;
+    }
+
+    /**
+     * Copy with one setting replaced (per-run variants of a comparison)
+     */
+    Settings with(String key, String value) {
+        Settings copy = new Settings();
+        copy.values.putAll(values);
+        copy.values.put(key, value);
+        return copy;
+    }
+
+    String get(String key) {
+        return values.get(key);
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(values.get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(values.get(key));
+    }
+
+    boolean isBlank(String key) {
+        return values.get(key) == null || values.get(key).isBlank();
+    }
+
+    Map<String, String> asMap() {
+        Map<String, String> copy = new LinkedHashMap<>(values);
+        copy.remove("db-password");
+        copy.remove("password");
+        return copy;
+    }
+}
@@ -0,0 +1,155 @@
+package com.anyoffice.loadtest;
+
+import com.anyoffice.AnyOfficeApplication;
+import com.anyoffice.seed.ScaleDataSeeder;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load Test Environment
+ *
+ * The system under test. Either:
+ * - base-url set: an application that is already running (data seeded with
+ *   the same scale settings), nothing is started here; or
+ * - in-JVM: an embedded PostgreSQL (or jdbc-url), then the real
+ *   AnyOfficeApplication on a random port with the production configuration,
+ *   seeded through ScaleDataSeeder (plus a small stationery catalogue when
+ *   the database has none - AnySchool normally owns that table).
+ *
+ * server-threads=platform|virtual sets spring.threads.virtual.enabled (and
+ * with it the JDBC limiter) for the in-JVM server.
+ *
+ * The in-JVM server shares CPU with the load generator; use base-url against
+ * a separate host for absolute capacity numbers, in-JVM for release-to-release
+ * comparisons on the same machine.
+ */
+@Slf4j
+final class TestEnvironment implements AutoCloseable {
+
+    private final String baseUrl;
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private TestEnvironment(String baseUrl, EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.baseUrl = baseUrl;
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static TestEnvironment start(Settings settings) throws Exception {
+        if (!settings.isBlank("base-url")) {
+            if (!settings.isBlank("server-threads")) {
+                throw new IllegalArgumentException("server-threads only applies to the in-JVM server, not base-url");
+            }
+            log.info("Driving existing server at {}", settings.get("base-url"));
+            return new TestEnvironment(settings.get("base-url"), null, null);
+        }
+
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = settings.get("jdbc-url");
+        String user = settings.get("db-user");
+        String password = settings.get("db-password");
+        if (settings.isBlank("jdbc-url")) {
+            log.info("Starting embedded PostgreSQL");
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            user = "postgres";
+            password = "";
+        }
+
+        try {
+            Map<String, String> properties = new HashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.url", jdbcUrl);
+            properties.put("spring.datasource.username", user);
+            properties.put("spring.datasource.password", password);
+            properties.put("jwt.secret", jwtSecret());
+            // Per-request INFO logging would dominate the measurement
+            properties.put("logging.level.com.anyoffice", "WARN");
+            properties.put("logging.level.com.anyoffice.seed", "INFO");
+            properties.put("logging.level.org.springframework.security", "WARN");
+            properties.put("app.seed.scale.enabled", "false");
+            if (!settings.isBlank("server-threads")) {
+                properties.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(settings.get("server-threads"))));
+            }
+            for (String key : new String[]{"seed", "companies", "departments-per-company", "employees-per-department", "orders", "password"}) {
+                properties.put("app.seed.scale." + key, settings.get(key));
+            }
+
+            log.info("Starting AnyOffice application");
+            // devtools would restart the "application" by re-running LoadTest.main
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            // Command-line arguments, so they win over application.properties
+            String[] arguments = properties.entrySet().stream()
+                    .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                    .toArray(String[]::new);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(AnyOfficeApplication.class)
+                    .run(arguments);
+            ensureCatalogue(context);
+            context.getBean(ScaleDataSeeder.class).seed();
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            return new TestEnvironment("http://localhost:" + port, postgres, context);
+        } catch (Exception e) {
+            if (postgres != null) {
+                postgres.close();
+            }
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * The seed prices orders from the shared catalogue; a fresh database has none
+     */
+    private static void ensureCatalogue(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer available = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stationery WHERE available = true", Integer.class);
+        if (available != null && available > 0) {
+            return;
+        }
+        String[][] items = {
+                {"A4 Copy Paper (500 sheets)", "89.99", "Paper"}, {"Ballpoint Pens (Blue, 10)", "34.50", "Writing"},
+                {"Stapler", "119.00", "Desk"}, {"Staples (5000)", "24.99", "Desk"},
+                {"Lever Arch File", "42.00", "Filing"}, {"Sticky Notes (12 pads)", "64.95", "Paper"},
+                {"Whiteboard Markers (4)", "59.90", "Writing"}, {"Printer Toner (Black)", "1299.00", "Printing"},
+                {"Desk Organiser", "189.00", "Desk"}, {"Envelopes DL (100)", "79.00", "Paper"}
+        };
+        for (String[] item : items) {
+            jdbcTemplate.update("INSERT INTO stationery (name, price, category, available, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, true, now(), now())", item[0], new BigDecimal(item[1]), item[2]);
+        }
+    }
+
+    private static String jwtSecret() {
+        String configured = System.getenv("JWT_SECRET");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        byte[] random = new byte[48];
+        new SecureRandom().nextBytes(random);
+        return Base64.getEncoder().encodeToString(random);
+    }
+}
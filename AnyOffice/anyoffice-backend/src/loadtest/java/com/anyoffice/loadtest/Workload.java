@@ -0,0 +1,32 @@
+package com.anyoffice.loadtest;
+
+import java.util.List;
+
+/**
+ * Load Test Workload
+ *
+ * A workload profile scripts one kind of user visit. The driver starts a
+ * new session of it at the profile's arrival rate regardless of how many
+ * are still running (open model), so a slow server builds up concurrency
+ * the way real traffic does instead of quietly slowing the test down.
+ */
+interface Workload {
+
+    String name();
+
+    /**
+     * One visit. Throw (or let Session.Failure propagate) to count it as failed.
+     */
+    void run(Session session) throws Exception;
+
+    static List<String> names() {
+        return List.of(OfficeOrderApproval.NAME);
+    }
+
+    static Workload create(String name, Settings settings) {
+        return switch (name) {
+            case OfficeOrderApproval.NAME -> new OfficeOrderApproval(settings);
+            default -> throw new IllegalArgumentException("Unknown workload profile: " + name + " (known: " + names() + ")");
+        };
+    }
+}
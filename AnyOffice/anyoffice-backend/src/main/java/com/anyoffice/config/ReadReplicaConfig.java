@@ -0,0 +1,80 @@
+package com.anyoffice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.read-replicas.enabled: the spring.datasource pool becomes primaryDataSource
+ * (also used by Flyway), each app.read-replicas.urls entry gets a read-only pool,
+ * and the @Primary dataSource routes between them (ReplicaRoutingDataSource).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            DataSourceProperties properties,
+            @Value("${app.read-replicas.urls:}") String urls,
+            @Value("${app.read-replicas.username:}") String username,
+            @Value("${app.read-replicas.password:}") String password,
+            @Value("${app.read-replicas.pool-size:10}") int poolSize,
+            @Value("${app.read-replicas.max-lag-ms:5000}") long maxLagMillis,
+            @Value("${app.read-replicas.check-interval-ms:2000}") long checkIntervalMillis
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(properties.getDriverClassName());
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            config.setConnectionTimeout(Math.max(250, checkIntervalMillis));
+            config.setInitializationFailTimeout(-1);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("app.read-replicas.enabled=true but app.read-replicas.urls is empty");
+        }
+
+        log.info("📚 Read-only transactions routed across {} replica(s), max lag {} ms", replicas.size(), maxLagMillis);
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagMillis, checkIntervalMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
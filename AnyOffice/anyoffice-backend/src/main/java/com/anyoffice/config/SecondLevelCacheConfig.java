@@ -0,0 +1,81 @@
+package com.anyoffice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level + query cache (app.cache.enabled) for companies,
+ * departments and the shared stationery table, in bounded Caffeine regions
+ * with a TTL (app.cache.regions.<region>.*). Stationery is written by AnySchool;
+ * those writes are evicted by CacheInvalidationListener, the TTL is a backstop.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    // Regions named in @Cache(region = ...)
+    public static final List<String> ENTITY_REGIONS =
+            List.of("stationery", "companies", "departments");
+
+    // Cacheable repository finders (@QueryHints HINT_CACHEABLE)
+    public static final String QUERY_REGION = "queries";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, environment, region, region);
+        }
+        createRegion(cacheManager, environment, QUERY_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        // Last-write time per table, checked against every cached query result:
+        // must never be evicted or expire before the results it guards
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, Environment environment,
+                                     String configName, String cacheName) {
+        long maxEntries = environment.getProperty("app.cache.regions." + configName + ".max-entries", Long.class, 1000L);
+        long ttlSeconds = environment.getProperty("app.cache.regions." + configName + ".ttl-seconds", Long.class, 300L);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        cacheManager.createCache(cacheName, configuration);
+
+        log.info("Cache region {}: max {} entries, TTL {} s", cacheName, maxEntries, ttlSeconds);
+    }
+}
@@ -0,0 +1,52 @@
+package com.anyoffice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * spring.threads.virtual.enabled runs requests, @Async and @Scheduled work on
+ * virtual threads. app.jdbc-limiter.enabled wraps the pool
+ * in ConnectionLimitingDataSource.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.jdbc-limiter.enabled:false}")
+    private boolean jdbcLimiter;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.jdbc-limiter.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionLimiterPostProcessor(
+            @Value("${app.jdbc-limiter.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.jdbc-limiter.acquire-timeout-ms:5000}") long acquireTimeoutMillis
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int permits = maxConcurrent > 0 ? maxConcurrent : hikari.getMaximumPoolSize();
+                    log.info("JDBC connection limiter: {} concurrent connections, {} ms acquire timeout", permits, acquireTimeoutMillis);
+                    return new ConnectionLimitingDataSource(hikari, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        log.info("🧵 Request threads: {} (Java {}), JDBC limiter {}",
+                virtualThreads ? "virtual" : "platform", Runtime.version().feature(), jdbcLimiter ? "on" : "off");
+    }
+}
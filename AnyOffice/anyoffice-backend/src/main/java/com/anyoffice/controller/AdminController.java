@@ -1,9 +1,12 @@
 package com.anyoffice.controller;
 
+import com.anyoffice.dto.OfficeUserSummary;
 import com.anyoffice.model.Company;
 import com.anyoffice.model.OfficeUser;
 import com.anyoffice.model.OfficeUserRole;
+import com.anyoffice.service.CacheStatisticsService;
 import com.anyoffice.service.CompanyService;
+import com.anyoffice.service.OfficeUserSearchService;
 import com.anyoffice.service.OfficeUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +27,8 @@ public class AdminController {
 
     private final CompanyService companyService;
     private final OfficeUserService userService;
+    private final OfficeUserSearchService userSearchService;
+    private final CacheStatisticsService cacheStatisticsService;
 
     @GetMapping("/companies")
     public ResponseEntity<Map<String, Object>> getAllCompanies(
@@ -45,7 +50,7 @@ public class AdminController {
         if (caller.getRole() != OfficeUserRole.SUPER_ADMIN) {
             return forbidden();
         }
-        List<OfficeUser> users = userService.getAllUsers();
+        List<OfficeUserSummary> users = userService.getAllUsers();
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("users", users.stream().map(this::buildUserSummary).collect(Collectors.toList()));
@@ -53,6 +58,34 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset-paged, filtered user list; pass nextCursor back as cursor.
+    // count=auto|estimate|exact|none decides the first page's total.
+    @GetMapping("/users/search")
+    public ResponseEntity<Map<String, Object>> searchUsers(
+            @AuthenticationPrincipal OfficeUser caller,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "auto") String count) {
+        if (caller.getRole() != OfficeUserRole.SUPER_ADMIN) {
+            return forbidden();
+        }
+        OfficeUserSearchService.CountMode countMode;
+        try {
+            countMode = OfficeUserSearchService.CountMode.valueOf(count.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count mode: " + count);
+        }
+        Map<String, Object> response = userSearchService.search(cursor, limit, role, enabled, emailVerified,
+                companyId, q, countMode);
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getPlatformAnalytics(
             @AuthenticationPrincipal OfficeUser caller) {
@@ -60,10 +93,9 @@ public class AdminController {
             return forbidden();
         }
         List<Company> companies = companyService.getAllCompanies();
-        List<OfficeUser> users = userService.getAllUsers();
         Map<String, Object> data = new HashMap<>();
         data.put("totalCompanies", companies.size());
-        data.put("totalUsers", users.size());
+        data.put("totalUsers", userService.countUsers());
         data.put("activeCompanies", companies.stream().filter(Company::isActive).count());
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -71,7 +103,19 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
-    private Map<String, Object> buildUserSummary(OfficeUser user) {
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics(
+            @AuthenticationPrincipal OfficeUser caller) {
+        if (caller.getRole() != OfficeUserRole.SUPER_ADMIN) {
+            return forbidden();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("cache", cacheStatisticsService.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> buildUserSummary(OfficeUserSummary user) {
         Map<String, Object> info = new HashMap<>();
         info.put("id", user.getId());
         info.put("email", user.getEmail());
@@ -1,11 +1,15 @@
 package com.anyoffice.controller;
 
 import com.anyoffice.dto.CreateOrderRequest;
+import com.anyoffice.dto.OfficeOrderItemSummary;
+import com.anyoffice.dto.OfficeOrderSummary;
 import com.anyoffice.dto.UpdateOrderStatusRequest;
 import com.anyoffice.model.OfficeOrder;
 import com.anyoffice.model.OfficeOrderItem;
 import com.anyoffice.model.OfficeUser;
+import com.anyoffice.service.IdempotencyService;
 import com.anyoffice.service.OfficeOrderService;
+import com.anyoffice.service.OptimisticRetryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -24,14 +28,23 @@ import java.util.stream.Collectors;
 public class OrderController {
 
     private final OfficeOrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OptimisticRetryService optimisticRetryService;
 
     @PostMapping
     public ResponseEntity<Map<String, Object>> createOrder(
             @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal OfficeUser caller) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             return badRequest("Order must contain at least one item");
         }
+        // A retry with the same Idempotency-Key replays the first response
+        return idempotencyService.execute(caller.getId(), idempotencyKey, request,
+                () -> createOrderOnce(caller, request));
+    }
+
+    private ResponseEntity<Map<String, Object>> createOrderOnce(OfficeUser caller, CreateOrderRequest request) {
         OfficeOrder order = orderService.createOrder(caller, request);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -43,10 +56,13 @@ public class OrderController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getOrders(
             @AuthenticationPrincipal OfficeUser caller) {
-        List<OfficeOrder> orders = orderService.getOrdersForUser(caller);
+        List<OfficeOrderSummary> orders = orderService.getOrdersForUser(caller);
+        Map<Long, List<OfficeOrderItemSummary>> items = orderService.getItemsForOrders(orders);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("orders", orders.stream().map(this::buildOrderResponse).collect(Collectors.toList()));
+        response.put("orders", orders.stream()
+                .map(order -> buildOrderResponse(order, items.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList()));
         response.put("count", orders.size());
         return ResponseEntity.ok(response);
     }
@@ -70,7 +86,8 @@ public class OrderController {
         if (request.getStatus() == null || request.getStatus().isBlank()) {
             return badRequest("Status is required");
         }
-        OfficeOrder order = orderService.updateOrderStatus(id, request.getStatus(), request.getRejectionReason(), caller);
+        OfficeOrder order = optimisticRetryService.execute("Update status of order " + id,
+                () -> orderService.updateOrderStatus(id, request.getStatus(), request.getRejectionReason(), caller));
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Order status updated");
@@ -82,7 +99,10 @@ public class OrderController {
     public ResponseEntity<Map<String, Object>> cancelOrder(
             @PathVariable Long id,
             @AuthenticationPrincipal OfficeUser caller) {
-        orderService.cancelOrder(id, caller);
+        optimisticRetryService.execute("Cancel order " + id, () -> {
+            orderService.cancelOrder(id, caller);
+            return null;
+        });
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Order cancelled successfully");
@@ -114,6 +134,41 @@ public class OrderController {
         return map;
     }
 
+    // Same shape as buildOrderResponse(OfficeOrder), from list projections
+    private Map<String, Object> buildOrderResponse(OfficeOrderSummary order, List<OfficeOrderItemSummary> items) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", order.getId());
+        map.put("orderNumber", order.getOrderNumber());
+        map.put("userId", order.getUserId());
+        map.put("companyId", order.getCompanyId());
+        map.put("departmentId", order.getDepartmentId());
+        map.put("status", order.getStatus().name());
+        map.put("orderDate", order.getOrderDate());
+        map.put("totalAmount", order.getTotalAmount());
+        map.put("taxAmount", order.getTaxAmount());
+        map.put("grandTotal", order.getGrandTotal());
+        map.put("shippingAddress", order.getShippingAddress());
+        map.put("priority", order.getPriority());
+        map.put("paymentMethod", order.getPaymentMethod());
+        map.put("paymentStatus", order.getPaymentStatus() != null ? order.getPaymentStatus().name() : null);
+        map.put("rejectionReason", order.getRejectionReason());
+        map.put("approvedAt", order.getApprovedAt());
+        map.put("createdAt", order.getCreatedAt());
+        map.put("items", items.stream().map(this::buildItemResponse).collect(Collectors.toList()));
+        return map;
+    }
+
+    private Map<String, Object> buildItemResponse(OfficeOrderItemSummary item) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", item.getId());
+        map.put("stationeryId", item.getStationeryId());
+        map.put("quantity", item.getQuantity());
+        map.put("unitPrice", item.getUnitPrice());
+        map.put("subtotal", item.getSubtotal());
+        map.put("notes", item.getNotes());
+        return map;
+    }
+
     private Map<String, Object> buildItemResponse(OfficeOrderItem item) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", item.getId());
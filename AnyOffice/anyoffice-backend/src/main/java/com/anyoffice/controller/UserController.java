@@ -1,5 +1,6 @@
 package com.anyoffice.controller;
 
+import com.anyoffice.dto.OfficeUserSummary;
 import com.anyoffice.model.OfficeUser;
 import com.anyoffice.model.OfficeUserRole;
 import com.anyoffice.service.OfficeUserService;
@@ -25,7 +26,7 @@ public class UserController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getUsers(
             @AuthenticationPrincipal OfficeUser caller) {
-        List<OfficeUser> users;
+        List<OfficeUserSummary> users;
         if (caller.getRole() == OfficeUserRole.SUPER_ADMIN) {
             users = userService.getAllUsers();
         } else {
@@ -134,6 +135,21 @@ public class UserController {
         return info;
     }
 
+    private Map<String, Object> buildUserSummary(OfficeUserSummary user) {
+        Map<String, Object> info = new HashMap<>();
+        info.put("id", user.getId());
+        info.put("email", user.getEmail());
+        info.put("firstName", user.getFirstName());
+        info.put("lastName", user.getLastName());
+        info.put("phoneNumber", user.getPhoneNumber());
+        info.put("role", user.getRole().name());
+        info.put("companyId", user.getCompanyId());
+        info.put("departmentId", user.getDepartmentId());
+        info.put("isEnabled", user.isEnabled());
+        info.put("isEmailVerified", user.isEmailVerified());
+        return info;
+    }
+
     private ResponseEntity<Map<String, Object>> badRequest(String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", false);
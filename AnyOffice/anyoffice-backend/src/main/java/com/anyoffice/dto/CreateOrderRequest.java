@@ -1,6 +1,7 @@
 package com.anyoffice.dto;
 
 import java.util.List;
+import java.util.Objects;
 
 public class CreateOrderRequest {
     private Long departmentId;
@@ -23,6 +24,20 @@ public class CreateOrderRequest {
 
         public String getNotes() { return notes; }
         public void setNotes(String notes) { this.notes = notes; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OrderItemRequest that)) return false;
+            return Objects.equals(stationeryId, that.stationeryId)
+                    && Objects.equals(quantity, that.quantity)
+                    && Objects.equals(notes, that.notes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stationeryId, quantity, notes);
+        }
     }
 
     public Long getDepartmentId() { return departmentId; }
@@ -42,4 +57,22 @@ public class CreateOrderRequest {
 
     public List<OrderItemRequest> getItems() { return items; }
     public void setItems(List<OrderItemRequest> items) { this.items = items; }
+
+    // equals/hashCode fingerprint the request body for Idempotency-Key reuse checks
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CreateOrderRequest that)) return false;
+        return Objects.equals(departmentId, that.departmentId)
+                && Objects.equals(shippingAddress, that.shippingAddress)
+                && Objects.equals(deliveryNotes, that.deliveryNotes)
+                && Objects.equals(priority, that.priority)
+                && Objects.equals(paymentMethod, that.paymentMethod)
+                && Objects.equals(items, that.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departmentId, shippingAddress, deliveryNotes, priority, paymentMethod, items);
+    }
 }
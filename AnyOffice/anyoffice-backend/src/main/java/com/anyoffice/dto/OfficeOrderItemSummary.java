@@ -0,0 +1,16 @@
+package com.anyoffice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an order item, keyed by its order for list responses.
+ */
+public interface OfficeOrderItemSummary {
+    Long getOrderId();
+    Long getId();
+    Long getStationeryId();
+    Integer getQuantity();
+    BigDecimal getUnitPrice();
+    BigDecimal getSubtotal();
+    String getNotes();
+}
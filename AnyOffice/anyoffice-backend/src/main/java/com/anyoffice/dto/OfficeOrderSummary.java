@@ -0,0 +1,31 @@
+package com.anyoffice.dto;
+
+import com.anyoffice.model.OfficeOrderStatus;
+import com.anyoffice.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection for order lists. Items are read separately as
+ * OfficeOrderItemSummary rows.
+ */
+public interface OfficeOrderSummary {
+    Long getId();
+    String getOrderNumber();
+    Long getUserId();
+    Long getCompanyId();
+    Long getDepartmentId();
+    OfficeOrderStatus getStatus();
+    LocalDateTime getOrderDate();
+    BigDecimal getTotalAmount();
+    BigDecimal getTaxAmount();
+    BigDecimal getGrandTotal();
+    String getShippingAddress();
+    String getPriority();
+    String getPaymentMethod();
+    PaymentStatus getPaymentStatus();
+    String getRejectionReason();
+    LocalDateTime getApprovedAt();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,19 @@
+package com.anyoffice.dto;
+
+import com.anyoffice.model.OfficeUserRole;
+
+/**
+ * Read-only projection for user lists (no password / OTP columns).
+ */
+public interface OfficeUserSummary {
+    Long getId();
+    String getEmail();
+    String getFirstName();
+    String getLastName();
+    String getPhoneNumber();
+    OfficeUserRole getRole();
+    Long getCompanyId();
+    Long getDepartmentId();
+    boolean isEnabled();
+    boolean isEmailVerified();
+}
@@ -1,15 +1,20 @@
 package com.anyoffice.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +49,60 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        log.warn("Idempotency key mismatch: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    // Key store at max-entries: transient, keys expire, so clients should retry
+    @ExceptionHandler(IdempotencyStoreFullException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyStoreFull(IdempotencyStoreFullException ex) {
+        log.warn("Idempotency store full: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "IDEMPOTENCY_STORE_FULL");
+        response.put("message", ex.getMessage());
+        response.put("retryable", true);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "CONCURRENT_UPDATE");
+        response.put("message", "This record was changed by someone else. Please reload and try again.");
+        response.put("retryable", true);
+        if (ex instanceof ObjectOptimisticLockingFailureException lockEx) {
+            String entity = lockEx.getPersistentClassName();
+            response.put("resource", entity != null ? entity.substring(entity.lastIndexOf('.') + 1) : null);
+            response.put("resourceId", lockEx.getIdentifier());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // No connection within the limiter / pool timeout: transient overload, clients should retry
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(Exception ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                log.warn("Database busy: {}", cause.getMessage());
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("error", "DATABASE_BUSY");
+                response.put("message", "The service is busy. Please try again in a moment.");
+                response.put("retryable", true);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+            }
+        }
+        return handleGenericException(ex);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleUsernameNotFound(UsernameNotFoundException ex) {
         log.warn("User not found: {}", ex.getMessage());
@@ -0,0 +1,7 @@
+package com.anyoffice.exception;
+
+public class IdempotencyStoreFullException extends RuntimeException {
+    public IdempotencyStoreFullException(String message) {
+        super(message);
+    }
+}
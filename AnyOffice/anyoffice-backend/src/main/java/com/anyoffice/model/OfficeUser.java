@@ -12,7 +12,15 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Entity
-@Table(name = "office_users")
+// Admin user search (OfficeUserSearchService): keyset pages by company / role in id
+// order, and lower(...) LIKE 'abc%' prefix search (text_pattern_ops: any collation)
+@Table(name = "office_users", indexes = {
+        @Index(name = "idx_office_users_company_id", columnList = "company_id, id"),
+        @Index(name = "idx_office_users_role_id", columnList = "role, id"),
+        @Index(name = "idx_office_users_email_prefix", columnList = "(lower(email)) text_pattern_ops"),
+        @Index(name = "idx_office_users_first_name_prefix", columnList = "(lower(first_name)) text_pattern_ops"),
+        @Index(name = "idx_office_users_last_name_prefix", columnList = "(lower(last_name)) text_pattern_ops")
+})
 public class OfficeUser implements UserDetails {
 
     @Id
@@ -1,6 +1,9 @@
 package com.anyoffice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -11,6 +14,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "stationery")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "stationery")
 public class Stationery {
 
     @Id
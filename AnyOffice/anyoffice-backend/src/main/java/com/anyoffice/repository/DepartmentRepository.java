@@ -1,7 +1,10 @@
 package com.anyoffice.repository;
 
 import com.anyoffice.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.Optional;
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     List<Department> findByCompanyId(Long companyId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Department> findByCompanyIdAndIsActiveTrue(Long companyId);
     Optional<Department> findByCompanyIdAndCode(Long companyId, String code);
     long countByCompanyId(Long companyId);
@@ -1,12 +1,25 @@
 package com.anyoffice.repository;
 
+import com.anyoffice.dto.OfficeOrderItemSummary;
 import com.anyoffice.model.OfficeOrderItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OfficeOrderItemRepository extends JpaRepository<OfficeOrderItem, Long> {
     List<OfficeOrderItem> findByOrderId(Long orderId);
+
+    @Query("SELECT i.order.id AS orderId, i.id AS id, i.stationeryId AS stationeryId, i.quantity AS quantity, " +
+           "i.unitPrice AS unitPrice, i.subtotal AS subtotal, i.notes AS notes " +
+           "FROM OfficeOrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeOrderItemSummary> findSummariesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
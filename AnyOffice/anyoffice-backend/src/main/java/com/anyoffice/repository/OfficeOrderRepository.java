@@ -1,9 +1,14 @@
 package com.anyoffice.repository;
 
+import com.anyoffice.dto.OfficeOrderSummary;
 import com.anyoffice.model.OfficeOrder;
 import com.anyoffice.model.OfficeOrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +19,12 @@ import java.util.Optional;
 
 @Repository
 public interface OfficeOrderRepository extends JpaRepository<OfficeOrder, Long> {
+
+    // Single-order responses render the items after the transaction has ended
+    @Override
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<OfficeOrder> findById(Long id);
+
     Optional<OfficeOrder> findByOrderNumber(String orderNumber);
     List<OfficeOrder> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<OfficeOrder> findByCompanyIdOrderByCreatedAtDesc(Long companyId);
@@ -30,4 +41,31 @@ public interface OfficeOrderRepository extends JpaRepository<OfficeOrder, Long>
     BigDecimal sumOrdersByCompanySince(@Param("companyId") Long companyId, @Param("since") LocalDateTime since);
 
     List<OfficeOrder> findByCompanyIdAndCreatedAtAfterOrderByCreatedAtDesc(Long companyId, LocalDateTime after);
+
+    // Order list projections: order columns only, no eager item collection
+
+    String ORDER_SUMMARY_SELECT =
+            "SELECT o.id AS id, o.orderNumber AS orderNumber, o.userId AS userId, o.companyId AS companyId, " +
+            "o.departmentId AS departmentId, o.status AS status, o.orderDate AS orderDate, " +
+            "o.totalAmount AS totalAmount, o.taxAmount AS taxAmount, o.grandTotal AS grandTotal, " +
+            "o.shippingAddress AS shippingAddress, o.priority AS priority, o.paymentMethod AS paymentMethod, " +
+            "o.paymentStatus AS paymentStatus, o.rejectionReason AS rejectionReason, " +
+            "o.approvedAt AS approvedAt, o.createdAt AS createdAt " +
+            "FROM OfficeOrder o ";
+
+    @Query(ORDER_SUMMARY_SELECT + "ORDER BY o.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeOrderSummary> findAllSummaries();
+
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.companyId = :companyId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeOrderSummary> findSummariesByCompanyId(@Param("companyId") Long companyId);
+
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.departmentId = :departmentId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeOrderSummary> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.userId = :userId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeOrderSummary> findSummariesByUserId(@Param("userId") Long userId);
 }
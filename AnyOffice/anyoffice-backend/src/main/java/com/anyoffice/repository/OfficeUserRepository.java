@@ -1,8 +1,14 @@
 package com.anyoffice.repository;
 
+import com.anyoffice.dto.OfficeUserSummary;
 import com.anyoffice.model.OfficeUser;
 import com.anyoffice.model.OfficeUserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +23,18 @@ public interface OfficeUserRepository extends JpaRepository<OfficeUser, Long> {
     List<OfficeUser> findByCompanyIdAndIsEnabledTrue(Long companyId);
     boolean existsByEmail(String email);
     long countByCompanyId(Long companyId);
+
+    String USER_SUMMARY_SELECT =
+            "SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+            "u.phoneNumber AS phoneNumber, u.role AS role, u.companyId AS companyId, " +
+            "u.departmentId AS departmentId, u.isEnabled AS enabled, u.isEmailVerified AS emailVerified " +
+            "FROM OfficeUser u ";
+
+    @Query(USER_SUMMARY_SELECT + "ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeUserSummary> findAllSummaries();
+
+    @Query(USER_SUMMARY_SELECT + "WHERE u.companyId = :companyId AND u.isEnabled = true ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OfficeUserSummary> findEnabledSummariesByCompanyId(@Param("companyId") Long companyId);
 }
@@ -1,16 +1,22 @@
 package com.anyoffice.repository;
 
 import com.anyoffice.model.Stationery;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface StationeryRepository extends JpaRepository<Stationery, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Stationery> findByAvailableTrue();
     List<Stationery> findByCategory(String category);
     List<Stationery> findByNameContainingIgnoreCase(String name);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Stationery> findByAvailableTrueOrderByNameAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Stationery> findByCategoryAndAvailableTrue(String category);
 }
@@ -0,0 +1,161 @@
+package com.anyoffice.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy Stream
+ *
+ * Streams rows into a table with PostgreSQL {@code COPY ... FROM STDIN}
+ * (CSV format). Rows are built into a reusable buffer and sent to the
+ * server in ~1 MB chunks, so memory stays flat no matter how many rows
+ * are written.
+ *
+ * Usage: one value method per column, in the COPY column order, then
+ * endRow(); finish() completes the COPY and returns the row count.
+ */
+final class CopyStream implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 8192);
+    private boolean firstField = true;
+
+    private CopyStream(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    static CopyStream open(Connection connection, String table, String columns) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)");
+        return new CopyStream(copyIn);
+    }
+
+    CopyStream text(String value) {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            buffer.append(value);
+            return this;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+        return this;
+    }
+
+    CopyStream number(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyStream number(Long value) {
+        return value == null ? nul() : number(value.longValue());
+    }
+
+    /**
+     * Monetary amount given in cents, written as a two-decimal value
+     */
+    CopyStream cents(long cents) {
+        separator();
+        if (cents < 0) {
+            buffer.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        buffer.append(cents / 100).append('.');
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        buffer.append(fraction);
+        return this;
+    }
+
+    CopyStream bool(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyStream timestamp(LocalDateTime value) {
+        separator();
+        if (value != null) {
+            buffer.append(value);
+        }
+        return this;
+    }
+
+    CopyStream date(LocalDate value) {
+        separator();
+        if (value != null) {
+            buffer.append(value);
+        }
+        return this;
+    }
+
+    CopyStream nul() {
+        separator();
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    /**
+     * @return Rows copied
+     */
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void separator() {
+        if (firstField) {
+            firstField = false;
+        } else {
+            buffer.append(',');
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,482 @@
+package com.anyoffice.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Synthetic large-scale data for load / capacity testing (app.seed.scale.enabled=true).
+ *
+ * Companies, each with departments, a company admin, a procurement officer, a
+ * manager and employees per department, budget allocations, and office orders
+ * with items and approval workflows following OfficeOrderService's tiers.
+ * Loaded with PostgreSQL COPY; every row is derived from app.seed.scale.seed
+ * and its index, so the same settings always give the same data. Runs once.
+ */
+@Component
+@Slf4j
+public class ScaleDataSeeder {
+
+    static final String EMAIL_DOMAIN = "@seed.anyoffice.test";
+
+    // Same tiers as OfficeOrderService, in cents
+    private static final long AUTO_APPROVE_CENTS = 500_000;
+    private static final long DEPT_MANAGER_CENTS = 2_000_000;
+    private static final long PROCUREMENT_CENTS = 5_000_000;
+
+    private static final long SALT_COMPANY = 1;
+    private static final long SALT_USER = 2;
+    private static final long SALT_ORDER = 3;
+
+    private static final String[] INDUSTRIES = {"Finance", "Legal", "Mining", "Retail", "Logistics", "Healthcare", "Technology", "Manufacturing"};
+    private static final String[] DEPARTMENTS = {"Finance", "Human Resources", "Operations", "Sales", "IT", "Legal", "Marketing", "Procurement"};
+    private static final String[][] CITIES = {
+            {"Johannesburg", "Gauteng", "2001"}, {"Sandton", "Gauteng", "2196"}, {"Pretoria", "Gauteng", "0002"},
+            {"Cape Town", "Western Cape", "8001"}, {"Durban", "KwaZulu-Natal", "4001"}, {"Gqeberha", "Eastern Cape", "6001"},
+            {"Bloemfontein", "Free State", "9301"}, {"Polokwane", "Limpopo", "0700"}
+    };
+    private static final String[] FIRST_NAMES = {
+            "Thabo", "Lerato", "Sipho", "Naledi", "Johan", "Anika", "Pieter", "Zanele", "Mandla", "Ayanda",
+            "Kagiso", "Palesa", "Themba", "Nomsa", "Ruan", "Chloe", "Ethan", "Amahle", "Liam", "Lindiwe"
+    };
+    private static final String[] SURNAMES = {
+            "Nkosi", "Dlamini", "Botha", "van der Merwe", "Naidoo", "Mokoena", "Khumalo", "Pillay", "Smith", "Ndlovu"
+    };
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] TIERS = {"BASIC", "BASIC", "PROFESSIONAL", "ENTERPRISE"};
+    private static final DateTimeFormatter ORDER_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    private final boolean enabled;
+    private final long seed;
+    private final String asOfSetting;
+    private final int companies;
+    private final int departmentsPerCompany;
+    private final int employeesPerDepartment;
+    private final int orders;
+    private final int maxItemsPerOrder;
+    private final String password;
+
+    public ScaleDataSeeder(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.seed.scale.enabled:false}") boolean enabled,
+            @Value("${app.seed.scale.seed:42}") long seed,
+            @Value("${app.seed.scale.as-of:}") String asOfSetting,
+            @Value("${app.seed.scale.companies:2000}") int companies,
+            @Value("${app.seed.scale.departments-per-company:5}") int departmentsPerCompany,
+            @Value("${app.seed.scale.employees-per-department:8}") int employeesPerDepartment,
+            @Value("${app.seed.scale.orders:1000000}") int orders,
+            @Value("${app.seed.scale.max-items-per-order:8}") int maxItemsPerOrder,
+            @Value("${app.seed.scale.password:Seed@2026}") String password
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.enabled = enabled;
+        this.seed = seed;
+        this.asOfSetting = asOfSetting;
+        this.companies = Math.max(1, companies);
+        this.departmentsPerCompany = Math.max(1, departmentsPerCompany);
+        this.employeesPerDepartment = Math.max(1, employeesPerDepartment);
+        this.orders = Math.max(0, orders);
+        this.maxItemsPerOrder = Math.max(1, maxItemsPerOrder);
+        this.password = password;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            seed();
+        } catch (Exception e) {
+            log.error("Scale seed failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void seed() throws SQLException, InterruptedException, ExecutionException {
+        Boolean seeded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM office_users WHERE email = ?)", Boolean.class, "admin1" + EMAIL_DOMAIN);
+        if (Boolean.TRUE.equals(seeded)) {
+            log.info("Scale seed data already present - skipping");
+            return;
+        }
+
+        Plan plan = plan();
+        log.info("Scale seed (seed {}, as of {}): {} companies x {} departments, {} users, {} orders",
+                seed, plan.asOf().toLocalDate(), companies, departmentsPerCompany,
+                (long) companies * plan.usersPerCompany(), orders);
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            timed("office_companies", () -> copyCompanies(connection, plan));
+            timed("office_users", () -> copyUsers(connection, plan));
+            timed("office_departments", () -> copyDepartments(connection, plan));
+            timed("office_budget_allocations", () -> copyBudgets(connection, plan));
+            timed("office_orders", () -> copyOrders(connection, plan));
+        }
+
+        // Items (FK to orders) and workflows only need the orders in place
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(executor.submit(() -> withConnection(c -> timed("office_order_items", () -> copyOrderItems(c, plan)))));
+            tasks.add(executor.submit(() -> withConnection(c -> timed("office_approval_workflows", () -> copyWorkflows(c, plan)))));
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        updateSpend(plan);
+        resetSequencesAndAnalyze();
+        log.info("Scale seed complete in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    // --- tables ---
+
+    private long copyCompanies(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "office_companies",
+                "id, name, registration_number, tax_number, industry, number_of_employees, address, city, state, " +
+                "postal_code, country, contact_email, contact_phone, is_active, subscription_tier, monthly_budget, " +
+                "created_at, updated_at")) {
+            for (long k = 1; k <= companies; k++) {
+                SplittableRandom r = rng(SALT_COMPANY, k);
+                String[] city = pick(r, CITIES);
+                String industry = pick(r, INDUSTRIES);
+                LocalDateTime createdAt = plan.asOf().minusDays(400 + r.nextInt(700));
+                copy.number(plan.companyId(k)).text("Seed " + industry + " Company " + k)
+                        .text(String.format("%04d/%06d/07", 2000 + r.nextInt(25), k)).text(String.valueOf(4_000_000_000L + k))
+                        .text(industry).number(plan.usersPerCompany() + r.nextInt(200))
+                        .text((1 + r.nextInt(300)) + " Main Road").text(city[0]).text(city[1]).text(city[2]).text("South Africa")
+                        .text("office@company" + k + ".seed.test").text(phone(r)).bool(true).text(pick(r, TIERS))
+                        .cents(departmentsPerCompany * 5_000_000L).timestamp(createdAt).timestamp(createdAt);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Per company: admin, procurement officer, then per department a manager and its employees
+     */
+    private long copyUsers(Connection connection, Plan plan) throws SQLException {
+        String passwordHash = passwordEncoder.encode(password);
+        try (CopyStream copy = CopyStream.open(connection, "office_users",
+                "id, email, password, first_name, last_name, phone_number, role, company_id, department_id, " +
+                "is_enabled, is_email_verified, account_locked, failed_login_attempts, created_at, updated_at")) {
+            for (long k = 1; k <= companies; k++) {
+                for (int j = 1; j <= plan.usersPerCompany(); j++) {
+                    long userId = plan.userId(k, j);
+                    long index = userId - plan.userBase();
+                    SplittableRandom r = rng(SALT_USER, index);
+                    String role;
+                    Long departmentId = null;
+                    if (j == 1) {
+                        role = "COMPANY_ADMIN";
+                    } else if (j == 2) {
+                        role = "PROCUREMENT_OFFICER";
+                    } else {
+                        int position = (j - 3) % (employeesPerDepartment + 1);
+                        role = position == 0 ? "DEPARTMENT_MANAGER" : "EMPLOYEE";
+                        departmentId = plan.departmentId(k, (j - 3) / (employeesPerDepartment + 1) + 1);
+                    }
+                    LocalDateTime createdAt = plan.asOf().minusDays(30 + r.nextInt(700));
+                    copy.number(userId).text((j == 1 ? "admin" : "user") + index + EMAIL_DOMAIN).text(passwordHash)
+                            .text(pick(r, FIRST_NAMES)).text(pick(r, SURNAMES)).text(phone(r)).text(role)
+                            .number(plan.companyId(k)).number(departmentId)
+                            .bool(true).bool(true).bool(false).number(0).timestamp(createdAt).timestamp(createdAt);
+                    copy.endRow();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyDepartments(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "office_departments",
+                "id, name, code, company_id, manager_id, monthly_budget, current_spend, cost_center, is_active, created_at, updated_at")) {
+            for (long k = 1; k <= companies; k++) {
+                for (int d = 1; d <= departmentsPerCompany; d++) {
+                    String name = DEPARTMENTS[(d - 1) % DEPARTMENTS.length] + (d > DEPARTMENTS.length ? " " + d : "");
+                    LocalDateTime createdAt = plan.asOf().minusDays(400);
+                    copy.number(plan.departmentId(k, d)).text(name).text("D" + d).number(plan.companyId(k))
+                            .number(plan.managerId(k, d)).cents(5_000_000).cents(0).text("CC-" + k + "-" + d)
+                            .bool(true).timestamp(createdAt).timestamp(createdAt);
+                    copy.endRow();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyBudgets(Connection connection, Plan plan) throws SQLException {
+        int year = plan.asOf().getYear();
+        try (CopyStream copy = CopyStream.open(connection, "office_budget_allocations",
+                "id, company_id, department_id, fiscal_year, fiscal_quarter, allocated_amount, spent_amount, category, created_at, updated_at")) {
+            long id = plan.budgetBase();
+            for (long k = 1; k <= companies; k++) {
+                for (int d = 1; d <= departmentsPerCompany; d++) {
+                    LocalDateTime createdAt = LocalDate.of(year, 1, 1).atStartOfDay();
+                    copy.number(++id).number(plan.companyId(k)).number(plan.departmentId(k, d)).number(year).nul()
+                            .cents(12 * 5_000_000L).cents(0).text("Stationery").timestamp(createdAt).timestamp(createdAt);
+                    copy.endRow();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyOrders(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "office_orders",
+                "id, order_number, user_id, company_id, department_id, status, order_date, approved_by, approved_at, " +
+                "rejection_reason, total_amount, tax_amount, shipping_cost, grand_total, shipping_address, payment_status, " +
+                "payment_method, priority, created_at, updated_at, version")) {
+            for (long o = 1; o <= orders; o++) {
+                OrderRow order = order(o, plan);
+                copy.number(plan.orderId(o)).text("ORD-" + order.orderDate().format(ORDER_DATE) + "-S" + o)
+                        .number(order.requesterId()).number(plan.companyId(order.company()))
+                        .number(plan.departmentId(order.company(), order.department())).text(order.status())
+                        .timestamp(order.orderDate()).number(order.approvedBy()).timestamp(order.decidedAt())
+                        .text("REJECTED".equals(order.status()) ? "Over department budget" : null)
+                        .cents(order.subtotalCents()).cents(order.taxCents()).cents(0).cents(order.subtotalCents() + order.taxCents())
+                        .text((1 + o % 300) + " Main Road").text("DELIVERED".equals(order.status()) ? "PAID" : "PENDING")
+                        .text("COMPANY_ACCOUNT").text(order.priority())
+                        .timestamp(order.orderDate()).timestamp(order.decidedAt() != null ? order.decidedAt() : order.orderDate())
+                        .number(0);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyOrderItems(Connection connection, Plan plan) throws SQLException {
+        long itemId = plan.itemBase();
+        try (CopyStream copy = CopyStream.open(connection, "office_order_items",
+                "id, order_id, stationery_id, quantity, unit_price, discount, subtotal")) {
+            for (long o = 1; o <= orders; o++) {
+                OrderRow order = order(o, plan);
+                for (int l = 0; l < order.lines().length; l++) {
+                    long price = plan.catalogueCents()[order.lines()[l]];
+                    copy.number(++itemId).number(plan.orderId(o)).number(plan.catalogueIds()[order.lines()[l]])
+                            .number(order.quantities()[l]).cents(price).cents(0).cents(price * order.quantities()[l]);
+                    copy.endRow();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * One level-1 workflow per order at or above the auto-approve threshold
+     */
+    private long copyWorkflows(Connection connection, Plan plan) throws SQLException {
+        long workflowId = plan.workflowBase();
+        try (CopyStream copy = CopyStream.open(connection, "office_approval_workflows",
+                "id, order_id, requester_id, approver_id, level, status, comments, approved_at, created_at")) {
+            for (long o = 1; o <= orders; o++) {
+                OrderRow order = order(o, plan);
+                if (order.approverId() == null) {
+                    continue;
+                }
+                String status = "PENDING_APPROVAL".equals(order.status()) ? "PENDING"
+                        : "REJECTED".equals(order.status()) ? "REJECTED" : "APPROVED";
+                copy.number(++workflowId).number(plan.orderId(o)).number(order.requesterId()).number(order.approverId())
+                        .number(1).text(status).text("REJECTED".equals(status) ? "Over department budget" : null)
+                        .timestamp(order.decidedAt()).timestamp(order.orderDate());
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * current_spend / spent_amount as BudgetService.updateSpend would have left them
+     */
+    private void updateSpend(Plan plan) {
+        String approved = "'APPROVED', 'PROCESSING', 'SHIPPED', 'DELIVERED'";
+        jdbcTemplate.update("UPDATE office_departments d SET current_spend = s.total FROM (" +
+                "SELECT department_id, SUM(grand_total) AS total FROM office_orders " +
+                "WHERE id > ? AND status IN (" + approved + ") GROUP BY department_id) s " +
+                "WHERE d.id = s.department_id", plan.orderBase());
+        jdbcTemplate.update("UPDATE office_budget_allocations b SET spent_amount = s.total FROM (" +
+                "SELECT department_id, SUM(grand_total) AS total FROM office_orders " +
+                "WHERE id > ? AND status IN (" + approved + ") AND EXTRACT(YEAR FROM order_date) = ? GROUP BY department_id) s " +
+                "WHERE b.id > ? AND b.department_id = s.department_id",
+                plan.orderBase(), plan.asOf().getYear(), plan.budgetBase());
+    }
+
+    private void resetSequencesAndAnalyze() {
+        String[] tables = {"office_companies", "office_departments", "office_users", "office_budget_allocations",
+                "office_orders", "office_order_items", "office_approval_workflows"};
+        for (String table : tables) {
+            jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                    "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+        }
+        for (String table : tables) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    // --- row generators ---
+
+    private record Plan(LocalDateTime asOf, int departmentsPerCompany, int usersPerCompany, int employeesPerDepartment,
+                        long companyBase, long departmentBase, long userBase, long budgetBase, long orderBase,
+                        long itemBase, long workflowBase, long[] catalogueIds, long[] catalogueCents) {
+        long companyId(long k) { return companyBase + k; }
+        long departmentId(long k, int d) { return departmentBase + (k - 1) * departmentsPerCompany + d; }
+        long userId(long k, int j) { return userBase + (k - 1) * usersPerCompany + j; }
+        long adminId(long k) { return userId(k, 1); }
+        long procurementId(long k) { return userId(k, 2); }
+        long managerId(long k, int d) { return userId(k, 3 + (d - 1) * (employeesPerDepartment + 1)); }
+        long employeeId(long k, int d, int e) { return managerId(k, d) + e; }
+        long orderId(long o) { return orderBase + o; }
+    }
+
+    private record OrderRow(long company, int department, long requesterId, LocalDateTime orderDate, String status,
+                            Long approverId, Long approvedBy, LocalDateTime decidedAt, int[] lines, int[] quantities,
+                            long subtotalCents, long taxCents, String priority) {
+    }
+
+    private Plan plan() {
+        LocalDateTime asOf = asOfSetting == null || asOfSetting.isBlank()
+                ? LocalDate.now().atStartOfDay()
+                : LocalDate.parse(asOfSetting).atStartOfDay();
+
+        List<long[]> catalogue = jdbcTemplate.query(
+                "SELECT id, ROUND(price * 100) AS cents FROM stationery WHERE available = true ORDER BY id",
+                (rs, i) -> new long[]{rs.getLong("id"), rs.getLong("cents")});
+        if (catalogue.isEmpty()) {
+            throw new IllegalStateException("No available stationery - scale seed needs the shared stationery catalogue");
+        }
+        long[] ids = new long[catalogue.size()];
+        long[] cents = new long[catalogue.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = catalogue.get(i)[0];
+            cents[i] = catalogue.get(i)[1];
+        }
+
+        int usersPerCompany = 2 + departmentsPerCompany * (employeesPerDepartment + 1);
+        return new Plan(asOf, departmentsPerCompany, usersPerCompany, employeesPerDepartment,
+                maxId("office_companies"), maxId("office_departments"), maxId("office_users"),
+                maxId("office_budget_allocations"), maxId("office_orders"), maxId("office_order_items"),
+                maxId("office_approval_workflows"), ids, cents);
+    }
+
+    private OrderRow order(long o, Plan plan) {
+        SplittableRandom r = rng(SALT_ORDER, o);
+        long company = 1 + r.nextLong(companies);
+        int department = 1 + r.nextInt(departmentsPerCompany);
+        long requester = plan.employeeId(company, department, 1 + r.nextInt(employeesPerDepartment));
+        LocalDateTime orderDate = plan.asOf().minusMinutes(r.nextLong(365L * 24 * 60));
+        long ageDays = ChronoUnit.DAYS.between(orderDate, plan.asOf());
+
+        // Mostly small top-up orders, some bulk orders that need approval
+        int size = r.nextInt(100);
+        int maxQuantity = size < 70 ? 10 : size < 92 ? 100 : 500;
+        int lineCount = 1 + r.nextInt(maxItemsPerOrder);
+        int[] lines = new int[lineCount];
+        int[] quantities = new int[lineCount];
+        long subtotal = 0;
+        for (int l = 0; l < lineCount; l++) {
+            lines[l] = r.nextInt(plan.catalogueIds().length);
+            quantities[l] = 1 + r.nextInt(maxQuantity);
+            subtotal += plan.catalogueCents()[lines[l]] * quantities[l];
+        }
+        long tax = (subtotal * 15 + 50) / 100;
+        long grandTotal = subtotal + tax;
+
+        Long approverId = null;
+        String status;
+        LocalDateTime decidedAt = null;
+        int outcome = r.nextInt(100);
+        if (grandTotal < AUTO_APPROVE_CENTS) {
+            decidedAt = orderDate;
+        } else {
+            approverId = grandTotal < DEPT_MANAGER_CENTS ? plan.managerId(company, department)
+                    : grandTotal < PROCUREMENT_CENTS ? plan.procurementId(company) : plan.adminId(company);
+            if (ageDays >= 3 || outcome < 50) {
+                decidedAt = orderDate.plusMinutes(30 + r.nextInt(3 * 24 * 60));
+            }
+        }
+
+        if (decidedAt == null) {
+            status = "PENDING_APPROVAL";
+        } else if (approverId != null && outcome >= 90) {
+            status = "REJECTED";
+        } else if (outcome < 2) {
+            status = "CANCELLED";
+        } else {
+            status = ageDays < 2 ? "APPROVED" : ageDays < 5 ? "PROCESSING" : ageDays < 10 ? "SHIPPED" : "DELIVERED";
+        }
+        Long approvedBy = approverId != null && decidedAt != null && !"REJECTED".equals(status) ? approverId : null;
+
+        return new OrderRow(company, department, requester, orderDate, status, approverId, approvedBy, decidedAt,
+                lines, quantities, subtotal, tax, pick(r, PRIORITIES));
+    }
+
+    private SplittableRandom rng(long salt, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private static <T> T pick(SplittableRandom r, T[] values) {
+        return values[r.nextInt(values.length)];
+    }
+
+    private static String phone(SplittableRandom r) {
+        return "0" + (10 + r.nextInt(80)) + String.format("%07d", r.nextInt(10_000_000));
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private interface CopyTask {
+        long run() throws SQLException;
+    }
+
+    private interface ConnectionTask {
+        void run(Connection connection) throws SQLException;
+    }
+
+    private void timed(String table, CopyTask task) throws SQLException {
+        long start = System.nanoTime();
+        long rows = task.run();
+        double seconds = Math.max(0.001, (System.nanoTime() - start) / 1_000_000_000.0);
+        log.info("  {}: {} rows in {} s ({} rows/s)", table, rows, Math.round(seconds), Math.round(rows / seconds));
+    }
+
+    private Void withConnection(ConnectionTask task) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            task.run(connection);
+        }
+        return null;
+    }
+}
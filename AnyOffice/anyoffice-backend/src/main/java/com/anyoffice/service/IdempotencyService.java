@@ -0,0 +1,187 @@
+package com.anyoffice.service;
+
+import com.anyoffice.exception.IdempotencyKeyMismatchException;
+import com.anyoffice.exception.IdempotencyStoreFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-memory Idempotency-Key store: replays the first response for a repeated key,
+ * coalesces concurrent duplicates onto the in-flight request, and forgets failures.
+ * New keys get a 503 while the store holds max-entries live keys.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ObjectMapper canonicalMapper;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger putsSinceSweep = new AtomicInteger();
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final int maxEntries;
+
+    public IdempotencyService(
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${app.idempotency.wait-timeout-seconds:30}") long waitTimeoutSeconds,
+            @Value("${app.idempotency.max-entries:100000}") int maxEntries
+    ) {
+        // Map keys sorted, no indentation: equal bodies always serialise to the same bytes
+        this.canonicalMapper = objectMapper.copy()
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .disable(SerializationFeature.INDENT_OUTPUT);
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(waitTimeoutSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run the action at most once per (scope, key). Scope keeps keys per user;
+     * a null/blank key just runs the action.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(Object scope, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + ":" + key.trim();
+        byte[] fingerprint = fingerprint(request);
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry fresh = new Entry(fingerprint, now + ttlMillis);
+            Entry existing = entries.putIfAbsent(storeKey, fresh);
+
+            if (existing == null) {
+                if (!sweepIfNeeded(now)) {
+                    IdempotencyStoreFullException full = new IdempotencyStoreFullException(
+                            "Too many requests in flight. Please try again in a moment.");
+                    entries.remove(storeKey, fresh);
+                    fresh.response.completeExceptionally(full);
+                    throw full;
+                }
+                return (ResponseEntity<T>) runFirst(storeKey, fresh, action);
+            }
+            if (existing.isExpired(now) && existing.response.isDone()) {
+                entries.remove(storeKey, existing);
+                continue;
+            }
+            if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyMismatchException(
+                        "Idempotency-Key has already been used for a different request");
+            }
+
+            log.info("Replaying response for idempotency key {}", storeKey);
+            return (ResponseEntity<T>) replay(awaitFirst(existing));
+        }
+    }
+
+    /**
+     * SHA-256 of the body as canonical JSON, so a reused key is matched on content.
+     */
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be fingerprinted: " + e.getOriginalMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ResponseEntity<?> runFirst(String storeKey, Entry entry, Supplier<? extends ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            entries.remove(storeKey, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    private ResponseEntity<?> awaitFirst(Entry entry) {
+        try {
+            return entry.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the original request with this Idempotency-Key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private ResponseEntity<?> replay(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    // False when still over max-entries: the new key gets a 503 instead of evicting a live one
+    private boolean sweepIfNeeded(long now) {
+        if (putsSinceSweep.incrementAndGet() < SWEEP_INTERVAL && entries.size() <= maxEntries) {
+            return true;
+        }
+        putsSinceSweep.set(0);
+        entries.values().removeIf(entry -> entry.isExpired(now) && entry.response.isDone());
+        if (entries.size() > maxEntries) {
+            log.warn("Idempotency key store holds {} live entries (max {}), rejecting new key",
+                    entries.size(), maxEntries);
+            return false;
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.anyoffice.service;
 
 import com.anyoffice.dto.CreateOrderRequest;
+import com.anyoffice.dto.OfficeOrderItemSummary;
+import com.anyoffice.dto.OfficeOrderSummary;
 import com.anyoffice.exception.ResourceNotFoundException;
 import com.anyoffice.model.*;
 import com.anyoffice.repository.*;
@@ -15,7 +17,10 @@ import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +31,8 @@ public class OfficeOrderService {
     private static final BigDecimal DEPT_MANAGER_THRESHOLD = new BigDecimal("20000");
     private static final BigDecimal PROCUREMENT_THRESHOLD = new BigDecimal("50000");
     private static final BigDecimal VAT_RATE = new BigDecimal("0.15");
+    // Keeps the IN list well below PostgreSQL's bind parameter limit
+    private static final int ITEM_QUERY_CHUNK = 1000;
 
     private final OfficeOrderRepository orderRepository;
     private final OfficeOrderItemRepository orderItemRepository;
@@ -162,23 +169,39 @@ public class OfficeOrderService {
     }
 
     @Transactional(readOnly = true)
-    public List<OfficeOrder> getOrdersForUser(OfficeUser user) {
+    public List<OfficeOrderSummary> getOrdersForUser(OfficeUser user) {
         switch (user.getRole()) {
             case SUPER_ADMIN:
-                return orderRepository.findAll();
+                return orderRepository.findAllSummaries();
             case COMPANY_ADMIN:
             case PROCUREMENT_OFFICER:
-                return orderRepository.findByCompanyIdOrderByCreatedAtDesc(user.getCompanyId());
+                return orderRepository.findSummariesByCompanyId(user.getCompanyId());
             case DEPARTMENT_MANAGER:
                 if (user.getDepartmentId() != null) {
-                    return orderRepository.findByDepartmentIdOrderByCreatedAtDesc(user.getDepartmentId());
+                    return orderRepository.findSummariesByDepartmentId(user.getDepartmentId());
                 }
-                return orderRepository.findByCompanyIdOrderByCreatedAtDesc(user.getCompanyId());
+                return orderRepository.findSummariesByCompanyId(user.getCompanyId());
             default:
-                return orderRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+                return orderRepository.findSummariesByUserId(user.getId());
         }
     }
 
+    /**
+     * Items of the listed orders grouped by order id, one query per ITEM_QUERY_CHUNK orders.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<OfficeOrderItemSummary>> getItemsForOrders(List<OfficeOrderSummary> orders) {
+        Map<Long, List<OfficeOrderItemSummary>> itemsByOrder = new HashMap<>();
+        List<Long> orderIds = orders.stream().map(OfficeOrderSummary::getId).toList();
+        for (int from = 0; from < orderIds.size(); from += ITEM_QUERY_CHUNK) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + ITEM_QUERY_CHUNK, orderIds.size()));
+            for (OfficeOrderItemSummary item : orderItemRepository.findSummariesByOrderIdIn(chunk)) {
+                itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        return itemsByOrder;
+    }
+
     @Transactional(readOnly = true)
     public OfficeOrder getOrderById(Long id, OfficeUser caller) {
         OfficeOrder order = orderRepository.findById(id)
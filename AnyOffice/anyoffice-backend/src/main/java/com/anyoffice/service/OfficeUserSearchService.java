@@ -0,0 +1,170 @@
+package com.anyoffice.service;
+
+import com.anyoffice.model.OfficeUserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Paged, filtered user list for super admins (GET /api/office/admin/users/search).
+ * Keyset pages in id order (id > cursor), optional role / enabled / emailVerified /
+ * companyId filters and a case-insensitive prefix search on email, first or last name
+ * (lower(...) text_pattern_ops indexes on office_users).
+ * The total is only computed for the first page: planner estimate (EXPLAIN), or an
+ * exact count when count=exact or the estimate is small enough (count=auto).
+ */
+@Service
+@Slf4j
+public class OfficeUserSearchService {
+
+    public enum CountMode { AUTO, ESTIMATE, EXACT, NONE }
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private static final String SELECT_SQL =
+            "SELECT id, email, first_name, last_name, role, company_id, is_enabled FROM office_users ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long exactCountThreshold;
+
+    public OfficeUserSearchService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.admin.user-search.default-limit:50}") int defaultLimit,
+            @Value("${app.admin.user-search.max-limit:200}") int maxLimit,
+            @Value("${app.admin.user-search.exact-count-threshold:10000}") long exactCountThreshold
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(Long cursor, Integer limit, String role, Boolean enabled, Boolean emailVerified,
+                                      Long companyId, String q, CountMode countMode) {
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder("WHERE true");
+        if (role != null && !role.isBlank()) {
+            where.append(" AND role = :role");
+            params.addValue("role", parseRole(role).name());
+        }
+        if (enabled != null) {
+            where.append(" AND is_enabled = :enabled");
+            params.addValue("enabled", enabled);
+        }
+        if (emailVerified != null) {
+            where.append(" AND is_email_verified = :emailVerified");
+            params.addValue("emailVerified", emailVerified);
+        }
+        if (companyId != null) {
+            where.append(" AND company_id = :companyId");
+            params.addValue("companyId", companyId);
+        }
+        if (q != null && !q.isBlank()) {
+            String prefix = q.trim().toLowerCase(Locale.ROOT);
+            if (prefix.length() > MAX_QUERY_LENGTH) {
+                throw new IllegalArgumentException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+            }
+            where.append(" AND (lower(email) LIKE :prefix OR lower(first_name) LIKE :prefix OR lower(last_name) LIKE :prefix)");
+            params.addValue("prefix", escapeLike(prefix) + "%");
+        }
+        String filters = where.toString();
+
+        String pageSql = SELECT_SQL + filters + (cursor != null ? " AND id > :cursor" : "") + " ORDER BY id LIMIT :limit";
+        params.addValue("cursor", cursor);
+        // One extra row tells whether another page follows
+        params.addValue("limit", pageSize + 1);
+
+        List<Map<String, Object>> users = new ArrayList<>(pageSize + 1);
+        jdbcTemplate.query(pageSql, params, rs -> {
+            Map<String, Object> info = new HashMap<>();
+            info.put("id", rs.getLong("id"));
+            info.put("email", rs.getString("email"));
+            info.put("firstName", rs.getString("first_name"));
+            info.put("lastName", rs.getString("last_name"));
+            info.put("role", rs.getString("role"));
+            info.put("companyId", rs.getObject("company_id"));
+            info.put("isEnabled", rs.getBoolean("is_enabled"));
+            users.add(info);
+        });
+
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users.remove(pageSize);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", users);
+        result.put("count", users.size());
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", hasMore ? users.get(users.size() - 1).get("id").toString() : null);
+        if (cursor == null) {
+            addTotal(result, filters, params, countMode != null ? countMode : CountMode.AUTO);
+        }
+        return result;
+    }
+
+    private void addTotal(Map<String, Object> result, String filters, MapSqlParameterSource params, CountMode mode) {
+        if (mode == CountMode.NONE) {
+            return;
+        }
+        if (mode != CountMode.EXACT) {
+            Long estimate = estimateCount(filters, params);
+            if (estimate != null && (mode == CountMode.ESTIMATE || estimate > exactCountThreshold)) {
+                result.put("total", estimate);
+                result.put("totalEstimated", true);
+                return;
+            }
+            if (mode == CountMode.ESTIMATE) {
+                return;
+            }
+        }
+        result.put("total", jdbcTemplate.queryForObject("SELECT count(*) FROM office_users " + filters, params, Long.class));
+        result.put("totalEstimated", false);
+    }
+
+    private Long estimateCount(String filters, MapSqlParameterSource params) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT 1 FROM office_users " + filters,
+                    params, String.class);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (Exception e) {
+            log.warn("Could not read user count estimate: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static OfficeUserRole parseRole(String role) {
+        try {
+            return OfficeUserRole.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role: " + role);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
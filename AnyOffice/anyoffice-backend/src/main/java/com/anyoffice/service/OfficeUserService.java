@@ -1,5 +1,6 @@
 package com.anyoffice.service;
 
+import com.anyoffice.dto.OfficeUserSummary;
 import com.anyoffice.exception.EmailAlreadyExistsException;
 import com.anyoffice.exception.InvalidCredentialsException;
 import com.anyoffice.exception.ResourceNotFoundException;
@@ -105,8 +106,8 @@ public class OfficeUserService {
     }
 
     @Transactional(readOnly = true)
-    public List<OfficeUser> getUsersByCompany(Long companyId) {
-        return userRepository.findByCompanyIdAndIsEnabledTrue(companyId);
+    public List<OfficeUserSummary> getUsersByCompany(Long companyId) {
+        return userRepository.findEnabledSummariesByCompanyId(companyId);
     }
 
     @Transactional
@@ -129,8 +130,13 @@ public class OfficeUserService {
     }
 
     @Transactional(readOnly = true)
-    public List<OfficeUser> getAllUsers() {
-        return userRepository.findAll();
+    public List<OfficeUserSummary> getAllUsers() {
+        return userRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public long countUsers() {
+        return userRepository.count();
     }
 
     @Transactional
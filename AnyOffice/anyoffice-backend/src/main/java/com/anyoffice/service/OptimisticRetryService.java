@@ -0,0 +1,67 @@
+package com.anyoffice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs idempotent transitions in a fresh transaction when they lose an
+ * optimistic-lock race. Call outside any transaction; don't use for actions
+ * with side effects (e.g. emails).
+ */
+@Service
+@Slf4j
+public class OptimisticRetryService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetryService(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.optimistic-retry.max-attempts:3}") int maxAttempts,
+            @Value("${app.optimistic-retry.backoff-ms:25}") long backoffMillis
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Run the action, retrying up to max-attempts times on a version conflict.
+     *
+     * @throws OptimisticLockingFailureException if every attempt conflicted (mapped to 409)
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.info("{} hit a concurrent update, retrying ({}/{})", operation, attempt, maxAttempts);
+                backoff(operation, attempt);
+            }
+        }
+    }
+
+    private void backoff(String operation, int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying " + operation);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.anyschool.benchmark;
+
+import com.anyschool.dto.OrderSummary;
+import com.anyschool.model.Order;
+import com.anyschool.model.OrderItem;
+import com.anyschool.model.OrderStatus;
+import com.anyschool.model.School;
+import com.anyschool.model.Stationery;
+import com.anyschool.model.Supplier;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.security.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Fixtures
+ *
+ * Deterministic (fixed-seed) in-memory entities shared by the benchmarks,
+ * so runs are comparable release over release.
+ */
+public final class Fixtures {
+
+    public static final String JWT_SECRET = "benchmark-secret-key-that-is-at-least-32-characters-long";
+    public static final String PARENT_EMAIL = "parent@benchmark.anyschool.co.za";
+
+    private static final String[] CATEGORIES = {"Writing", "Paper", "Art", "Maths", "Bags", "Files"};
+    private static final String[] SUPPLIER_TYPES = {"MANUFACTURER", "WHOLESALER", "RETAILER", "DISTRIBUTOR"};
+
+    private Fixtures() {
+    }
+
+    public static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86_400_000L);
+        return jwtService;
+    }
+
+    public static User user(long id, String email, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setFullName("Benchmark User " + id);
+        user.setRole(role);
+        user.setVerified(true);
+        return user;
+    }
+
+    public static School school(long id) {
+        School school = new School("School " + id, "District " + (id % 20), "Gauteng");
+        school.setId(id);
+        school.setGrades("R,1,2,3,4,5,6,7");
+        return school;
+    }
+
+    public static List<Supplier> suppliers(int count) {
+        List<Supplier> suppliers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setId((long) i);
+            supplier.setName("Supplier " + i);
+            supplier.setSupplierType(SUPPLIER_TYPES[i % SUPPLIER_TYPES.length]);
+            suppliers.add(supplier);
+        }
+        return suppliers;
+    }
+
+    public static List<Stationery> stationery(int count, List<Supplier> suppliers) {
+        Random random = new Random(42);
+        List<Stationery> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Stationery stationery = new Stationery();
+            stationery.setId((long) i);
+            stationery.setName("Item " + i);
+            stationery.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            stationery.setBrand("Brand " + (i % 15));
+            stationery.setPrice(BigDecimal.valueOf(500 + random.nextInt(20_000), 2));
+            stationery.setSupplier(suppliers.isEmpty() ? null : suppliers.get(i % suppliers.size()));
+            stationery.setAvailable(true);
+            items.add(stationery);
+        }
+        return items;
+    }
+
+    /**
+     * Orders spread over the last 120 days, ~10% donations, 1-8 items each
+     */
+    public static List<Order> orders(int count, List<School> schools, List<Stationery> stationery, User user) {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        OrderStatus[] statuses = OrderStatus.values();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            boolean donation = random.nextInt(10) == 0;
+            boolean paymentPlan = !donation && random.nextInt(4) == 0;
+            Order order = Order.builder()
+                    .id((long) i)
+                    .user(user)
+                    .school(schools.get(random.nextInt(schools.size())))
+                    .orderType(donation ? "DONATION" : "PURCHASE")
+                    .studentGrade(donation ? null : String.valueOf(1 + random.nextInt(7)))
+                    .studentName(donation ? null : "Learner " + i)
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .paymentType(paymentPlan ? "PAYMENT_PLAN" : "IMMEDIATE")
+                    .paymentPlanMonths(paymentPlan ? 6 : null)
+                    .debitOrderDay(paymentPlan ? 15 : null)
+                    .createdAt(now.minusMinutes(random.nextInt(120 * 24 * 60)))
+                    .build();
+
+            BigDecimal total = BigDecimal.ZERO;
+            int lines = 1 + random.nextInt(8);
+            for (int l = 0; l < lines; l++) {
+                Stationery item = stationery.get(random.nextInt(stationery.size()));
+                OrderItem orderItem = OrderItem.builder()
+                        .id((long) i * 10 + l)
+                        .order(order)
+                        .stationery(item)
+                        .quantity(1 + random.nextInt(5))
+                        .price(item.getPrice())
+                        .build();
+                orderItem.calculateSubtotal();
+                order.addOrderItem(orderItem);
+                total = total.add(orderItem.getSubtotal());
+            }
+            order.setTotalAmount(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Order list rows for the given orders, as OrderRepository's summary
+     * queries return them (interface projections, so proxies here too)
+     */
+    public static List<OrderSummary> orderSummaries(List<Order> orders) {
+        List<OrderSummary> summaries = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Map<String, Function<Object[], Object>> row = new HashMap<>();
+            row.put("getId", args -> order.getId());
+            row.put("getOrderType", args -> order.getOrderType());
+            row.put("getStudentGrade", args -> order.getStudentGrade());
+            row.put("getStudentName", args -> order.getStudentName());
+            row.put("getTotalAmount", args -> order.getTotalAmount());
+            row.put("getStatus", args -> order.getStatus());
+            row.put("getItemCount", args -> order.getOrderItems().size());
+            row.put("getCreatedAt", args -> order.getCreatedAt());
+            row.put("getAcademicYear", args -> order.getAcademicYear());
+            row.put("getPaymentType", args -> order.getPaymentType());
+            row.put("getMonthlyInstalment", args -> order.getMonthlyInstalment());
+            row.put("getPaymentPlanMonths", args -> order.getPaymentPlanMonths());
+            row.put("getDebitOrderDay", args -> order.getDebitOrderDay());
+            row.put("getFirstDebitDate", args -> order.getFirstDebitDate());
+            row.put("getLastDebitDate", args -> order.getLastDebitDate());
+            row.put("getSchoolId", args -> order.getSchool() != null ? order.getSchool().getId() : null);
+            row.put("getSchoolName", args -> order.getSchool() != null ? order.getSchool().getName() : null);
+            row.put("getSchoolProvince", args -> order.getSchool() != null ? order.getSchool().getProvince() : null);
+            row.put("getRequestedSchoolName", args -> order.getRequestedSchoolName());
+            summaries.add(Stubs.of(OrderSummary.class, row));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,110 @@
+package com.anyschool.controller;
+
+import com.anyschool.benchmark.Fixtures;
+import com.anyschool.benchmark.Stubs;
+import com.anyschool.model.Child;
+import com.anyschool.model.Communication;
+import com.anyschool.model.School;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.repository.ChildRepository;
+import com.anyschool.repository.CommunicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Communication Relevance Benchmark
+ *
+ * GET /api/communications/parent (CommunicationController.getParentCommunications)
+ * over stubbed repositories: each of a parent's children is matched against
+ * the school's communications, and the relevant ones are mapped for the response.
+ * The mix covers every audience type (ALL, SPECIFIC_GRADES, SPECIFIC_CHILD),
+ * unpublished items and super admin messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommunicationRelevanceBenchmark {
+
+    private static final String[] GRADE_LISTS = {"1,2,3", "4, 5", "R,1", "6,7", "3"};
+
+    @Param({"1000", "10000"})
+    public int communications;
+
+    private CommunicationController controller;
+    private User parent;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        School school = Fixtures.school(1L);
+        User schoolAdmin = Fixtures.user(2L, "admin@benchmark.anyschool.co.za", UserRole.SCHOOL_ADMIN);
+        User superAdmin = Fixtures.user(3L, "super@benchmark.anyschool.co.za", UserRole.SUPER_ADMIN);
+        parent = Fixtures.user(1L, Fixtures.PARENT_EMAIL, UserRole.PARENT);
+
+        List<Child> children = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Child child = new Child("Child " + id, String.valueOf(id * 2), parent, school);
+            child.setId(id);
+            children.add(child);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Communication> schoolCommunications = new ArrayList<>(communications);
+        for (int i = 0; i < communications; i++) {
+            int kind = random.nextInt(10);
+            schoolCommunications.add(Communication.builder()
+                    .id((long) i)
+                    .school(school)
+                    .createdBy(kind == 0 ? superAdmin : schoolAdmin)
+                    .title("Notice " + i)
+                    .message("Benchmark message " + i)
+                    .type("ANNOUNCEMENT")
+                    .priority("NORMAL")
+                    .targetAudience(kind < 4 ? "ALL" : kind < 8 ? "SPECIFIC_GRADES" : "SPECIFIC_CHILD")
+                    .targetGrades(kind >= 4 && kind < 8 ? GRADE_LISTS[random.nextInt(GRADE_LISTS.length)] : null)
+                    .targetChildId(kind >= 8 ? (long) (1 + random.nextInt(500)) : null)
+                    .published(random.nextInt(20) != 0)
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now.minusHours(i))
+                    .build());
+        }
+
+        controller = new CommunicationController();
+        ReflectionTestUtils.setField(controller, "childRepository", Stubs.of(ChildRepository.class, Map.of(
+                "findByParentOrderByCreatedAtDesc", args -> children
+        )));
+        ReflectionTestUtils.setField(controller, "communicationRepository", Stubs.of(CommunicationRepository.class, Map.of(
+                "findBySchoolOrderByCreatedAtDesc", args -> schoolCommunications
+        )));
+        if (!parentCommunications().getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Parent communications fixture is rejected by the controller");
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> parentCommunications() {
+        return controller.getParentCommunications(parent);
+    }
+}
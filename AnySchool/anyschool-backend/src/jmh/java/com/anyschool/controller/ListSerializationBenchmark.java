@@ -0,0 +1,86 @@
+package com.anyschool.controller;
+
+import com.anyschool.benchmark.Fixtures;
+import com.anyschool.benchmark.Stubs;
+import com.anyschool.dto.OrderSummary;
+import com.anyschool.model.School;
+import com.anyschool.model.Stationery;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.repository.OrderRepository;
+import com.anyschool.service.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List Serialization Benchmark
+ *
+ * The order list response (GET /api/orders and the school / purchasing
+ * order lists): OrderController.getUserOrders over a stubbed repository
+ * (summary row -> map conversion), then JSON with an ObjectMapper
+ * configured the way Spring Boot configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+    @Param({"20", "500"})
+    public int orders;
+
+    private ObjectMapper objectMapper;
+    private OrderController controller;
+    private User parent;
+    private Map<String, Object> prebuiltResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<School> schools = List.of(Fixtures.school(1L), Fixtures.school(2L));
+        List<Stationery> catalogue = Fixtures.stationery(100, List.of());
+        parent = Fixtures.user(1L, Fixtures.PARENT_EMAIL, UserRole.PARENT);
+        List<OrderSummary> summaries = Fixtures.orderSummaries(Fixtures.orders(orders, schools, catalogue, parent));
+
+        OrderRepository orderRepository = Stubs.of(OrderRepository.class, Map.of(
+                "findSummariesByUserId", args -> summaries
+        ));
+        controller = new OrderController(new OrderService(orderRepository, null, null), null, null);
+        prebuiltResponse = controller.getUserOrders(parent).getBody();
+    }
+
+    /**
+     * Map conversion + serialization, as the endpoint does per request
+     */
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controller.getUserOrders(parent).getBody());
+    }
+
+    /**
+     * Serialization only
+     */
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(prebuiltResponse);
+    }
+}
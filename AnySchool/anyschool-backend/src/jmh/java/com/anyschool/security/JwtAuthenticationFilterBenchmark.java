@@ -0,0 +1,77 @@
+package com.anyschool.security;
+
+import com.anyschool.benchmark.Fixtures;
+import com.anyschool.benchmark.Stubs;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.repository.UserRepository;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Authentication Filter Benchmark
+ *
+ * The per-request authentication path: header parsing, token parse and
+ * validation, user lookup (stubbed - no database) and SecurityContext setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Fixtures.jwtService();
+        User parent = Fixtures.user(1L, Fixtures.PARENT_EMAIL, UserRole.PARENT);
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findByEmail", args -> Optional.of(parent)
+        ));
+        filter = new JwtAuthenticationFilter(jwtService, userRepository);
+
+        bearerRequest = new MockHttpServletRequest("GET", "/api/orders");
+        bearerRequest.addHeader("Authorization", "Bearer " + jwtService.generateToken(Fixtures.PARENT_EMAIL));
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/stationery");
+    }
+
+    @Benchmark
+    public Authentication bearerToken() throws ServletException, IOException {
+        return authenticate(bearerRequest);
+    }
+
+    @Benchmark
+    public Authentication noToken() throws ServletException, IOException {
+        return authenticate(anonymousRequest);
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,118 @@
+package com.anyschool.service;
+
+import com.anyschool.benchmark.Fixtures;
+import com.anyschool.benchmark.Stubs;
+import com.anyschool.dto.BusinessAnalyticsDto;
+import com.anyschool.model.Order;
+import com.anyschool.model.OrderItem;
+import com.anyschool.model.School;
+import com.anyschool.model.Stationery;
+import com.anyschool.model.Supplier;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.repository.OrderItemRepository;
+import com.anyschool.repository.OrderRepository;
+import com.anyschool.repository.SchoolRepository;
+import com.anyschool.repository.StationeryRepository;
+import com.anyschool.repository.SupplierRepository;
+import com.anyschool.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business Analytics Benchmark
+ *
+ * The in-memory aggregation done by BusinessAnalyticsService over the
+ * entity lists its repositories return (revenue sums, top products,
+ * category / supplier breakdowns, donation stats). Repositories are stubbed
+ * with pre-built entities, so this measures the Java side only - the
+ * database cost of loading every order comes on top in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessAnalyticsBenchmark {
+
+    @Param({"1000", "20000"})
+    public int orders;
+
+    private BusinessAnalyticsService analyticsService;
+
+    @Setup
+    public void setUp() {
+        List<School> schools = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            schools.add(Fixtures.school(id));
+        }
+        List<Supplier> suppliers = Fixtures.suppliers(40);
+        List<Stationery> catalogue = Fixtures.stationery(500, suppliers);
+        User parent = Fixtures.user(1L, Fixtures.PARENT_EMAIL, UserRole.PARENT);
+        List<Order> allOrders = Fixtures.orders(orders, schools, catalogue, parent);
+        List<Order> donations = allOrders.stream().filter(o -> "DONATION".equals(o.getOrderType())).toList();
+        List<OrderItem> allItems = allOrders.stream().flatMap(o -> o.getOrderItems().stream()).toList();
+
+        analyticsService = new BusinessAnalyticsService();
+        ReflectionTestUtils.setField(analyticsService, "orderRepository", Stubs.of(OrderRepository.class, Map.of(
+                "count", args -> (long) allOrders.size(),
+                "findAll", args -> allOrders,
+                "findByCreatedAtAfter", args -> createdAfter(allOrders, (LocalDateTime) args[0]),
+                "countByCreatedAtAfter", args -> createdAfter(allOrders, (LocalDateTime) args[0]).size(),
+                "findByOrderType", args -> donations,
+                "countByOrderType", args -> donations.size()
+        )));
+        ReflectionTestUtils.setField(analyticsService, "schoolRepository", Stubs.of(SchoolRepository.class, Map.of(
+                "count", args -> (long) schools.size()
+        )));
+        ReflectionTestUtils.setField(analyticsService, "userRepository", Stubs.of(UserRepository.class, Map.of(
+                "countByRole", args -> (long) orders / 2
+        )));
+        ReflectionTestUtils.setField(analyticsService, "stationeryRepository", Stubs.of(StationeryRepository.class, Map.of(
+                "count", args -> (long) catalogue.size(),
+                "findAll", args -> catalogue
+        )));
+        ReflectionTestUtils.setField(analyticsService, "supplierRepository", Stubs.of(SupplierRepository.class, Map.of(
+                "count", args -> (long) suppliers.size(),
+                "findAll", args -> suppliers
+        )));
+        ReflectionTestUtils.setField(analyticsService, "orderItemRepository", Stubs.of(OrderItemRepository.class, Map.of(
+                "findAll", args -> allItems
+        )));
+    }
+
+    @Benchmark
+    public BusinessAnalyticsDto generateBusinessReport() {
+        return analyticsService.generateBusinessReport();
+    }
+
+    /**
+     * What the derived query returns (a fresh list per call, like the JPA result)
+     */
+    private static List<Order> createdAfter(List<Order> orders, LocalDateTime date) {
+        List<Order> result = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getCreatedAt().isAfter(date)) {
+                result.add(order);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package com.anyschool.service;
+
+import com.anyschool.benchmark.Fixtures;
+import com.anyschool.benchmark.Stubs;
+import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.model.Order;
+import com.anyschool.model.School;
+import com.anyschool.model.Stationery;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.repository.OrderRepository;
+import com.anyschool.repository.SchoolRepository;
+import com.anyschool.repository.StationeryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Service Benchmark
+ *
+ * OrderService.createOrder minus the database: validation, payment plan
+ * dates, order item subtotals, order total and monthly instalment.
+ * Repositories are stubbed in memory.
+ *
+ * Note: payment plans run from next month to November, so PAYMENT_PLAN
+ * orders are rejected in November and December - run with
+ * -p paymentType=IMMEDIATE in those months.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"5", "20", "60"})
+    public int items;
+
+    @Param({"IMMEDIATE", "PAYMENT_PLAN"})
+    public String paymentType;
+
+    private OrderService orderService;
+    private User parent;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() {
+        School school = Fixtures.school(1L);
+        List<Stationery> catalogue = Fixtures.stationery(200, Collections.emptyList());
+
+        OrderRepository orderRepository = Stubs.of(OrderRepository.class, Map.of(
+                "save", args -> (Order) args[0]
+        ));
+        SchoolRepository schoolRepository = Stubs.of(SchoolRepository.class, Map.of(
+                "findById", args -> Optional.of(school)
+        ));
+        StationeryRepository stationeryRepository = Stubs.of(StationeryRepository.class, Map.of(
+                "findAllById", args -> {
+                    List<Stationery> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        found.add(catalogue.get((int) ((Long) id - 1)));
+                    }
+                    return found;
+                }
+        ));
+        orderService = new OrderService(orderRepository, schoolRepository, stationeryRepository);
+        parent = Fixtures.user(1L, Fixtures.PARENT_EMAIL, UserRole.PARENT);
+
+        request = new CreateOrderRequest();
+        request.setSchoolId(school.getId());
+        request.setOrderType("PURCHASE");
+        request.setStudentGrade("4");
+        request.setStudentName("Benchmark Learner");
+        request.setAcademicYear("2026");
+        request.setPaymentType(paymentType);
+        request.setDebitOrderDay("PAYMENT_PLAN".equals(paymentType) ? 31 : null);
+
+        List<CreateOrderRequest.OrderItemRequest> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            CreateOrderRequest.OrderItemRequest line = new CreateOrderRequest.OrderItemRequest();
+            line.setStationeryId((long) (i * 7 % catalogue.size()) + 1);
+            line.setQuantity(1 + i % 4);
+            lines.add(line);
+        }
+        request.setItems(lines);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(parent, request);
+    }
+}
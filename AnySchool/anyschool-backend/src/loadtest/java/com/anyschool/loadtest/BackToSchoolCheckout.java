@@ -0,0 +1,100 @@
+package com.anyschool.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Back-to-school parent checkout
+ *
+ * A parent logs in, looks at their children and the catalogue, places a
+ * stationery order for one child (following the peak-mode 202 + tracking id
+ * flow when order intake is queued) and checks their order list.
+ */
+final class BackToSchoolCheckout implements Workload {
+
+    static final String NAME = "back-to-school";
+
+    private static final int INTAKE_POLLS = 10;
+    private static final long INTAKE_POLL_MILLIS = 200;
+
+    private final int parents;
+    private final String password;
+
+    BackToSchoolCheckout(Settings settings) {
+        this.parents = settings.getInt("parents");
+        this.password = settings.get("password");
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void run(Session session) throws Exception {
+        // ~5% of seeded parents are unverified; a real visitor would just be a different parent
+        boolean loggedIn = false;
+        for (int attempt = 0; attempt < 3 && !loggedIn; attempt++) {
+            long parent = 1 + session.random().nextInt(parents);
+            loggedIn = session.login("parent" + parent + "@seed.anyschool.test", password);
+        }
+        if (!loggedIn) {
+            throw new Session.Failure("No verified parent found in 3 attempts");
+        }
+
+        JsonNode children = session.get("GET /api/children", "/api/children").path("children");
+        JsonNode catalogue = session.get("GET /api/stationery", "/api/stationery").path("stationery");
+
+        JsonNode child = session.pick(children);
+        JsonNode school = child.path("school");
+        if (school.isMissingNode() || school.isNull() || catalogue.isEmpty()) {
+            // Nothing to buy for yet - browsing only
+            return;
+        }
+        session.get("GET /api/schools/{id}", "/api/schools/" + school.path("id").asLong());
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 3 + session.random().nextInt(6);
+        for (int i = 0; i < lines; i++) {
+            JsonNode item = session.pick(catalogue);
+            items.add(Map.of("stationeryId", item.path("id").asLong(), "quantity", 1 + session.random().nextInt(4)));
+        }
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("schoolId", school.path("id").asLong());
+        order.put("childId", child.path("id").asLong());
+        order.put("studentName", child.path("name").asText());
+        order.put("studentGrade", child.path("grade").asText());
+        order.put("orderType", "PURCHASE");
+        order.put("academicYear", String.valueOf(Year.now().getValue()));
+        order.put("paymentType", "IMMEDIATE");
+        order.put("items", items);
+
+        Session.Response created = session.request("POST", "POST /api/orders", "/api/orders", order);
+        if (created.status() == 202) {
+            awaitIntake(session, created.body().path("trackingId").asText());
+        }
+
+        session.get("GET /api/orders", "/api/orders");
+    }
+
+    private void awaitIntake(Session session, String trackingId) throws InterruptedException {
+        for (int poll = 0; poll < INTAKE_POLLS; poll++) {
+            String status = session.get("GET /api/orders/intake/{trackingId}", "/api/orders/intake/" + trackingId)
+                    .path("status").asText();
+            if ("COMPLETED".equals(status)) {
+                return;
+            }
+            if ("FAILED".equals(status)) {
+                throw new Session.Failure("Queued order " + trackingId + " failed");
+            }
+            Thread.sleep(INTAKE_POLL_MILLIS);
+        }
+        throw new Session.Failure("Queued order " + trackingId + " not processed after " + INTAKE_POLLS + " polls");
+    }
+}
@@ -0,0 +1,58 @@
+package com.anyschool.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Load Test Client
+ *
+ * State shared by all sessions: one HttpClient (connection pool), the JSON
+ * mapper, the metrics window currently being recorded into and a JWT cache
+ * so a virtual user logs in once per run, like a browser keeping its token,
+ * instead of paying for a BCrypt check on every session.
+ */
+final class Client {
+
+    final String baseUrl;
+    final HttpClient http;
+    final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    final Duration requestTimeout;
+
+    private final ConcurrentHashMap<String, String> tokens = new ConcurrentHashMap<>();
+    private volatile Metrics metrics;
+
+    Client(String baseUrl, ExecutorService executor, Duration requestTimeout, Metrics metrics) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.metrics = metrics;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    Metrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Start recording into a fresh window (end of warm-up)
+     */
+    void switchMetrics(Metrics next) {
+        this.metrics = next;
+    }
+
+    String cachedToken(String email) {
+        return tokens.get(email);
+    }
+
+    void cacheToken(String email, String token) {
+        tokens.put(email, token);
+    }
+}
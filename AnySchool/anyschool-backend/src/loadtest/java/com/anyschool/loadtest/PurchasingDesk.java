@@ -0,0 +1,50 @@
+package com.anyschool.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Purchasing-desk processing
+ *
+ * A purchasing admin refreshes the dashboard, opens a newly approved order
+ * and acknowledges it. Several desks race for the same orders, so "already
+ * acknowledged" (400) and a lost optimistic-lock race (409) are expected
+ * outcomes rather than errors.
+ */
+final class PurchasingDesk implements Workload {
+
+    static final String NAME = "purchasing-desk";
+
+    private final String email;
+    private final String password;
+
+    PurchasingDesk(Settings settings) {
+        this.email = settings.get("purchasing-email");
+        this.password = settings.get("password");
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void run(Session session) {
+        if (!session.login(email, password)) {
+            throw new Session.Failure("Purchasing admin " + email + " cannot log in");
+        }
+
+        session.get("GET /api/purchasing/orders/stats", "/api/purchasing/orders/stats");
+        JsonNode order = session.pick(session.get("GET /api/purchasing/orders/new", "/api/purchasing/orders/new")
+                .path("orders"));
+        if (!order.isMissingNode()) {
+            long id = order.path("id").asLong();
+            session.get("GET /api/purchasing/orders/{id}", "/api/purchasing/orders/" + id);
+            session.request("POST", "POST /api/purchasing/orders/{id}/acknowledge",
+                    "/api/purchasing/orders/" + id + "/acknowledge", null, 400, 409);
+        }
+
+        if (session.random().nextInt(100) < 20) {
+            session.get("GET /api/purchasing/demand", "/api/purchasing/demand");
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.anyschool.loadtest;
+
+import com.anyschool.monitoring.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load Test Report
+ *
+ * Console table plus a JSON file (report=...) with the same numbers and the
+ * settings used, so results from different releases can be diffed.
+ * Latencies are client-side milliseconds; throughput is per second of the
+ * measured window.
+ */
+final class Report {
+
+    private Report() {
+    }
+
+    static void print(Metrics metrics, PrintStream out) {
+        double seconds = metrics.elapsedSeconds();
+        out.println();
+        out.printf("Measured %.1f s: %d requests (%.1f/s), %d errors%n",
+                seconds, metrics.totalRequests(), metrics.totalRequests() / seconds, metrics.totalErrors());
+
+        out.println();
+        out.printf("%-52s %8s %8s %7s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Count", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        metrics.getEndpoints().forEach((name, stats) -> {
+            LatencyHistogram h = stats.latency;
+            out.printf("%-52s %8d %8.1f %7d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    name, h.getCount(), h.getCount() / seconds, stats.errors.sum(),
+                    ms(h.getPercentileMicros(50)), ms(h.getPercentileMicros(90)), ms(h.getPercentileMicros(99)),
+                    ms(h.getPercentileMicros(99.9)), ms(h.getMaxMicros()));
+        });
+
+        out.println();
+        out.printf("%-24s %8s %9s %7s %8s %10s %10s %12s%n",
+                "Workload", "Started", "Completed", "Failed", "Dropped", "p50 ms", "p99 ms", "p99 lag ms");
+        metrics.getWorkloads().forEach((name, stats) -> out.printf("%-24s %8d %9d %7d %8d %10.1f %10.1f %12.1f%n",
+                name, stats.started.sum(), stats.completed.sum(), stats.failed.sum(), stats.dropped.sum(),
+                ms(stats.sessionLatency.getPercentileMicros(50)), ms(stats.sessionLatency.getPercentileMicros(99)),
+                ms(stats.arrivalLag.getPercentileMicros(99))));
+
+        metrics.getEndpoints().forEach((name, stats) -> {
+            if (stats.lastError != null) {
+                out.printf("  last error %s: %s%n", name, stats.lastError);
+            }
+        });
+        metrics.getWorkloads().forEach((name, stats) -> {
+            if (stats.lastFailure != null) {
+                out.printf("  last failed session %s: %s%n", name, stats.lastFailure);
+            }
+        });
+    }
+
+    static void write(Metrics metrics, Settings settings, Path file) throws IOException {
+        double seconds = metrics.elapsedSeconds();
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        metrics.getEndpoints().forEach((name, stats) -> {
+            Map<String, Object> entry = latency(stats.latency);
+            entry.put("throughputPerSecond", round(stats.latency.getCount() / seconds));
+            entry.put("errors", stats.errors.sum());
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            entry.put("statuses", statuses);
+            endpoints.put(name, entry);
+        });
+
+        Map<String, Object> workloads = new LinkedHashMap<>();
+        metrics.getWorkloads().forEach((name, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("started", stats.started.sum());
+            entry.put("completed", stats.completed.sum());
+            entry.put("failed", stats.failed.sum());
+            entry.put("dropped", stats.dropped.sum());
+            entry.put("sessionLatency", latency(stats.sessionLatency));
+            entry.put("arrivalLag", latency(stats.arrivalLag));
+            workloads.put(name, entry);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("measuredSeconds", round(seconds));
+        report.put("requests", metrics.totalRequests());
+        report.put("errors", metrics.totalErrors());
+        report.put("throughputPerSecond", round(metrics.totalRequests() / seconds));
+        report.put("settings", settings.asMap());
+        report.put("endpoints", endpoints);
+        report.put("workloads", workloads);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    /**
+     * Side-by-side totals and per-workload session latency of several runs
+     * (e.g. server-threads=platform,virtual)
+     */
+    static void compare(Map<String, Metrics> runs, PrintStream out) {
+        out.println();
+        out.println("Comparison");
+        runs.forEach((run, metrics) -> out.printf("  %-12s %d requests (%.1f/s), %d errors%n",
+                run, metrics.totalRequests(), metrics.totalRequests() / metrics.elapsedSeconds(), metrics.totalErrors()));
+
+        out.println();
+        out.printf("%-24s %-12s %9s %8s %10s %10s %10s %7s%n",
+                "Workload", "Run", "Completed", "Sess/s", "p50 ms", "p99 ms", "p99.9 ms", "Failed");
+        runs.values().iterator().next().getWorkloads().keySet().forEach(name -> runs.forEach((run, metrics) -> {
+            Metrics.WorkloadStats stats = metrics.getWorkloads().get(name);
+            if (stats == null) {
+                return;
+            }
+            LatencyHistogram h = stats.sessionLatency;
+            out.printf("%-24s %-12s %9d %8.1f %10.1f %10.1f %10.1f %7d%n",
+                    name, run, stats.completed.sum(), stats.completed.sum() / metrics.elapsedSeconds(),
+                    ms(h.getPercentileMicros(50)), ms(h.getPercentileMicros(99)), ms(h.getPercentileMicros(99.9)),
+                    stats.failed.sum());
+        }));
+    }
+
+    private static Map<String, Object> latency(LatencyHistogram histogram) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("count", histogram.getCount());
+        entry.put("meanMs", ms(Math.round(histogram.getMeanMicros())));
+        entry.put("p50Ms", ms(histogram.getPercentileMicros(50)));
+        entry.put("p90Ms", ms(histogram.getPercentileMicros(90)));
+        entry.put("p95Ms", ms(histogram.getPercentileMicros(95)));
+        entry.put("p99Ms", ms(histogram.getPercentileMicros(99)));
+        entry.put("p999Ms", ms(histogram.getPercentileMicros(99.9)));
+        entry.put("maxMs", ms(histogram.getMaxMicros()));
+        return entry;
+    }
+
+    private static double ms(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
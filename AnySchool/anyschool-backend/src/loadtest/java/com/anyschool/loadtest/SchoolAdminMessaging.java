@@ -0,0 +1,64 @@
+package com.anyschool.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * School-admin messaging
+ *
+ * A school admin checks unread messages and threads, opens one, sometimes
+ * writes to a parent and occasionally publishes a school-wide communication.
+ */
+final class SchoolAdminMessaging implements Workload {
+
+    static final String NAME = "school-admin-messaging";
+
+    private final int schools;
+    private final String password;
+
+    SchoolAdminMessaging(Settings settings) {
+        this.schools = settings.getInt("schools");
+        this.password = settings.get("password");
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void run(Session session) {
+        long school = 1 + session.random().nextInt(schools);
+        if (!session.login("admin" + school + "@seed.anyschool.test", password)) {
+            throw new Session.Failure("School admin " + school + " cannot log in");
+        }
+
+        session.get("GET /api/messages/unread/count", "/api/messages/unread/count");
+        JsonNode threads = session.get("GET /api/messages/threads", "/api/messages/threads").path("threads");
+        JsonNode thread = session.pick(threads);
+        if (!thread.isMissingNode()) {
+            session.get("GET /api/messages/thread/{threadId}", "/api/messages/thread/" + thread.path("threadId").asLong());
+        }
+
+        int action = session.random().nextInt(100);
+        if (action < 30) {
+            JsonNode parent = session.pick(session.get("GET /api/messages/school/parents", "/api/messages/school/parents")
+                    .path("parents"));
+            if (!parent.isMissingNode()) {
+                session.post("POST /api/messages", "/api/messages", Map.of(
+                        "parentId", parent.path("id").asLong(),
+                        "subject", "Stationery collection",
+                        "content", "Please collect your child's stationery pack from the school office this week."));
+            }
+        } else if (action < 40) {
+            session.post("POST /api/communications", "/api/communications", Map.of(
+                    "title", "Stationery packs arriving",
+                    "message", "Ordered stationery packs will be handed out in class on Monday.",
+                    "type", "GENERAL",
+                    "targetAudience", "ALL"));
+        }
+
+        session.get("GET /api/communications/school", "/api/communications/school");
+    }
+}
@@ -0,0 +1,144 @@
+package com.anyschool.loadtest;
+
+import com.anyschool.AnySchoolApplication;
+import com.anyschool.seed.ScaleDataSeeder;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load Test Environment
+ *
+ * The system under test. Either:
+ * - base-url set: an application that is already running (data seeded with
+ *   the same scale settings), nothing is started here; or
+ * - in-JVM: an embedded PostgreSQL (or jdbc-url), then the real
+ *   AnySchoolApplication on a random port with the production configuration,
+ *   seeded through ScaleDataSeeder plus one purchasing admin.
+ *
+ * server-threads=platform|virtual sets spring.threads.virtual.enabled (and
+ * with it the JDBC limiter) for the in-JVM server.
+ *
+ * The in-JVM server shares CPU with the load generator; use base-url against
+ * a separate host for absolute capacity numbers, in-JVM for release-to-release
+ * comparisons on the same machine.
+ */
+@Slf4j
+final class TestEnvironment implements AutoCloseable {
+
+    private final String baseUrl;
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private TestEnvironment(String baseUrl, EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.baseUrl = baseUrl;
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static TestEnvironment start(Settings settings) throws Exception {
+        if (!settings.isBlank("base-url")) {
+            if (!settings.isBlank("server-threads")) {
+                throw new IllegalArgumentException("server-threads only applies to the in-JVM server, not base-url");
+            }
+            log.info("Driving existing server at {}", settings.get("base-url"));
+            return new TestEnvironment(settings.get("base-url"), null, null);
+        }
+
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = settings.get("jdbc-url");
+        String user = settings.get("db-user");
+        String password = settings.get("db-password");
+        if (settings.isBlank("jdbc-url")) {
+            log.info("Starting embedded PostgreSQL");
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            user = "postgres";
+            password = "";
+        }
+
+        try {
+            Map<String, String> properties = new HashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.url", jdbcUrl);
+            properties.put("spring.datasource.username", user);
+            properties.put("spring.datasource.password", password);
+            properties.put("jwt.secret", jwtSecret());
+            // Per-request INFO logging would dominate the measurement
+            properties.put("logging.level.com.anyschool", "WARN");
+            properties.put("logging.level.com.anyschool.seed", "INFO");
+            properties.put("logging.level.org.springframework.security", "WARN");
+            properties.put("app.seed.scale.enabled", "false");
+            if (!settings.isBlank("server-threads")) {
+                properties.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(settings.get("server-threads"))));
+            }
+            for (String key : new String[]{"seed", "schools", "parents", "children", "orders", "messages", "communications", "password"}) {
+                properties.put("app.seed.scale." + key, settings.get(key));
+            }
+
+            log.info("Starting AnySchool application");
+            // devtools would restart the "application" by re-running LoadTest.main
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            // Command-line arguments, so they win over application.properties
+            String[] arguments = properties.entrySet().stream()
+                    .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                    .toArray(String[]::new);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(AnySchoolApplication.class)
+                    .run(arguments);
+            context.getBean(ScaleDataSeeder.class).seed();
+            ensurePurchasingAdmin(context, settings);
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            return new TestEnvironment("http://localhost:" + port, postgres, context);
+        } catch (Exception e) {
+            if (postgres != null) {
+                postgres.close();
+            }
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * The scale seed has no purchasing admins; add the one the purchasing-desk profile logs in as
+     */
+    private static void ensurePurchasingAdmin(ConfigurableApplicationContext context, Settings settings) {
+        String hash = context.getBean(PasswordEncoder.class).encode(settings.get("password"));
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO users (email, password, full_name, phone_number, role, enabled, failed_login_attempts, " +
+                "verified, created_at, updated_at) VALUES (?, ?, 'Load Test Purchasing', '0110000000', 'PURCHASING_ADMIN', " +
+                "true, 0, true, now(), now()) ON CONFLICT (email) DO NOTHING",
+                settings.get("purchasing-email"), hash);
+    }
+
+    private static String jwtSecret() {
+        String configured = System.getenv("JWT_SECRET");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        byte[] random = new byte[48];
+        new SecureRandom().nextBytes(random);
+        return Base64.getEncoder().encodeToString(random);
+    }
+}
@@ -0,0 +1,34 @@
+package com.anyschool.loadtest;
+
+import java.util.List;
+
+/**
+ * Load Test Workload
+ *
+ * A workload profile scripts one kind of user visit. The driver starts a
+ * new session of it at the profile's arrival rate regardless of how many
+ * are still running (open model), so a slow server builds up concurrency
+ * the way real traffic does instead of quietly slowing the test down.
+ */
+interface Workload {
+
+    String name();
+
+    /**
+     * One visit. Throw (or let Session.Failure propagate) to count it as failed.
+     */
+    void run(Session session) throws Exception;
+
+    static List<String> names() {
+        return List.of(BackToSchoolCheckout.NAME, SchoolAdminMessaging.NAME, PurchasingDesk.NAME);
+    }
+
+    static Workload create(String name, Settings settings) {
+        return switch (name) {
+            case BackToSchoolCheckout.NAME -> new BackToSchoolCheckout(settings);
+            case SchoolAdminMessaging.NAME -> new SchoolAdminMessaging(settings);
+            case PurchasingDesk.NAME -> new PurchasingDesk(settings);
+            default -> throw new IllegalArgumentException("Unknown workload profile: " + name + " (known: " + names() + ")");
+        };
+    }
+}
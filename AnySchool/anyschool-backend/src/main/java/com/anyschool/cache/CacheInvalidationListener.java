@@ -0,0 +1,251 @@
+package com.anyschool.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache Invalidation Listener
+ *
+ * Receiving half of the invalidation bus (see CacheInvalidationPublisher).
+ * Holds one dedicated connection to the primary, outside the Hikari pool, that
+ * LISTENs on app.cache.invalidation.channel. For an event from another node
+ * (this backend or AnyOffice) it evicts, for every cached entity mapped to that
+ * table: the entity, its cached collections, and the query cache.
+ *
+ * Gaps: PostgreSQL only delivers notifications to a session that is
+ * listening, so anything published while the connection was down (or before
+ * the first LISTEN) is lost. Every time LISTEN is (re-)established the whole
+ * second-level cache is flushed instead. A dropped connection is retried with
+ * exponential backoff (1 s doubling to 30 s); an idle connection is validated
+ * every poll-interval-ms so a silently dead one is noticed.
+ *
+ * Race: eviction is not versioned. A load on this node that read the row
+ * before the other node's commit can put the old state into the cache after
+ * the event has evicted it; that stale entry then lives until its region's
+ * ttl-seconds expire. Keep the TTL short on regions where that matters.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationListener {
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final CacheInvalidationPublisher publisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final int pollIntervalMillis;
+
+    private final Map<String, List<EntityPersister>> persistersByTable = new HashMap<>();
+    private final Map<EntityPersister, List<String>> collectionRoles = new HashMap<>();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder ownEvents = new LongAdder();
+    private final LongAdder invalidPayloads = new LongAdder();
+    private final LongAdder fullFlushes = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile String lastError;
+    private volatile long lastEventAt;
+
+    public CacheInvalidationListener(
+            CacheInvalidationPublisher publisher,
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            DataSourceProperties dataSourceProperties,
+            @Value("${app.cache.invalidation.poll-interval-ms:5000}") int pollIntervalMillis
+    ) {
+        this.publisher = publisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollIntervalMillis = pollIntervalMillis;
+        if (!publisher.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("app.cache.invalidation.channel must be a lower-case SQL identifier");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache()) {
+                persistersByTable.computeIfAbsent(CacheInvalidationPublisher.entityName(persister), table -> new ArrayList<>())
+                        .add(persister);
+            }
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache()) {
+                collectionRoles.computeIfAbsent(collection.getOwnerEntityPersister(), owner -> new ArrayList<>())
+                        .add(collection.getRole());
+            }
+        });
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        executor.submit(this::runLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Listener state for the monitoring endpoint
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("node", publisher.getNodeId());
+        stats.put("channel", publisher.getChannel());
+        stats.put("connected", connected);
+        stats.put("received", received.sum());
+        stats.put("applied", applied.sum());
+        stats.put("ownEvents", ownEvents.sum());
+        stats.put("invalidPayloads", invalidPayloads.sum());
+        stats.put("fullFlushes", fullFlushes.sum());
+        stats.put("reconnects", reconnects.sum());
+        stats.put("lastEventAt", lastEventAt == 0 ? null : lastEventAt);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private void runLoop() {
+        long backoffMillis = 1000;
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + publisher.getChannel());
+                }
+                connected = true;
+                backoffMillis = 1000;
+                if (!firstConnect) {
+                    reconnects.increment();
+                    log.info("✅ Cache invalidation listener reconnected");
+                }
+                firstConnect = false;
+                // Events published before this LISTEN were not delivered to us
+                flushAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(Math.max(1, pollIntervalMillis / 1000))) {
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                lastError = e.getMessage();
+                log.warn("⚠️  Cache invalidation listener disconnected ({}), retrying in {} ms", e.getMessage(), backoffMillis);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", publisher.getNodeId() + " cache-invalidation");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void handle(String payload) {
+        received.increment();
+        lastEventAt = System.currentTimeMillis();
+
+        CacheInvalidationPublisher.Event event;
+        try {
+            event = objectMapper.readValue(payload, CacheInvalidationPublisher.Event.class);
+        } catch (Exception e) {
+            invalidPayloads.increment();
+            log.warn("Ignoring cache invalidation payload {}: {}", payload, e.getMessage());
+            return;
+        }
+        if (publisher.getNodeId().equals(event.node())) {
+            ownEvents.increment();
+            return;
+        }
+
+        List<EntityPersister> persisters = persistersByTable.get(event.entity());
+        if (persisters == null) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        for (EntityPersister persister : persisters) {
+            Object id = persister.getIdentifierMapping().getJavaType().fromString(event.id());
+            cache.evictEntityData(persister.getEntityName(), id);
+            for (String role : collectionRoles.getOrDefault(persister, List.of())) {
+                cache.evictCollectionData(role, id);
+            }
+        }
+        // Any cached query may have selected the row
+        cache.evictQueryRegions();
+        applied.increment();
+        log.debug("Evicted {} {} for {}", event.entity(), event.id(), event.node());
+    }
+
+    private void flushAll() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictAllRegions();
+        fullFlushes.increment();
+    }
+}
@@ -0,0 +1,209 @@
+package com.anyschool.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache Invalidation Publisher
+ *
+ * Publishing half of the cross-application cache invalidation bus. Every
+ * insert, update and delete of a second-level-cached entity (and every change
+ * to one of its cached collections) is queued on the Hibernate session; just
+ * before the transaction commits the queue is sent with pg_notify on the same
+ * connection. PostgreSQL delivers the notifications only if that transaction
+ * commits, so listeners never evict for a write that rolled back, and never
+ * see the event before the new row is visible.
+ *
+ * Payload (JSON, one notification per entity and transaction):
+ *   {"node": "anyschool-1a2b3c4d", "entity": "stationery", "id": "42"}
+ * - entity: table name, so AnySchool and AnyOffice agree on shared tables
+ * - node: the publishing node, so CacheInvalidationListener can skip its own
+ *   events (Hibernate has already invalidated this node's cache)
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationPublisher implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId;
+    private final Map<SharedSessionContractImplementor, Map<String, Event>> pending = new ConcurrentHashMap<>();
+
+    public CacheInvalidationPublisher(
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.nodeId = "anyschool-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        log.info("📣 Cache invalidation events published on channel '{}' as {}", channel, nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        queue(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        queue(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        queue(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        queueOwner(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        queueOwner(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        queueOwner(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Table name used as the "entity" of an event (shared between the two backends)
+     */
+    static String entityName(EntityPersister persister) {
+        return persister instanceof AbstractEntityPersister entityPersister
+                ? entityPersister.getIdentifierTableName()
+                : persister.getEntityName();
+    }
+
+    /**
+     * A cached collection changed: publish its owner, listeners evict the owner's collections too
+     */
+    private void queueOwner(AbstractCollectionEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (owner == null || ownerId == null) {
+            return;
+        }
+        EventSource session = event.getSession();
+        queue(session, session.getEntityPersister(event.getAffectedOwnerEntityName(), owner), ownerId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void queue(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache() || id == null) {
+            return;
+        }
+        JavaType<Object> idType = (JavaType<Object>) persister.getIdentifierMapping().getJavaType();
+        Event event = new Event(nodeId, entityName(persister), idType.toString(id));
+
+        Map<String, Event> batch = pending.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::send);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+            return new LinkedHashMap<>();
+        });
+        batch.put(event.entity() + ":" + event.id(), event);
+    }
+
+    private void send(SharedSessionContractImplementor session) {
+        Map<String, Event> batch = pending.remove(session);
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        Collection<Event> events = batch.values();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+                for (Event event : events) {
+                    statement.setString(1, channel);
+                    statement.setString(2, toJson(event));
+                    statement.executeQuery().close();
+                }
+            }
+        });
+    }
+
+    private String toJson(Event event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise cache invalidation event", e);
+        }
+    }
+
+    /**
+     * One invalidation: a row of entity (table) changed on node
+     */
+    public record Event(String node, String entity, String id) {
+    }
+}
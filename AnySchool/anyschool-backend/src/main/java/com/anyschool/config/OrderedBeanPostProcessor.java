@@ -0,0 +1,11 @@
+package com.anyschool.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * BeanPostProcessor with an explicit order, for the DataSource wrappers
+ * (connection limiter innermost, SQL counting outermost)
+ */
+interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+}
@@ -0,0 +1,334 @@
+package com.anyschool.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replica Routing DataSource
+ *
+ * Sends read-only transactions (@Transactional(readOnly = true), Spring Data
+ * finders) to a healthy read replica, round-robin; everything else - writes,
+ * and JDBC work outside a transaction - goes to the primary. Used behind a
+ * LazyConnectionDataSourceProxy so the routing decision is made when the first
+ * statement runs, after the transaction's read-only flag has been set.
+ *
+ * Replica health: a background check every check-interval-ms measures replay
+ * lag (0 when the standby has replayed up to the primary's current WAL
+ * position, so a standby cut off from the primary doesn't look caught up).
+ * A replica that can't be reached or lags more than max-lag-ms is skipped
+ * until it recovers; with no healthy replica, reads fall back to the
+ * primary. A replica that fails to hand out a connection between checks is
+ * taken out of rotation on the spot and that read is served by the primary.
+ *
+ * Read-your-writes: when a signed-in user commits a read-write transaction,
+ * their read-only transactions stay on the primary for max-lag-ms plus one
+ * check interval - long enough for any replica still in rotation to have
+ * replayed the write. Tracked per node, in memory.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+
+    /**
+     * Caught up = replayed up to the primary's current WAL position. Comparing
+     * with what the standby received instead would report a standby whose WAL
+     * receiver is disconnected as lag 0 while it falls further behind.
+     */
+    private static final String LAG_SQL =
+            "SELECT pg_is_in_recovery(), " +
+            "       CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 " +
+            "            ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final long stickyMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ConcurrentHashMap<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    long maxLagMillis, long checkIntervalMillis) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.stickyMillis = maxLagMillis + checkIntervalMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return PRIMARY;
+        }
+
+        String user = currentUser();
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < stickyMillis) {
+                stickyReads.increment();
+                return PRIMARY;
+            }
+        }
+
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replica.reads.increment();
+        return replica.name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        Replica replica = replicaFor(target);
+        if (replica == null) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            markUnavailable(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        Replica replica = replicaFor(target);
+        if (replica == null) {
+            return target.getConnection(username, password);
+        }
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            markUnavailable(replica, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Replica state for the health endpoint
+     */
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> replicaStats = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", replica.name);
+            entry.put("healthy", replica.healthy);
+            entry.put("standby", replica.standby);
+            entry.put("lagMs", replica.lagMillis);
+            entry.put("reads", replica.reads.sum());
+            entry.put("lastError", replica.lastError);
+            replicaStats.add(entry);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replicas", replicaStats);
+        stats.put("maxLagMs", maxLagMillis);
+        stats.put("fallbackReads", fallbackReads.sum());
+        stats.put("stickyReads", stickyReads.sum());
+        stats.put("stickyUsers", lastWriteByUser.size());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close read replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica replicaFor(DataSource target) {
+        for (Replica replica : replicas) {
+            if (replica.dataSource == target) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markUnavailable(Replica replica, SQLException e) {
+        fallbackReads.increment();
+        replica.lastError = e.getMessage();
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("⚠️  Read replica {} out of rotation: {}", replica.name, e.getMessage());
+        }
+    }
+
+    private void recordWriteOnCommit() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(user, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    void checkReplicas() {
+        int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMillis));
+        String primaryLsn = null;
+        String primaryError = null;
+        try {
+            primaryLsn = primaryWalPosition(timeoutSeconds);
+        } catch (SQLException | RuntimeException e) {
+            primaryError = "Primary WAL position unavailable: " + e.getMessage();
+        }
+
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            if (primaryLsn != null) {
+                measureLag(replica, primaryLsn, timeoutSeconds);
+            } else {
+                replica.healthy = false;
+                replica.lastError = primaryError;
+            }
+
+            if (replica.healthy && !wasHealthy) {
+                log.info("✅ Read replica {} in rotation (lag {} ms{})", replica.name, replica.lagMillis,
+                        replica.standby ? "" : ", not a standby");
+            } else if (!replica.healthy && (wasHealthy || !replica.reported)) {
+                log.warn("⚠️  Read replica {} out of rotation: {}", replica.name, replica.lastError);
+            }
+            replica.reported = true;
+        }
+
+        long cutoff = System.currentTimeMillis() - stickyMillis;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    private void measureLag(Replica replica, String primaryLsn, int timeoutSeconds) {
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+            statement.setQueryTimeout(timeoutSeconds);
+            statement.setString(1, primaryLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                replica.standby = rs.getBoolean(1);
+                long lag = rs.getLong(2);
+                replica.lagMillis = rs.wasNull() ? -1 : lag;
+            }
+            replica.healthy = replica.lagMillis >= 0 && replica.lagMillis <= maxLagMillis;
+            replica.lastError = replica.healthy ? null
+                    : replica.lagMillis < 0 ? "Replay lag unknown" : "Replay lag " + replica.lagMillis + " ms";
+        } catch (SQLException | RuntimeException e) {
+            replica.healthy = false;
+            replica.lastError = e.getMessage();
+        }
+    }
+
+    private String primaryWalPosition(int timeoutSeconds) throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(PRIMARY_LSN_SQL)) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final LongAdder reads = new LongAdder();
+        volatile boolean healthy;
+        volatile boolean standby;
+        volatile boolean reported;
+        volatile long lagMillis = -1;
+        volatile String lastError;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
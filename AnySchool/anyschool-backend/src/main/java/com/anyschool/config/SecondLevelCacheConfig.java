@@ -0,0 +1,102 @@
+package com.anyschool.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-Level Cache Configuration (app.cache.enabled)
+ *
+ * Hibernate's second-level and query cache for the reference data nearly every
+ * request reads (stationery, schools, suppliers, bundles), held per node in a
+ * Caffeine JCache provider:
+ * - every region is created here, bounded (max-entries) and expiring
+ *   ttl-seconds after write, from app.cache.regions.<region>.*; Hibernate
+ *   refuses to start if an entity names a region that isn't listed
+ * - Hibernate keeps a region correct for writes made through this node; writes
+ *   from another node or from AnyOffice (the shared stationery table) are
+ *   evicted by CacheInvalidationListener, with the TTL as the backstop
+ * - statistics are collected for CacheStatisticsProbe (hits / misses / puts
+ *   per region); per-session metric logging stays off
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    /**
+     * Regions named in @Cache(region = ...) on entities and collections
+     */
+    public static final List<String> ENTITY_REGIONS =
+            List.of("stationery", "schools", "suppliers", "bundles", "bundle-items");
+
+    /**
+     * Cacheable query results (@QueryHints HINT_CACHEABLE on repository finders)
+     */
+    public static final String QUERY_REGION = "queries";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // Own manager per application context: the provider's default manager is
+        // JVM-wide, so a second context (devtools restart, tests) would find the
+        // regions already created
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("anyschool-hibernate-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, environment, region, region);
+        }
+        createRegion(cacheManager, environment, QUERY_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        // Last-write time per table, checked against every cached query result:
+        // must never be evicted or expire before the results it guards
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, Environment environment,
+                                     String configName, String cacheName) {
+        long maxEntries = environment.getProperty("app.cache.regions." + configName + ".max-entries", Long.class, 1000L);
+        long ttlSeconds = environment.getProperty("app.cache.regions." + configName + ".ttl-seconds", Long.class, 300L);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        cacheManager.createCache(cacheName, configuration);
+
+        log.info("🗄️  Cache region {}: max {} entries, TTL {} s", cacheName, maxEntries, ttlSeconds);
+    }
+}
@@ -0,0 +1,61 @@
+package com.anyschool.config;
+
+import com.anyschool.monitoring.SqlBudgetInterceptor;
+import com.anyschool.monitoring.SqlCountingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL Instrumentation Configuration
+ *
+ * Wires the per-request SQL budget / N+1 detector:
+ * - SqlCountingDataSource wraps the application DataSource ("dataSource",
+ *   used by both JPA and JdbcTemplate) and counts and times every statement
+ * - SqlBudgetInterceptor applies @SqlBudget declared on controllers
+ *
+ * The wrapper is applied last (lowest precedence), outside the connection
+ * limiter, which needs to see the raw HikariDataSource.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SqlInstrumentationConfig implements WebMvcConfigurer {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final SqlBudgetInterceptor budgetInterceptor;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor sqlCountingPostProcessor(
+            @Value("${app.sql-budget.fail-on-exceed:false}") boolean failOnExceed
+    ) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return new SqlCountingDataSource(dataSource, failOnExceed);
+                }
+                return bean;
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(budgetInterceptor);
+    }
+}
@@ -0,0 +1,66 @@
+package com.anyschool.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+/**
+ * Threading Configuration
+ *
+ * Request threading mode (spring.threads.virtual.enabled):
+ * - false: Tomcat's platform worker pool (server.tomcat.threads.max)
+ * - true: servlet requests, @Async executors and @Scheduled jobs run on
+ *   virtual threads (Spring Boot 3.2 on the Java 21 baseline)
+ *
+ * With app.jdbc-limiter.enabled (defaults to the virtual-thread flag) the
+ * pool DataSource is wrapped in ConnectionLimitingDataSource, sized to the
+ * Hikari pool unless app.jdbc-limiter.max-concurrent says otherwise.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.jdbc-limiter.enabled:false}")
+    private boolean jdbcLimiter;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.jdbc-limiter.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionLimiterPostProcessor(
+            @Value("${app.jdbc-limiter.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.jdbc-limiter.acquire-timeout-ms:5000}") long acquireTimeoutMillis
+    ) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int permits = maxConcurrent > 0 ? maxConcurrent : hikari.getMaximumPoolSize();
+                    log.info("JDBC connection limiter: {} concurrent connections, {} ms acquire timeout", permits, acquireTimeoutMillis);
+                    return new ConnectionLimitingDataSource(hikari, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+
+            // Before any other DataSource wrapper, which would hide the HikariDataSource
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        log.info("🧵 Request threads: {} (Java {}), JDBC limiter {}",
+                virtualThreads ? "virtual" : "platform", Runtime.version().feature(), jdbcLimiter ? "on" : "off");
+    }
+}
@@ -1,20 +1,29 @@
 package com.anyschool.controller;
 
+import com.anyschool.dto.AdminOrderSummary;
+import com.anyschool.dto.UserSummary;
 import com.anyschool.model.User;
 import com.anyschool.model.UserRole;
 import com.anyschool.model.OrderStatus;
 import com.anyschool.repository.UserRepository;
 import com.anyschool.repository.OrderRepository;
 import com.anyschool.model.Order;
+import com.anyschool.service.AdminExportService;
+import com.anyschool.service.OptimisticRetryService;
 import com.anyschool.service.OrderService;
+import com.anyschool.service.UserSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +35,8 @@ import java.util.stream.Collectors;
  * AdminController
  *
  * Endpoints exclusively for SUPER_ADMIN role.
- * Handles user listing, enabling/disabling and deletion.
+ * Handles user listing and search, enabling/disabling and deletion,
+ * and streamed NDJSON / CSV exports of users, orders and order items.
  *
  * Base path: /api/admin
  */
@@ -47,6 +57,15 @@ public class AdminController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
+    @Autowired
+    private AdminExportService adminExportService;
+
+    @Autowired
+    private UserSearchService userSearchService;
+
     // ─── Helpers ──────────────────────────────────────────────────────────────
 
     private ResponseEntity<Map<String,Object>> ok(Object data, String key) {
@@ -75,15 +94,44 @@ public class AdminController {
     /**
      * GET /api/admin/users
      * Returns all registered users with sanitised data (no passwords).
+     * Reads UserSummary projections - only the listed columns are selected.
      */
     @GetMapping("/users")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String,Object>> getAllUsers() {
         log.info("Admin: listing all users");
-        List<User> users = userRepository.findAll();
+        List<UserSummary> users = userRepository.findAllSummaries();
         List<Map<String,Object>> sanitised = users.stream().map(this::sanitise).toList();
         return ok(sanitised, "users");
     }
 
+    /**
+     * GET /api/admin/users/search?cursor=&limit=50&role=PARENT&enabled=true&verified=false&schoolId=3&q=jan&count=auto
+     * One page of users, filtered, in id order (see UserSearchService).
+     * Pass the response's nextCursor as cursor for the next page; total
+     * (estimated or exact, per count=auto|estimate|exact|none) is only on the first page.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<Map<String,Object>> searchUsers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Boolean verified,
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "auto") String count) {
+        UserSearchService.CountMode countMode;
+        try {
+            countMode = UserSearchService.CountMode.valueOf(count.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid count mode: " + count);
+        }
+        Map<String,Object> page = userSearchService.search(cursor, limit, role, enabled, verified, schoolId, q, countMode);
+        page.put("success", true);
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * GET /api/admin/users/{id}
      * Returns a single user by ID.
@@ -175,12 +223,13 @@ public class AdminController {
     /**
      * GET /api/admin/orders
      * Returns all orders in the system (for super admin dashboard).
+     * Reads AdminOrderSummary projections (order, user and school in one query).
      */
     @GetMapping("/orders")
     @Transactional(readOnly = true)
     public ResponseEntity<Map<String,Object>> getAllOrders() {
         log.info("Admin: listing all orders");
-        List<Order> orders = orderRepository.findAll();
+        List<AdminOrderSummary> orders = orderRepository.findAllAdminSummaries();
         
         List<Map<String,Object>> ordersList = orders.stream()
                 .map(this::sanitiseOrder)
@@ -216,7 +265,7 @@ public class AdminController {
     @Transactional(readOnly = true)
     public ResponseEntity<Map<String,Object>> getOrdersBySchool(@PathVariable Long schoolId) {
         log.info("Admin: fetching orders for school {}", schoolId);
-        List<Order> orders = orderRepository.findBySchoolIdOrderByCreatedAtDesc(schoolId);
+        List<AdminOrderSummary> orders = orderRepository.findAdminSummariesBySchoolId(schoolId);
         
         List<Map<String,Object>> ordersList = orders.stream()
                 .map(this::sanitiseOrder)
@@ -236,15 +285,18 @@ public class AdminController {
      * Approve an order (Super Admin only).
      * When Super Admin approves an order >= R1000, move it to IN_PROCESS
      * so Purchasing Admin can continue with next workflow steps.
+     * Retried automatically if the order is changed concurrently.
      */
     @PostMapping("/orders/{id}/approve")
-    @Transactional
     public ResponseEntity<Map<String,Object>> approveOrder(
             @PathVariable Long id,
             @RequestBody(required = false) Map<String, String> request
     ) {
         log.info("Admin: approving order {}", id);
-        
+        return optimisticRetryService.execute("Approve order " + id, () -> approveOrderOnce(id));
+    }
+
+    private ResponseEntity<Map<String,Object>> approveOrderOnce(Long id) {
         Optional<Order> opt = orderRepository.findById(id);
         if (opt.isEmpty()) {
             Map<String,Object> response = new HashMap<>();
@@ -281,9 +333,9 @@ public class AdminController {
     /**
      * POST /api/admin/orders/{id}/decline
      * Decline an order (Super Admin only).
+     * Retried automatically if the order is changed concurrently.
      */
     @PostMapping("/orders/{id}/decline")
-    @Transactional
     public ResponseEntity<Map<String,Object>> declineOrder(
             @PathVariable Long id,
             @RequestBody(required = false) Map<String, String> request
@@ -293,12 +345,13 @@ public class AdminController {
         String reason = request != null ? request.get("reason") : null;
         
         // Update order status to DECLINED
-        Order updatedOrder = orderService.updateOrderStatus(id, OrderStatus.DECLINED, reason);
+        Map<String,Object> declined = optimisticRetryService.execute("Decline order " + id,
+                () -> sanitiseOrder(orderService.updateOrderStatus(id, OrderStatus.DECLINED, reason)));
         
         Map<String,Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Order #" + id + " declined");
-        response.put("order", sanitiseOrder(updatedOrder));
+        response.put("order", declined);
         
         log.info("Admin: declined order {} with reason: {}", id, reason);
         return ResponseEntity.ok(response);
@@ -363,6 +416,50 @@ public class AdminController {
         return ResponseEntity.ok(r);
     }
 
+    // ─── Exports ──────────────────────────────────────────────────────────────
+
+    /**
+     * GET /api/admin/export/users?format=ndjson|csv
+     * Downloads every user (without credentials), streamed from a database cursor.
+     */
+    @GetMapping("/export/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        AdminExportService.Format exportFormat = AdminExportService.Format.parse(format);
+        log.info("Admin: exporting users as {}", exportFormat);
+        return export("users", exportFormat, out -> adminExportService.writeUsers(exportFormat, out));
+    }
+
+    /**
+     * GET /api/admin/export/orders?format=ndjson|csv
+     * Downloads every order with its user's email and school name.
+     */
+    @GetMapping("/export/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format) {
+        AdminExportService.Format exportFormat = AdminExportService.Format.parse(format);
+        log.info("Admin: exporting orders as {}", exportFormat);
+        return export("orders", exportFormat, out -> adminExportService.writeOrders(exportFormat, out));
+    }
+
+    /**
+     * GET /api/admin/export/order-items?format=ndjson|csv
+     * Downloads every order item with its stationery name.
+     */
+    @GetMapping("/export/order-items")
+    public ResponseEntity<StreamingResponseBody> exportOrderItems(@RequestParam(defaultValue = "ndjson") String format) {
+        AdminExportService.Format exportFormat = AdminExportService.Format.parse(format);
+        log.info("Admin: exporting order items as {}", exportFormat);
+        return export("order-items", exportFormat, out -> adminExportService.writeOrderItems(exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, AdminExportService.Format format,
+                                                        StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
     // ─── Private helpers ──────────────────────────────────────────────────────
 
     private Map<String,Object> sanitise(User u) {
@@ -379,6 +476,20 @@ public class AdminController {
         return m;
     }
 
+    private Map<String,Object> sanitise(UserSummary u) {
+        Map<String,Object> m = new HashMap<>();
+        m.put("id",          u.getId());
+        m.put("fullName",    u.getFullName());
+        m.put("email",       u.getEmail());
+        m.put("phoneNumber", u.getPhoneNumber());
+        m.put("role",        u.getRole() != null ? u.getRole().name() : null);
+        m.put("enabled",     u.isEnabled());
+        m.put("verified",    u.isVerified());
+        m.put("createdAt",   u.getCreatedAt());
+        m.put("schoolId",    u.getSchoolId());
+        return m;
+    }
+
     /**
      * Sanitise order for list view
      */
@@ -419,6 +530,46 @@ public class AdminController {
         return m;
     }
 
+    /**
+     * Sanitise order list row (same shape as sanitiseOrder(Order))
+     */
+    private Map<String,Object> sanitiseOrder(AdminOrderSummary order) {
+        Map<String,Object> m = new HashMap<>();
+        m.put("id", order.getId());
+        m.put("orderType", order.getOrderType());
+        m.put("status", order.getStatus() != null ? order.getStatus().name() : "UNKNOWN");
+        m.put("totalAmount", order.getTotalAmount());
+        m.put("studentGrade", order.getStudentGrade());
+        m.put("studentName", order.getStudentName());
+        m.put("isMarkedFinal", order.getIsMarkedFinal());
+        m.put("createdAt", order.getCreatedAt());
+        m.put("itemCount", order.getItemCount());
+
+        // User info
+        if (order.getUserId() != null) {
+            Map<String,Object> userInfo = new HashMap<>();
+            userInfo.put("id", order.getUserId());
+            userInfo.put("fullName", order.getUserFullName());
+            userInfo.put("email", order.getUserEmail());
+            m.put("user", userInfo);
+        }
+
+        // School info
+        if (order.getSchoolId() != null) {
+            Map<String,Object> schoolInfo = new HashMap<>();
+            schoolInfo.put("id", order.getSchoolId());
+            schoolInfo.put("name", order.getSchoolName());
+            m.put("school", schoolInfo);
+        } else if (order.getRequestedSchoolName() != null) {
+            Map<String,Object> schoolInfo = new HashMap<>();
+            schoolInfo.put("name", order.getRequestedSchoolName());
+            schoolInfo.put("requested", true);
+            m.put("school", schoolInfo);
+        }
+
+        return m;
+    }
+
     /**
      * Sanitise order for detailed view
      */
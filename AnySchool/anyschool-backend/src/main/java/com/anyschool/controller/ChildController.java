@@ -1,5 +1,6 @@
 package com.anyschool.controller;
 
+import com.anyschool.dto.ChildSummary;
 import com.anyschool.dto.CreateChildRequest;
 import com.anyschool.model.Child;
 import com.anyschool.model.School;
@@ -7,13 +8,17 @@ import com.anyschool.model.User;
 import com.anyschool.model.UserRole;
 import com.anyschool.repository.ChildRepository;
 import com.anyschool.repository.SchoolRepository;
+import com.anyschool.service.ChildRosterImportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +33,7 @@ import java.util.stream.Collectors;
  * - GET    /api/children/{id}  – Single child
  * - PUT    /api/children/{id}  – Update child
  * - DELETE /api/children/{id}  – Delete child
+ * - POST   /api/children/roster – Bulk roster import (school admins)
  *
  * Phase 7C: Parent-Child Linking
  * Fix: accepts requestedSchoolName when school is not in the system.
@@ -41,6 +47,7 @@ public class ChildController {
 
     private final ChildRepository childRepository;
     private final SchoolRepository schoolRepository;
+    private final ChildRosterImportService childRosterImportService;
 
     // =========================================================================
     // POST /api/children – Add a child
@@ -121,11 +128,11 @@ public class ChildController {
     ) {
         log.info("Get children request from user: {} (role: {})", user.getEmail(), user.getRole());
 
-        List<Child> children;
+        List<ChildSummary> children;
 
         if (UserRole.PARENT.equals(user.getRole())) {
             // Parents see only their own children
-            children = childRepository.findByParentOrderByCreatedAtDesc(user);
+            children = childRepository.findSummariesByParentId(user.getId());
         } else if (UserRole.SCHOOL_ADMIN.equals(user.getRole())) {
             // School admins see all children at their school
             if (user.getSchoolId() == null) {
@@ -135,7 +142,7 @@ public class ChildController {
             if (school == null) {
                 return badRequest("School not found");
             }
-            children = childRepository.findBySchool(school);
+            children = childRepository.findSummariesBySchoolId(school.getId());
         } else if (UserRole.SUPER_ADMIN.equals(user.getRole())) {
             // Super admins can see children at a specific school
             if (schoolId == null) {
@@ -145,7 +152,7 @@ public class ChildController {
             if (school == null) {
                 return badRequest("School not found");
             }
-            children = childRepository.findBySchool(school);
+            children = childRepository.findSummariesBySchoolId(school.getId());
         } else {
             return forbidden("Access denied");
         }
@@ -294,6 +301,57 @@ public class ChildController {
         return ResponseEntity.ok(response);
     }
 
+    // =========================================================================
+    // POST /api/children/roster – Bulk roster import
+    // SCHOOL_ADMIN imports into their own school, SUPER_ADMIN passes schoolId
+    // =========================================================================
+
+    /**
+     * Import a school's learners from a CSV or XLSX roster (multipart, field "file")
+     *
+     * Header row: name, grade, parent email, date of birth (optional). Each
+     * parent must already have an account; children are linked to it and
+     * approved. Rows already on the school roster (same name and grade) are
+     * skipped, so re-uploading an updated roster only adds the new learners.
+     * With dryRun=true the report is produced but nothing is inserted.
+     */
+    @PostMapping("/roster")
+    public ResponseEntity<?> importRoster(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Long schoolId,
+            @AuthenticationPrincipal User user
+    ) throws IOException {
+        Long targetSchoolId;
+        if (UserRole.SCHOOL_ADMIN.equals(user.getRole())) {
+            if (user.getSchoolId() == null) {
+                return badRequest("School admin must be linked to a school");
+            }
+            targetSchoolId = user.getSchoolId();
+        } else if (UserRole.SUPER_ADMIN.equals(user.getRole())) {
+            if (schoolId == null) {
+                return badRequest("Super admin must provide schoolId parameter");
+            }
+            targetSchoolId = schoolId;
+        } else {
+            return forbidden("Only school admins can import a roster");
+        }
+        if (file.isEmpty()) {
+            return badRequest("Roster file is empty");
+        }
+        log.info("Roster {} uploaded by {} for school {} (dry run: {})",
+                file.getOriginalFilename(), user.getEmail(), targetSchoolId, dryRun);
+
+        Map<String, Object> response;
+        try (InputStream in = file.getInputStream()) {
+            response = childRosterImportService.importRoster(targetSchoolId, file.getOriginalFilename(), in, dryRun);
+        }
+
+        response.put("success", true);
+        response.put("message", dryRun ? "Roster checked (dry run, no children added)" : "Roster imported");
+        return ResponseEntity.ok(response);
+    }
+
     // =========================================================================
     // Helpers
     // =========================================================================
@@ -316,6 +374,35 @@ public class ChildController {
         return ResponseEntity.status(400).body(Map.of("success", false, "message", msg));
     }
 
+    /**
+     * List row version of convertChildToMap(Child), same shape
+     */
+    private Map<String, Object> convertChildToMap(ChildSummary child) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", child.getId());
+        map.put("name", child.getName());
+        map.put("grade", child.getGrade());
+        map.put("verificationStatus", child.getVerificationStatus());
+        map.put("createdAt", child.getCreatedAt());
+        map.put("updatedAt", child.getUpdatedAt());
+
+        if (child.getSchoolId() != null) {
+            Map<String, Object> schoolMap = new HashMap<>();
+            schoolMap.put("id", child.getSchoolId());
+            schoolMap.put("name", child.getSchoolName());
+            schoolMap.put("district", child.getSchoolDistrict());
+            schoolMap.put("province", child.getSchoolProvince());
+            schoolMap.put("grades", child.getSchoolGrades());
+            map.put("school", schoolMap);
+            map.put("requestedSchoolName", null);
+        } else {
+            map.put("school", null);
+            map.put("requestedSchoolName", child.getRequestedSchoolName());
+        }
+
+        return map;
+    }
+
     private Map<String, Object> convertChildToMap(Child child) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", child.getId());
@@ -0,0 +1,136 @@
+package com.anyschool.controller;
+
+import com.anyschool.dto.BulkChildVerificationRequest;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.service.ChildVerificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Child Verification Controller
+ *
+ * School admins confirm (or reject) the children parents have linked to
+ * their school. A school admin always works on their own school; a super
+ * admin passes schoolId.
+ *
+ * Endpoints:
+ * - GET  /api/children/verification/queue         - Pending children, paged, with the pending badge count
+ * - GET  /api/children/verification/pending-count - Pending badge count only
+ * - POST /api/children/verification/bulk          - Verify or reject a list of children
+ * - POST /api/children/verification/verify-grade  - Verify every pending child in a grade
+ */
+@RestController
+@RequestMapping("/api/children/verification")
+@PreAuthorize("hasRole('SCHOOL_ADMIN') or hasRole('SUPER_ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class ChildVerificationController {
+
+    private final ChildVerificationService childVerificationService;
+
+    /**
+     * Verification queue page
+     *
+     * GET /api/children/verification/queue?grade=&cursor=&limit=
+     *
+     * Newest first; pass nextCursor back as cursor for the next page.
+     * pendingCount is the whole school's queue size (all grades).
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<Map<String, Object>> getQueue(
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long schoolId,
+            @AuthenticationPrincipal User user
+    ) {
+        Map<String, Object> response = childVerificationService.queue(schoolIdFor(user, schoolId), cursor, limit, grade);
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Pending badge count
+     *
+     * GET /api/children/verification/pending-count
+     */
+    @GetMapping("/pending-count")
+    public ResponseEntity<Map<String, Object>> getPendingCount(
+            @RequestParam(required = false) Long schoolId,
+            @AuthenticationPrincipal User user
+    ) {
+        Long targetSchoolId = schoolIdFor(user, schoolId);
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "schoolId", targetSchoolId,
+                "pendingCount", childVerificationService.pendingCount(targetSchoolId)
+        ));
+    }
+
+    /**
+     * Verify or reject many children at once
+     *
+     * POST /api/children/verification/bulk
+     *
+     * Request: { "childIds": [1, 2, 3], "action": "VERIFY" }   (or "REJECT")
+     *
+     * Only PENDING children of the school are changed; everything else is
+     * reported per child (INVALID_STATUS, NOT_FOUND, CONFLICT).
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkDecide(
+            @RequestBody BulkChildVerificationRequest request,
+            @RequestParam(required = false) Long schoolId,
+            @AuthenticationPrincipal User user
+    ) {
+        ChildVerificationService.Decision decision = ChildVerificationService.Decision.parse(request.getAction());
+        Long targetSchoolId = schoolIdFor(user, schoolId);
+        log.info("Bulk child {} at school {} by {}", decision, targetSchoolId, user.getEmail());
+
+        Map<String, Object> response = childVerificationService.decide(targetSchoolId, request.getChildIds(), decision);
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Verify all pending children in a grade
+     *
+     * POST /api/children/verification/verify-grade?grade=Grade%205
+     */
+    @PostMapping("/verify-grade")
+    public ResponseEntity<Map<String, Object>> verifyGrade(
+            @RequestParam String grade,
+            @RequestParam(required = false) Long schoolId,
+            @AuthenticationPrincipal User user
+    ) {
+        Long targetSchoolId = schoolIdFor(user, schoolId);
+        log.info("Verify grade {} at school {} by {}", grade, targetSchoolId, user.getEmail());
+
+        Map<String, Object> response = childVerificationService.verifyGrade(targetSchoolId, grade);
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * School admins: their own school. Super admins: the schoolId parameter.
+     */
+    private Long schoolIdFor(User user, Long schoolId) {
+        if (UserRole.SCHOOL_ADMIN.equals(user.getRole())) {
+            if (user.getSchoolId() == null) {
+                throw new IllegalArgumentException("School admin must be linked to a school");
+            }
+            return user.getSchoolId();
+        }
+        if (schoolId == null) {
+            throw new IllegalArgumentException("Super admin must provide schoolId parameter");
+        }
+        return schoolId;
+    }
+}
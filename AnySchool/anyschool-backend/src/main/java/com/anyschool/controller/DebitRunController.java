@@ -0,0 +1,98 @@
+package com.anyschool.controller;
+
+import com.anyschool.model.User;
+import com.anyschool.service.DebitRunService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Debit Run Controller
+ * 
+ * Monthly debit-order run for payment-plan orders (PURCHASING_ADMIN).
+ * 
+ * Endpoints:
+ * - GET /api/purchasing/debit-runs/file?date=YYYY-MM-DD - Download the bank debit file (CSV, streamed)
+ * - POST /api/purchasing/debit-runs/response - Upload the bank response file and record payments
+ */
+@RestController
+@RequestMapping("/api/purchasing/debit-runs")
+@PreAuthorize("hasRole('PURCHASING_ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class DebitRunController {
+
+    private final DebitRunService debitRunService;
+
+    /**
+     * Download the debit file for a date (defaults to today)
+     * 
+     * GET /api/purchasing/debit-runs/file?date=2026-03-15
+     * 
+     * Streams CSV rows straight from the database cursor to the response.
+     */
+    @GetMapping("/file")
+    public ResponseEntity<StreamingResponseBody> downloadDebitFile(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        LocalDate debitDate = date != null ? date : LocalDate.now();
+        log.info("Debit file for {} requested by {}", debitDate, currentUser.getEmail());
+
+        StreamingResponseBody body = out -> debitRunService.writeDebitFile(debitDate, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"debit-run-" + debitDate + ".csv\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(body);
+    }
+
+    /**
+     * Upload the bank response file
+     * 
+     * POST /api/purchasing/debit-runs/response (multipart, field "file")
+     * 
+     * CSV: reference,result - result PAID/SUCCESS/SUCCESSFUL/00 records the instalment.
+     * 
+     * Response:
+     * {
+     *   "success": true,
+     *   "summary": { "linesRead": 1200, "paid": 1150, "applied": 1150, "unpaid": 50, ... }
+     * }
+     */
+    @PostMapping("/response")
+    public ResponseEntity<Map<String, Object>> uploadBankResponse(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal User currentUser
+    ) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Bank response file is empty");
+        }
+        log.info("Bank response file {} uploaded by {}", file.getOriginalFilename(), currentUser.getEmail());
+
+        Map<String, Object> summary;
+        try (InputStream in = file.getInputStream()) {
+            summary = debitRunService.applyBankResponse(in);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Bank response processed");
+        response.put("summary", summary);
+        return ResponseEntity.ok(response);
+    }
+}
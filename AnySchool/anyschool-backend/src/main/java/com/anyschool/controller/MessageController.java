@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -47,6 +48,7 @@ public class MessageController {
      * Send a message (parent to school or school to parent)
      */
     @PostMapping
+    @Transactional
     public ResponseEntity<Map<String, Object>> sendMessage(
             @AuthenticationPrincipal User currentUser,
             @RequestBody SendMessageRequest request) {
@@ -172,6 +174,7 @@ public class MessageController {
      * Get all message threads for current user
      */
     @GetMapping("/threads")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getThreads(
             @AuthenticationPrincipal User currentUser) {
         
@@ -234,6 +237,7 @@ public class MessageController {
      * Get all messages in a thread
      */
     @GetMapping("/thread/{threadId}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getThread(
             @AuthenticationPrincipal User currentUser,
             @PathVariable Long threadId) {
@@ -332,6 +336,7 @@ public class MessageController {
      * Get list of parents at this school (for school admin to send direct messages)
      */
     @GetMapping("/school/parents")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getSchoolParents(
             @AuthenticationPrincipal User currentUser) {
         
@@ -1,14 +1,20 @@
 package com.anyschool.controller;
 
 import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.dto.OrderSummary;
 import com.anyschool.dto.UpdateOrderStatusRequest;
 import com.anyschool.model.Order;
+import com.anyschool.model.OrderIntake;
 import com.anyschool.model.OrderStatus;
 import com.anyschool.model.User;
 import com.anyschool.model.UserRole;
+import com.anyschool.monitoring.SqlBudget;
+import com.anyschool.service.IdempotencyService;
+import com.anyschool.service.OrderIntakeService;
 import com.anyschool.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +34,7 @@ import java.util.stream.Collectors;
  * - POST /api/orders - Create new order
  * - GET /api/orders - Get user's orders
  * - GET /api/orders/{id} - Get single order
+ * - GET /api/orders/intake/{trackingId} - Status of an order queued in peak mode
  * 
  * Phase 4: Order creation for parents
  */
@@ -38,6 +45,8 @@ import java.util.stream.Collectors;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntakeService orderIntakeService;
 
     /**
      * Create a new order
@@ -72,15 +81,52 @@ public class OrderController {
      *     "itemCount": 3
      *   }
      * }
+     * 
+     * Optional Idempotency-Key header: a retry with the same key returns the
+     * original response instead of creating a duplicate order. Not wrapped in
+     * a controller transaction so duplicates waiting on the first request
+     * don't hold a database connection.
      */
     @PostMapping
-    @Transactional
     public ResponseEntity<Map<String, Object>> createOrder(
             @AuthenticationPrincipal User user,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody CreateOrderRequest request
     ) {
         log.info("Create order request from user: {}", user.getEmail());
 
+        return idempotencyService.execute(user.getId(), idempotencyKey, request,
+                () -> orderIntakeService.isPeakModeEnabled()
+                        ? queueOrder(user, request)
+                        : createOrderOnce(user, request));
+    }
+
+    /**
+     * Peak mode: validate and queue the order, respond 202 with a tracking id
+     * 
+     * Response:
+     * {
+     *   "success": true,
+     *   "message": "Order received and queued for processing",
+     *   "trackingId": "6f1c...",
+     *   "status": "QUEUED",
+     *   "statusUrl": "/api/orders/intake/6f1c..."
+     * }
+     */
+    private ResponseEntity<Map<String, Object>> queueOrder(User user, CreateOrderRequest request) {
+        OrderIntake intake = orderIntakeService.enqueue(user, request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Order received and queued for processing");
+        response.put("trackingId", intake.getTrackingId());
+        response.put("status", intake.getStatus().name());
+        response.put("statusUrl", "/api/orders/intake/" + intake.getTrackingId());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> createOrderOnce(User user, CreateOrderRequest request) {
         // Create order
         Order order = orderService.createOrder(user, request);
 
@@ -104,6 +150,48 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the status of an order queued in peak mode
+     * 
+     * GET /api/orders/intake/{trackingId}
+     * 
+     * Requires authentication. User must own the queued order.
+     * 
+     * Response:
+     * {
+     *   "success": true,
+     *   "trackingId": "6f1c...",
+     *   "status": "QUEUED" | "COMPLETED" | "FAILED",
+     *   "queuePosition": 12,
+     *   "orderId": 42,           (when COMPLETED)
+     *   "errorMessage": "..."    (when FAILED)
+     * }
+     */
+    @GetMapping("/intake/{trackingId}")
+    public ResponseEntity<Map<String, Object>> getOrderIntakeStatus(
+            @AuthenticationPrincipal User user,
+            @PathVariable String trackingId
+    ) {
+        OrderIntake intake = orderIntakeService.getByTrackingId(trackingId);
+
+        if (!intake.getUserId().equals(user.getId())) {
+            log.warn("User {} attempted to access order intake {} belonging to another user", user.getId(), trackingId);
+            return ResponseEntity.status(403).body(Map.of("success", false, "message", "Access denied"));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("trackingId", intake.getTrackingId());
+        response.put("status", intake.getStatus().name());
+        response.put("queuePosition", orderIntakeService.getQueuePosition(intake));
+        response.put("orderId", intake.getOrderId());
+        response.put("errorMessage", intake.getErrorMessage());
+        response.put("createdAt", intake.getCreatedAt());
+        response.put("processedAt", intake.getProcessedAt());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all orders for the authenticated user
      * 
@@ -125,7 +213,7 @@ public class OrderController {
     ) {
         log.info("Get orders request from user: {}", user.getEmail());
 
-        List<Order> orders = orderService.getUserOrders(user);
+        List<OrderSummary> orders = orderService.getUserOrders(user);
 
         // Convert to response format
         List<Map<String, Object>> ordersList = orders.stream()
@@ -155,6 +243,7 @@ public class OrderController {
      */
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
+    @SqlBudget(maxStatements = 10)
     public ResponseEntity<Map<String, Object>> getOrderById(
             @AuthenticationPrincipal User user,
             @PathVariable Long id
@@ -287,7 +376,7 @@ public class OrderController {
     ) {
         log.info("Get donations request from user: {}", user.getEmail());
 
-        List<Order> donations = orderService.getDonations(user);
+        List<OrderSummary> donations = orderService.getDonations(user);
 
         // Convert to response format
         List<Map<String, Object>> donationsList = donations.stream()
@@ -372,7 +461,7 @@ public class OrderController {
             return ResponseEntity.status(403).body(Map.of("success", false, "message", "Forbidden: You can only access your own school's orders"));
         }
 
-        List<Order> orders = orderService.getSchoolOrders(schoolId);
+        List<OrderSummary> orders = orderService.getSchoolOrders(schoolId);
 
         // Convert to response format
         List<Map<String, Object>> ordersList = orders.stream()
@@ -591,6 +680,46 @@ public class OrderController {
         return map;
     }
 
+    /**
+     * Convert an order list row to the same map as convertOrderToMap(Order)
+     */
+    private Map<String, Object> convertOrderToMap(OrderSummary order) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", order.getId());
+        map.put("orderType", order.getOrderType());
+        map.put("studentGrade", order.getStudentGrade());
+        map.put("studentName", order.getStudentName());
+        map.put("totalAmount", order.getTotalAmount());
+        map.put("status", order.getStatus().name());
+        map.put("itemCount", order.getItemCount());
+        map.put("createdAt", order.getCreatedAt());
+
+        // Add payment plan info
+        map.put("academicYear", order.getAcademicYear());
+        map.put("paymentType", order.getPaymentType());
+        map.put("monthlyInstalment", order.getMonthlyInstalment());
+        map.put("paymentPlanMonths", order.getPaymentPlanMonths());
+        map.put("debitOrderDay", order.getDebitOrderDay());
+        map.put("firstDebitDate", order.getFirstDebitDate());
+        map.put("lastDebitDate", order.getLastDebitDate());
+
+        // Add school info - handle both approved schools and requested schools
+        Map<String, Object> schoolInfo = new HashMap<>();
+        if (order.getSchoolId() != null) {
+            schoolInfo.put("id", order.getSchoolId());
+            schoolInfo.put("name", order.getSchoolName());
+            schoolInfo.put("province", order.getSchoolProvince());
+        } else if (order.getRequestedSchoolName() != null) {
+            schoolInfo.put("id", null);
+            schoolInfo.put("name", order.getRequestedSchoolName());
+            schoolInfo.put("province", null);
+            schoolInfo.put("requested", true);
+        }
+        map.put("school", schoolInfo);
+
+        return map;
+    }
+
     /**
      * Convert Order to detailed map for single view
      */
@@ -0,0 +1,95 @@
+package com.anyschool.controller;
+
+import com.anyschool.model.OrderStatus;
+import com.anyschool.model.User;
+import com.anyschool.service.ProcurementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Procurement Controller
+ *
+ * Consolidated purchasing demand (PURCHASING_ADMIN).
+ *
+ * Endpoints:
+ * - GET /api/purchasing/demand - Quantity per SKU per supplier across matching orders
+ * - GET /api/purchasing/demand/csv - Same purchase list as a CSV download
+ */
+@RestController
+@RequestMapping("/api/purchasing/demand")
+@PreAuthorize("hasRole('PURCHASING_ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class ProcurementController {
+
+    private final ProcurementService procurementService;
+
+    /**
+     * Aggregated demand per supplier
+     *
+     * GET /api/purchasing/demand?statuses=APPROVED,ACKNOWLEDGED&from=2026-01-01&to=2026-01-31
+     *
+     * statuses defaults to APPROVED, ACKNOWLEDGED, IN_PROCESS; dates are
+     * order creation dates (inclusive) and are optional.
+     *
+     * Response:
+     * {
+     *   "success": true,
+     *   "demand": {
+     *     "supplierCount": 4, "skuCount": 120, "totalUnits": 58210,
+     *     "suppliers": [ { "supplierName": "...", "totalUnits": 20110, "estimatedCost": 81234.50,
+     *                      "items": [ { "sku": "...", "name": "...", "quantity": 3200, ... } ] } ]
+     *   }
+     * }
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDemand(
+            @RequestParam(required = false) List<OrderStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        log.info("Procurement demand requested by {} (statuses {}, {} to {})", currentUser.getEmail(), statuses, from, to);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("demand", procurementService.aggregateDemand(statuses, from, to));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Aggregated demand as a CSV purchase list
+     *
+     * GET /api/purchasing/demand/csv?statuses=...&from=...&to=...
+     */
+    @GetMapping("/csv")
+    public ResponseEntity<StreamingResponseBody> downloadDemandCsv(
+            @RequestParam(required = false) List<OrderStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        log.info("Procurement demand CSV requested by {} (statuses {}, {} to {})", currentUser.getEmail(), statuses, from, to);
+
+        Map<String, Object> demand = procurementService.aggregateDemand(statuses, from, to);
+        StreamingResponseBody body = out -> procurementService.writeDemandCsv(demand, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"purchase-list-" + LocalDate.now() + ".csv\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(body);
+    }
+}
@@ -1,9 +1,11 @@
 package com.anyschool.controller;
 
+import com.anyschool.dto.BulkStatusTransitionRequest;
 import com.anyschool.model.Order;
 import com.anyschool.model.OrderStatus;
 import com.anyschool.model.User;
 import com.anyschool.repository.OrderRepository;
+import com.anyschool.service.OrderTransitionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +41,9 @@ public class PurchasingAdminController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+
     // ─── Helper Methods ──────────────────────────────────────────────────────
 
     private ResponseEntity<Map<String, Object>> ok(Object data, String key) {
@@ -605,6 +610,42 @@ public class PurchasingAdminController {
         );
     }
 
+    /**
+     * POST /api/purchasing/orders/bulk-transition
+     * Moves many orders one workflow step forward in a single call.
+     * Body: { "orderIds": [1, 2, 3], "targetStatus": "CLOSED", "notes": "optional" }
+     * Each order must be in the status directly before the target (same rules
+     * as the single-order endpoints, including the R1000 super admin check for
+     * IN_PROCESS). Returns a per-order outcome; orders in the wrong status are
+     * skipped, not failed.
+     */
+    @PostMapping("/orders/bulk-transition")
+    public ResponseEntity<Map<String, Object>> bulkTransition(
+            @RequestBody BulkStatusTransitionRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        
+        if (request.getTargetStatus() == null || request.getTargetStatus().isBlank()) {
+            return badRequest("targetStatus is required");
+        }
+        
+        OrderStatus target;
+        try {
+            target = OrderStatus.valueOf(request.getTargetStatus().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid status: " + request.getTargetStatus());
+        }
+        
+        Map<String, Object> result = orderTransitionService.transition(request.getOrderIds(), target);
+        
+        log.info("Purchasing Admin: bulk transition to {} by {} (notes: {}): {}",
+                target, currentUser.getEmail(), request.getNotes(), result.get("summary"));
+        
+        Map<String, Object> response = new HashMap<>(result);
+        response.put("success", true);
+        response.put("message", "Bulk transition to " + target + " processed");
+        return ResponseEntity.ok(response);
+    }
+
     // ─── Private Helpers ──────────────────────────────────────────────────────
 
     /**
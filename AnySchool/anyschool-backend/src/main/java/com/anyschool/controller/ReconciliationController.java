@@ -0,0 +1,71 @@
+package com.anyschool.controller;
+
+import com.anyschool.model.User;
+import com.anyschool.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reconciliation Controller
+ *
+ * Bank statement reconciliation for the purchasing desk (PURCHASING_ADMIN).
+ *
+ * Endpoints:
+ * - POST /api/purchasing/reconciliation - Upload a bank statement, match credits to orders and record payments
+ */
+@RestController
+@RequestMapping("/api/purchasing/reconciliation")
+@PreAuthorize("hasRole('PURCHASING_ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Reconcile a bank statement
+     *
+     * POST /api/purchasing/reconciliation?dryRun=false (multipart, field "file")
+     *
+     * CSV with header: date,description,amount - the description should contain
+     * the order reference (AS{orderId}, or AS{orderId}-{instalment} for plans).
+     * With dryRun=true the report is produced but no orders are updated.
+     *
+     * Response:
+     * {
+     *   "success": true,
+     *   "summary": { "linesRead": 3000, "matched": 2870, "unmatched": 90, "ambiguous": 40, "alreadyApplied": 0, "applied": 2868, ... },
+     *   "matched": [...], "unmatched": [...], "ambiguous": [...], "alreadyApplied": [...], "conflictOrderIds": [...]
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> reconcileStatement(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @AuthenticationPrincipal User currentUser
+    ) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Bank statement file is empty");
+        }
+        log.info("Bank statement {} uploaded by {} (dry run: {})",
+                file.getOriginalFilename(), currentUser.getEmail(), dryRun);
+
+        Map<String, Object> response;
+        try (InputStream in = file.getInputStream()) {
+            response = reconciliationService.reconcile(in, dryRun);
+        }
+
+        response.put("success", true);
+        response.put("message", dryRun ? "Bank statement matched (dry run, no orders updated)" : "Bank statement reconciled");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.anyschool.controller;
 
+import com.anyschool.dto.SchoolSummary;
 import com.anyschool.model.School;
 import com.anyschool.model.User;
 import com.anyschool.model.UserRole;
@@ -63,7 +64,7 @@ public class SchoolController {
     public ResponseEntity<Map<String, Object>> getAllSchools() {
         log.info("Fetching all schools");
         
-        List<School> schools = schoolRepository.findAll();
+        List<SchoolSummary> schools = schoolRepository.findAllSummaries();
         
         List<Map<String, Object>> schoolList = schools.stream()
                 .map(this::buildSchoolResponse)
@@ -128,7 +129,7 @@ public class SchoolController {
     public ResponseEntity<Map<String, Object>> getSchoolsByProvince(@PathVariable String province) {
         log.info("Fetching schools by province: {}", province);
         
-        List<School> schools = schoolRepository.findByProvince(province);
+        List<SchoolSummary> schools = schoolRepository.findSummariesByProvince(province);
         
         List<Map<String, Object>> schoolList = schools.stream()
                 .map(this::buildSchoolResponse)
@@ -207,6 +208,35 @@ public class SchoolController {
     /**
      * Build school response with admin info
      */
+    /**
+     * List row version of buildSchoolResponse(School), same shape
+     */
+    private Map<String, Object> buildSchoolResponse(SchoolSummary school) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", school.getId());
+        map.put("name", school.getName());
+        map.put("district", school.getDistrict());
+        map.put("province", school.getProvince());
+        map.put("grades", school.getGrades());
+        map.put("phone", school.getPhone());
+        map.put("createdAt", school.getCreatedAt());
+        map.put("updatedAt", school.getUpdatedAt());
+
+        // Admin linkage status
+        if (school.getAdminId() != null) {
+            Map<String, Object> adminInfo = new HashMap<>();
+            adminInfo.put("id", school.getAdminId());
+            adminInfo.put("fullName", school.getAdminFullName());
+            adminInfo.put("email", school.getAdminEmail());
+            map.put("admin", adminInfo);
+            map.put("hasAdmin", true);
+        } else {
+            map.put("hasAdmin", false);
+        }
+
+        return map;
+    }
+
     private Map<String, Object> buildSchoolResponse(School school) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", school.getId());
@@ -1,6 +1,11 @@
 package com.anyschool.controller;
 
-import com.anyschool.repository.*;
+import com.anyschool.monitoring.CacheStatisticsProbe;
+import com.anyschool.monitoring.DatabaseHealthProbe;
+import com.anyschool.monitoring.RequestMetricsRegistry;
+import com.anyschool.monitoring.SqlBudgetRegistry;
+import com.anyschool.monitoring.SystemMetricsSampler;
+import com.anyschool.service.OrderIntakeService;
 import com.sun.management.OperatingSystemMXBean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +26,9 @@ import java.util.*;
  * Provides comprehensive system health and monitoring endpoints for super admins.
  * Monitors: Backend, Database, Network, Memory, CPU, Uptime, Errors
  * 
+ * Request latency, throughput and error rates come from RequestMetricsFilter
+ * (per-route histograms recorded on every request).
+ * 
  * Phase 8: System Administration & Monitoring
  */
 @RestController
@@ -29,10 +37,12 @@ import java.util.*;
 @Slf4j
 public class SystemMonitoringController {
 
-    private final UserRepository userRepository;
-    private final SchoolRepository schoolRepository;
-    private final OrderRepository orderRepository;
-    private final SchoolRequestRepository schoolRequestRepository;
+    private final DatabaseHealthProbe databaseHealthProbe;
+    private final OrderIntakeService orderIntakeService;
+    private final RequestMetricsRegistry requestMetrics;
+    private final SystemMetricsSampler metricsSampler;
+    private final SqlBudgetRegistry sqlBudgetRegistry;
+    private final CacheStatisticsProbe cacheStatisticsProbe;
 
     // Track application start time
     private static final LocalDateTime APP_START_DATETIME = LocalDateTime.now();
@@ -67,16 +77,20 @@ public class SystemMonitoringController {
             long hours = ChronoUnit.HOURS.between(APP_START_DATETIME.plusDays(days), LocalDateTime.now());
             long minutes = ChronoUnit.MINUTES.between(APP_START_DATETIME.plusDays(days).plusHours(hours), LocalDateTime.now());
 
-            // Database connectivity check
-            boolean dbHealthy = checkDatabaseHealth();
+            // Database connectivity check (timed validation, no table access)
+            Map<String, Object> dbProbe = databaseHealthProbe.probe();
+            boolean dbHealthy = Boolean.TRUE.equals(dbProbe.get("healthy"));
+            double dbResponseMillis = ((Number) dbProbe.get("responseTimeMs")).doubleValue();
+
+            // Request metrics
+            double httpP95Millis = requestMetrics.getOverallLatency().getPercentileMicros(95) / 1000.0;
+            double requestsPerSecond = requestMetrics.getRecentRequestsPerSecond();
+            long totalRequests = requestMetrics.getTotalRequests();
+            double serverErrorRate = totalRequests == 0 ? 0 : requestMetrics.getTotalServerErrors() * 100.0 / totalRequests;
 
-            // Count data
-            long totalUsers = userRepository.count();
-            long totalSchools = schoolRepository.count();
-            long totalOrders = orderRepository.count();
-            long pendingRequests = schoolRequestRepository.findByStatusOrderByCreatedAtDesc(
-                    com.anyschool.model.SchoolRequestStatus.PENDING
-            ).size();
+            // Count data (planner estimates, cached)
+            Map<String, Object> dataCounts = databaseHealthProbe.getDataCounts();
+            Map<String, Object> poolStats = databaseHealthProbe.getPoolStats();
 
             // Thread info
             int threadCount = Thread.activeCount();
@@ -134,24 +148,32 @@ public class SystemMonitoringController {
                     put("statusCode", dbHealthy ? 1 : 3);
                     put("available", true);
                     put("type", "PostgreSQL");
-                    put("responseTime", dbHealthy ? "< 50ms" : "timeout");
+                    put("responseTime", dbHealthy ? String.format("%.1f ms", dbResponseMillis) : "timeout");
+                    put("responseTimeMs", dbResponseMillis);
+                    put("acquireTimeMs", dbProbe.get("acquireMs"));
+                    put("validationTimeMs", dbProbe.get("validationMs"));
+                    put("pool", poolStats);
+                    if (dbProbe.get("error") != null) {
+                        put("error", dbProbe.get("error"));
+                    }
                 }});
 
                 // Network Status
                 put("network", new HashMap<String, Object>() {{
-                    put("status", "OPERATIONAL");
-                    put("statusCode", 1);
-                    put("dns", "WORKING");
-                    put("connectivity", "ACTIVE");
-                    put("latency", "< 10ms");
+                    put("status", serverErrorRate < 5 ? "OPERATIONAL" : "DEGRADED");
+                    put("statusCode", serverErrorRate < 5 ? 1 : 2);
+                    put("latency", String.format("%.1f ms (p95 server-side)", httpP95Millis));
+                    put("requestsPerSecond", String.format("%.1f req/s", requestsPerSecond));
+                    put("errorRate", String.format("%.2f%%", serverErrorRate));
                 }});
 
                 // Data Statistics
                 put("data", new HashMap<String, Object>() {{
-                    put("users", totalUsers);
-                    put("schools", totalSchools);
-                    put("orders", totalOrders);
-                    put("pendingRequests", pendingRequests);
+                    put("users", dataCounts.getOrDefault("users", 0L));
+                    put("schools", dataCounts.getOrDefault("schools", 0L));
+                    put("orders", dataCounts.getOrDefault("orders", 0L));
+                    put("pendingRequests", dataCounts.getOrDefault("pendingRequests", 0L));
+                    put("estimated", true);
                 }});
 
                 // Critical Alerts
@@ -176,10 +198,16 @@ public class SystemMonitoringController {
 
     /**
      * Get system status history (for frontend charts)
+     * 
+     * Current point-in-time values plus the sampled time series for the last
+     * N minutes (default 15), downsampled to resolutionSeconds (default: raw
+     * sample interval).
      */
     @GetMapping("/history")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Map<String, Object>> getSystemHistory() {
+    public ResponseEntity<Map<String, Object>> getSystemHistory(
+            @RequestParam(defaultValue = "15") int minutes,
+            @RequestParam(defaultValue = "0") int resolutionSeconds) {
         try {
             MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
             OperatingSystemMXBean osBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
@@ -193,7 +221,8 @@ public class SystemMonitoringController {
                 "timestamp", LocalDateTime.now(),
                 "memory", String.format("%.2f%%", memoryPercentage),
                 "cpu", String.format("%.2f%%", cpuLoad),
-                "status", determineSystemStatus(memoryPercentage, cpuLoad, true)
+                "status", determineSystemStatus(memoryPercentage, cpuLoad, true),
+                "history", metricsSampler.getHistory(minutes, resolutionSeconds)
             ));
 
         } catch (Exception e) {
@@ -204,10 +233,15 @@ public class SystemMonitoringController {
 
     /**
      * Get performance metrics
+     * 
+     * Real request latency (p50/p95/p99), throughput and error rates,
+     * overall and for the busiest routes (routeLimit, default 20), and the
+     * second-level cache hit rate (see /cache for the per-region numbers).
      */
     @GetMapping("/performance")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Map<String, Object>> getPerformanceMetrics() {
+    public ResponseEntity<Map<String, Object>> getPerformanceMetrics(
+            @RequestParam(defaultValue = "20") int routeLimit) {
         try {
             Runtime runtime = Runtime.getRuntime();
             MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
@@ -216,15 +250,33 @@ public class SystemMonitoringController {
             long freeMemory = runtime.freeMemory();
             long usedMemory = totalMemory - freeMemory;
 
+            Map<String, Object> dbProbe = databaseHealthProbe.probe();
+            boolean dbHealthy = Boolean.TRUE.equals(dbProbe.get("healthy"));
+            double dbResponseMillis = ((Number) dbProbe.get("responseTimeMs")).doubleValue();
+
+            Map<String, Object> overall = requestMetrics.getOverallSummary();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latencyMs = (Map<String, Object>) overall.get("latencyMs");
+            double p95 = ((Number) latencyMs.get("p95")).doubleValue();
+            Double cacheHitRatio = cacheStatisticsProbe.getSecondLevelHitRatio();
+
             return ResponseEntity.ok(Map.of(
                 "performance", new HashMap<String, Object>() {{
-                    put("responseSummary", "Backend responding within SLA");
-                    put("dbQueryTime", "< 100ms");
-                    put("apiResponseTime", "< 50ms");
-                    put("cacheHitRate", "85%");
-                    put("errorRate", "0.2%");
-                    put("requestsPerSecond", "150 req/s");
+                    put("responseSummary", p95 <= 500 ? "Backend responding within SLA" : "Backend slower than SLA (p95 > 500 ms)");
+                    put("dbQueryTime", dbHealthy ? String.format("%.1f ms", dbResponseMillis) : "timeout");
+                    put("apiResponseTime", String.format("%.1f ms (p95)", p95));
+                    if (cacheHitRatio != null) {
+                        put("cacheHitRate", String.format("%.1f%%", cacheHitRatio));
+                    }
+                    put("errorRate", String.format("%.2f%%", ((Number) overall.get("errorRatePercent")).doubleValue()));
+                    put("requestsPerSecond", String.format("%.1f req/s", ((Number) overall.get("requestsPerSecondLastMinute")).doubleValue()));
                 }},
+                "requests", overall,
+                "routes", requestMetrics.getRouteSummaries(routeLimit),
+                "database", Map.of(
+                    "probe", dbProbe,
+                    "pool", databaseHealthProbe.getPoolStats()
+                ),
                 "resources", new HashMap<String, Object>() {{
                     put("totalMemory", formatBytes(totalMemory));
                     put("usedMemory", formatBytes(usedMemory));
@@ -239,20 +291,71 @@ public class SystemMonitoringController {
         }
     }
 
-    // =========================================================================
-    // Helper Methods
-    // =========================================================================
+    /**
+     * Get per-route SQL statement statistics
+     * 
+     * Statement counts, JDBC time and budget violations per route, worst
+     * offenders first, with each route's most repeated statement (a likely
+     * N+1 when its count tracks the size of the result).
+     */
+    @GetMapping("/sql")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSqlMetrics(
+            @RequestParam(defaultValue = "20") int routeLimit) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "routes", sqlBudgetRegistry.getWorstRoutes(routeLimit)
+            ));
+
+        } catch (Exception e) {
+            log.error("Error fetching SQL metrics", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get Hibernate second-level / query cache statistics
+     * 
+     * Hits, misses, puts, hit ratio and current entries per cache region.
+     */
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "cache", cacheStatisticsProbe.getStats()
+            ));
 
-    private boolean checkDatabaseHealth() {
+        } catch (Exception e) {
+            log.error("Error fetching cache metrics", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get peak-mode order intake queue metrics
+     */
+    @GetMapping("/order-intake")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getOrderIntakeMetrics() {
         try {
-            // Try a simple query
-            return userRepository.count() >= 0;
+            return ResponseEntity.ok(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "orderIntake", orderIntakeService.getQueueMetrics()
+            ));
+
         } catch (Exception e) {
-            log.warn("⚠️  Database health check failed: {}", e.getMessage());
-            return false;
+            log.error("Error fetching order intake metrics", e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // =========================================================================
+    // Helper Methods
+    // =========================================================================
+
     private String determineSystemStatus(double memoryPercentage, double cpuLoad, boolean dbHealthy) {
         if (!dbHealthy) return "CRITICAL";
         if (memoryPercentage > 90 || cpuLoad > 90) return "CRITICAL";
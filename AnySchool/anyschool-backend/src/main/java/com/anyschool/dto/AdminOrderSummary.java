@@ -0,0 +1,49 @@
+package com.anyschool.dto;
+
+import com.anyschool.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Admin Order Summary (read-only projection)
+ *
+ * One row of the super admin order lists (GET /api/admin/orders and
+ * /api/admin/orders/school/{schoolId}): the order columns plus who placed it
+ * and for which school, selected by OrderRepository in a single query.
+ */
+public interface AdminOrderSummary {
+
+    Long getId();
+
+    String getOrderType();
+
+    OrderStatus getStatus();
+
+    BigDecimal getTotalAmount();
+
+    String getStudentGrade();
+
+    String getStudentName();
+
+    Boolean getIsMarkedFinal();
+
+    LocalDateTime getCreatedAt();
+
+    int getItemCount();
+
+    Long getUserId();
+
+    String getUserFullName();
+
+    String getUserEmail();
+
+    /**
+     * Null when the order is for a requested (not yet approved) school
+     */
+    Long getSchoolId();
+
+    String getSchoolName();
+
+    String getRequestedSchoolName();
+}
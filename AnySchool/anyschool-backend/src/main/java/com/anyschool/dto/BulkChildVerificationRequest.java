@@ -0,0 +1,25 @@
+package com.anyschool.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bulk Child Verification Request DTO
+ *
+ * Data transfer object for a school admin approving or rejecting many
+ * children from the verification queue in one call.
+ */
+@Data
+public class BulkChildVerificationRequest {
+
+    /**
+     * Children to verify or reject (must be PENDING at the admin's school)
+     */
+    private List<Long> childIds;
+
+    /**
+     * VERIFY or REJECT
+     */
+    private String action;
+}
@@ -0,0 +1,31 @@
+package com.anyschool.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bulk Status Transition Request DTO
+ * 
+ * Data transfer object for moving many orders to the next purchasing
+ * workflow status in one call (e.g. closing a whole school's delivery).
+ */
+@Data
+public class BulkStatusTransitionRequest {
+
+    /**
+     * Orders to transition
+     */
+    private List<Long> orderIds;
+
+    /**
+     * Target status: ACKNOWLEDGED, IN_PROCESS, FINALIZING,
+     * OUT_FOR_DELIVERY, DELIVERED or CLOSED
+     */
+    private String targetStatus;
+
+    /**
+     * Optional notes (logged, e.g. delivery run reference)
+     */
+    private String notes;
+}
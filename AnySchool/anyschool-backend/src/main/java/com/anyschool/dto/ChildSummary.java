@@ -0,0 +1,40 @@
+package com.anyschool.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Child Summary (read-only projection)
+ *
+ * One row of the children list (GET /api/children): the child columns and its
+ * school's details, selected by ChildRepository in a single query instead of
+ * loading Child entities and then each School.
+ */
+public interface ChildSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getGrade();
+
+    String getVerificationStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * Null when the child is linked to a requested (not yet approved) school
+     */
+    Long getSchoolId();
+
+    String getSchoolName();
+
+    String getSchoolDistrict();
+
+    String getSchoolProvince();
+
+    String getSchoolGrades();
+
+    String getRequestedSchoolName();
+}
@@ -0,0 +1,59 @@
+package com.anyschool.dto;
+
+import com.anyschool.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order Summary (read-only projection)
+ *
+ * One row of an order list (GET /api/orders, /api/orders/donations,
+ * /api/orders/school/{schoolId}), selected by OrderRepository in a single
+ * query: the order columns, the school's id / name / province (left join) and
+ * the item count (a count subquery) - no Order, School or OrderItem entities
+ * are loaded.
+ */
+public interface OrderSummary {
+
+    Long getId();
+
+    String getOrderType();
+
+    String getStudentGrade();
+
+    String getStudentName();
+
+    BigDecimal getTotalAmount();
+
+    OrderStatus getStatus();
+
+    int getItemCount();
+
+    LocalDateTime getCreatedAt();
+
+    String getAcademicYear();
+
+    String getPaymentType();
+
+    BigDecimal getMonthlyInstalment();
+
+    Integer getPaymentPlanMonths();
+
+    Integer getDebitOrderDay();
+
+    LocalDateTime getFirstDebitDate();
+
+    LocalDateTime getLastDebitDate();
+
+    /**
+     * Null when the order is for a requested (not yet approved) school
+     */
+    Long getSchoolId();
+
+    String getSchoolName();
+
+    String getSchoolProvince();
+
+    String getRequestedSchoolName();
+}
@@ -0,0 +1,39 @@
+package com.anyschool.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * School Summary (read-only projection)
+ *
+ * One row of the public school lists (GET /api/schools,
+ * /api/schools/province/{province}): the school columns and its linked admin's
+ * id / name / email, selected by SchoolRepository in a single query instead of
+ * loading every admin User one by one.
+ */
+public interface SchoolSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getDistrict();
+
+    String getProvince();
+
+    String getGrades();
+
+    String getPhone();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * Null when no school admin is linked yet
+     */
+    Long getAdminId();
+
+    String getAdminFullName();
+
+    String getAdminEmail();
+}
@@ -0,0 +1,33 @@
+package com.anyschool.dto;
+
+import com.anyschool.model.UserRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Summary (read-only projection)
+ *
+ * The columns of the admin user list (GET /api/admin/users), selected by
+ * UserRepository.findAllSummaries instead of loading User entities.
+ * Never carries the password, OTP or reset token columns.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getFullName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    UserRole getRole();
+
+    boolean isEnabled();
+
+    boolean isVerified();
+
+    LocalDateTime getCreatedAt();
+
+    Long getSchoolId();
+}
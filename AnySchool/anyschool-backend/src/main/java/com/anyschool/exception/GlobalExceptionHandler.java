@@ -1,14 +1,19 @@
 package com.anyschool.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -50,6 +55,82 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    /**
+     * Handle Idempotency-Key reused for a different request
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        log.warn("Idempotency key mismatch: {}", ex.getMessage());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    /**
+     * Handle a full idempotency key store (app.idempotency.max-entries)
+     * Transient: keys expire, so the client should retry later.
+     */
+    @ExceptionHandler(IdempotencyStoreFullException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyStoreFull(IdempotencyStoreFullException ex) {
+        log.warn("Idempotency store full: {}", ex.getMessage());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "IDEMPOTENCY_STORE_FULL");
+        response.put("message", ex.getMessage());
+        response.put("retryable", true);
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    /**
+     * Handle concurrent update of the same record (optimistic lock version mismatch)
+     * The client should reload the record and re-apply its change.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "CONCURRENT_UPDATE");
+        response.put("message", "This record was changed by someone else. Please reload and try again.");
+        response.put("retryable", true);
+        if (ex instanceof ObjectOptimisticLockingFailureException lockEx) {
+            String entity = lockEx.getPersistentClassName();
+            response.put("resource", entity != null ? entity.substring(entity.lastIndexOf('.') + 1) : null);
+            response.put("resourceId", lockEx.getIdentifier());
+        }
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handle "no database connection" (JDBC limiter or pool timeout)
+     * A saturated database is a transient overload, not a server bug: 503 so
+     * clients back off and retry. Other resource failures stay a 500.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(Exception ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                log.warn("Database busy: {}", cause.getMessage());
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("error", "DATABASE_BUSY");
+                response.put("message", "The service is busy. Please try again in a moment.");
+                response.put("retryable", true);
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+            }
+        }
+        return handleGenericException(ex);
+    }
+
     /**
      * Handle user not found exception
      */
@@ -0,0 +1,10 @@
+package com.anyschool.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is reused with a different request body
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
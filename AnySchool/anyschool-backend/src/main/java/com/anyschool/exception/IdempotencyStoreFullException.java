@@ -0,0 +1,10 @@
+package com.anyschool.exception;
+
+/**
+ * Exception thrown when the idempotency key store is full and cannot take a new key
+ */
+public class IdempotencyStoreFullException extends RuntimeException {
+    public IdempotencyStoreFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.anyschool.exception;
+
+/**
+ * Exception thrown in SQL budget test mode when a request runs more SQL
+ * statements than its route's budget
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
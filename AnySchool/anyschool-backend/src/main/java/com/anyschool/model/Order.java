@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -33,8 +34,13 @@ import java.util.List;
 @Builder
 public class Order {
 
+    /**
+     * Pooled sequence id (allocationSize 50) so Hibernate can assign ids
+     * without a round-trip per insert and batch the order/item INSERTs.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -166,6 +172,14 @@ public class Order {
     @Builder.Default
     private Integer paymentsReceived = 0;
 
+    /**
+     * Highest instalment number collected by a debit run
+     * Guards against applying the same bank response file twice
+     * Null until the first debit-order collection
+     */
+    @Column(nullable = true)
+    private Integer lastCollectedInstalment;
+
     /**
      * Monthly instalment amount for payment plan
      * Null for immediate payments
@@ -206,6 +220,16 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic lock version, bumped on every update
+     * Concurrent writers of the same order get a 409 instead of silently
+     * overwriting each other (raw SQL updates must bump it too)
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Lifecycle callback to set timestamps before persisting
      */
@@ -0,0 +1,93 @@
+package com.anyschool.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Intake Entity
+ * 
+ * Durable queue entry for an order accepted in peak mode.
+ * 
+ * During back-to-school peaks POST /api/orders only validates the request
+ * and stores it here, then returns 202 with the trackingId. Intake workers
+ * claim QUEUED rows (FOR UPDATE SKIP LOCKED) and create the real Order
+ * through OrderService at a controlled rate.
+ */
+@Entity
+@Table(name = "order_intake", indexes = {
+        @Index(name = "idx_order_intake_status_id", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIntake {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Public id handed to the client for status polling
+     */
+    @Column(nullable = false, unique = true, length = 36)
+    private String trackingId;
+
+    /**
+     * User who submitted the order
+     */
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * The CreateOrderRequest as JSON
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderIntakeStatus status;
+
+    /**
+     * Order created from this intake (set when COMPLETED)
+     */
+    @Column(nullable = true)
+    private Long orderId;
+
+    /**
+     * Reason the order could not be created (set when FAILED; while QUEUED,
+     * the last failed attempt's reason)
+     */
+    @Column(nullable = true, length = 500)
+    private String errorMessage;
+
+    /**
+     * Number of times a worker tried to materialize this intake
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Earliest time a worker may (re)try this intake; null = now
+     */
+    @Column(nullable = true)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = true)
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.anyschool.model;
+
+/**
+ * Order Intake Status Enum
+ * 
+ * Lifecycle of an order submitted while peak mode is on:
+ * QUEUED - Accepted and validated, waiting for a worker
+ * COMPLETED - Materialized into an Order (orderId is set)
+ * FAILED - Could not be turned into an order (errorMessage is set)
+ */
+public enum OrderIntakeStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
@@ -41,5 +41,31 @@ public enum OrderStatus {
     @Deprecated
     PACKAGED,
     @Deprecated
-    COMPLETED
+    COMPLETED;
+
+    /**
+     * Status an order must be in to move to this status in the purchasing
+     * workflow (step n-1 of the numbered workflow above)
+     *
+     * @return Required previous status, or null if this status can't be
+     *         reached by a purchasing transition
+     */
+    public OrderStatus purchasingPredecessor() {
+        switch (this) {
+            case ACKNOWLEDGED:
+                return APPROVED;
+            case IN_PROCESS:
+                return ACKNOWLEDGED;
+            case FINALIZING:
+                return IN_PROCESS;
+            case OUT_FOR_DELIVERY:
+                return FINALIZING;
+            case DELIVERED:
+                return OUT_FOR_DELIVERY;
+            case CLOSED:
+                return DELIVERED;
+            default:
+                return null;
+        }
+    }
 }
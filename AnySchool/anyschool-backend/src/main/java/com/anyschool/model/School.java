@@ -3,6 +3,8 @@ package com.anyschool.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "schools")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "schools")
 public class School {
 
     @Id
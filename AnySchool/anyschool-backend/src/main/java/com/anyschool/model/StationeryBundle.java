@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,6 +28,8 @@ import java.util.List;
  */
 @Entity
 @Table(name = "stationery_bundles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bundles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,6 +78,7 @@ public class StationeryBundle {
      * ManyToMany relationship with Stationery
      */
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bundle-items")
     @JoinTable(
         name = "bundle_stationery",
         joinColumns = @JoinColumn(name = "bundle_id"),
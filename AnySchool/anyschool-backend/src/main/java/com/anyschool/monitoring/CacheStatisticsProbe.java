@@ -0,0 +1,107 @@
+package com.anyschool.monitoring;
+
+import com.anyschool.cache.CacheInvalidationListener;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache Statistics Probe
+ *
+ * Hibernate second-level and query cache statistics for SystemMonitoringController:
+ * hits / misses / puts and hit ratio per region (since startup), plus the
+ * current entry count from the Caffeine cache behind each region, and the
+ * state of the cross-application invalidation listener.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheStatisticsProbe {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectProvider<CacheInvalidationListener> invalidationListener;
+
+    public Map<String, Object> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return stats;
+        }
+
+        List<Map<String, Object>> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String name : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("region", name);
+            entry.put("hits", region.getHitCount());
+            entry.put("misses", region.getMissCount());
+            entry.put("puts", region.getPutCount());
+            entry.put("hitRatio", hitRatio(region.getHitCount(), region.getMissCount()));
+            entry.put("entries", estimatedSize(name));
+            regions.add(entry);
+        }
+
+        stats.put("regions", regions);
+        stats.put("secondLevel", Map.of(
+                "hits", statistics.getSecondLevelCacheHitCount(),
+                "misses", statistics.getSecondLevelCacheMissCount(),
+                "puts", statistics.getSecondLevelCachePutCount(),
+                "hitRatio", hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount())
+        ));
+        stats.put("queries", Map.of(
+                "hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(),
+                "puts", statistics.getQueryCachePutCount(),
+                "hitRatio", hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())
+        ));
+        stats.put("since", statistics.getStart().toString());
+        CacheInvalidationListener listener = invalidationListener.getIfAvailable();
+        if (listener != null) {
+            stats.put("invalidation", listener.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Second-level cache hit ratio (%) since startup, or null when statistics are off
+     */
+    public Double getSecondLevelHitRatio() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return null;
+        }
+        return hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+    }
+
+    private long estimatedSize(String region) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache<Object, Object> cache = manager == null || manager.isClosed() ? null : manager.getCache(region);
+        if (cache == null) {
+            return -1;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : Math.round(hits * 1000.0 / lookups) / 10.0;
+    }
+}
@@ -0,0 +1,176 @@
+package com.anyschool.monitoring;
+
+import com.anyschool.config.ConnectionLimitingDataSource;
+import com.anyschool.config.ReplicaRoutingDataSource;
+import com.anyschool.model.SchoolRequestStatus;
+import com.anyschool.repository.SchoolRequestRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database Health Probe
+ *
+ * Cheap database health for SystemMonitoringController.
+ *
+ * - probe(): borrows a pooled connection (timed, = pool wait) and runs the
+ *   JDBC validation check (timed, a protocol-level ping on PostgreSQL) -
+ *   microseconds of DB time instead of a full table count
+ * - getPoolStats(): HikariCP active / idle / total / pending connections
+ * - getDataCounts(): row counts from planner statistics (pg_class.reltuples)
+ *   plus an exact count of pending school requests, cached for
+ *   app.monitoring.count-cache-seconds so repeated health polls don't
+ *   touch the tables at all
+ */
+@Component
+@Slf4j
+public class DatabaseHealthProbe {
+
+    private static final String ESTIMATED_COUNTS_SQL =
+            "SELECT relname, reltuples::bigint AS estimate FROM pg_class " +
+            "WHERE relkind = 'r' AND relname IN ('users', 'schools', 'orders') " +
+            "  AND relnamespace = 'public'::regnamespace";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SchoolRequestRepository schoolRequestRepository;
+    private final int validationTimeoutSeconds;
+    private final long countCacheNanos;
+
+    private volatile Map<String, Object> cachedCounts;
+    private volatile long cachedCountsAt;
+
+    public DatabaseHealthProbe(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            SchoolRequestRepository schoolRequestRepository,
+            @Value("${app.monitoring.db-validation-timeout-seconds:2}") int validationTimeoutSeconds,
+            @Value("${app.monitoring.count-cache-seconds:60}") long countCacheSeconds
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.schoolRequestRepository = schoolRequestRepository;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.countCacheNanos = TimeUnit.SECONDS.toNanos(countCacheSeconds);
+    }
+
+    /**
+     * Timed connection acquire + validation
+     *
+     * @return healthy, acquireMs (pool wait), validationMs, responseTimeMs (total), error
+     */
+    public Map<String, Object> probe() {
+        Map<String, Object> result = new HashMap<>();
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            long acquired = System.nanoTime();
+            boolean valid = connection.isValid(validationTimeoutSeconds);
+            long validated = System.nanoTime();
+
+            result.put("healthy", valid);
+            result.put("acquireMs", toMillis(acquired - start));
+            result.put("validationMs", toMillis(validated - acquired));
+            result.put("responseTimeMs", toMillis(validated - start));
+            if (!valid) {
+                result.put("error", "Connection validation failed");
+            }
+        } catch (Exception e) {
+            log.warn("⚠️  Database health check failed: {}", e.getMessage());
+            result.put("healthy", false);
+            result.put("responseTimeMs", toMillis(System.nanoTime() - start));
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * HikariCP pool statistics (empty if the pool isn't Hikari or not started yet)
+     */
+    public Map<String, Object> getPoolStats() {
+        Map<String, Object> stats = new HashMap<>();
+        HikariDataSource hikari = unwrap(HikariDataSource.class);
+        if (hikari == null) {
+            stats.put("available", false);
+            return stats;
+        }
+        ConnectionLimitingDataSource limiter = unwrap(ConnectionLimitingDataSource.class);
+        if (limiter != null) {
+            stats.put("limiter", limiter.getStats());
+        }
+        ReplicaRoutingDataSource replicas = unwrap(ReplicaRoutingDataSource.class);
+        if (replicas != null) {
+            stats.put("readReplicas", replicas.getStats());
+        }
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        stats.put("available", pool != null);
+        stats.put("poolName", hikari.getPoolName());
+        stats.put("maximumPoolSize", hikari.getMaximumPoolSize());
+        stats.put("minimumIdle", hikari.getMinimumIdle());
+        stats.put("connectionTimeoutMs", hikari.getConnectionTimeout());
+        if (pool != null) {
+            int active = pool.getActiveConnections();
+            stats.put("active", active);
+            stats.put("idle", pool.getIdleConnections());
+            stats.put("total", pool.getTotalConnections());
+            stats.put("pending", pool.getThreadsAwaitingConnection());
+            stats.put("usagePercent", Math.round(active * 1000.0 / Math.max(1, hikari.getMaximumPoolSize())) / 10.0);
+        }
+        return stats;
+    }
+
+    /**
+     * A layer of the DataSource chain (replica routing, connection limiter, primary
+     * pool), resolved outside a transaction, i.e. along the primary path
+     */
+    private <T> T unwrap(Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Approximate table sizes and pending school requests (cached)
+     */
+    public Map<String, Object> getDataCounts() {
+        Map<String, Object> counts = cachedCounts;
+        long now = System.nanoTime();
+        if (counts != null && now - cachedCountsAt < countCacheNanos) {
+            return counts;
+        }
+
+        Map<String, Object> fresh = new HashMap<>();
+        try {
+            jdbcTemplate.query(ESTIMATED_COUNTS_SQL, rs -> {
+                // reltuples is -1 until the table has been vacuumed/analyzed
+                fresh.put(rs.getString("relname"), Math.max(0, rs.getLong("estimate")));
+            });
+            fresh.put("pendingRequests", schoolRequestRepository.countByStatus(SchoolRequestStatus.PENDING));
+            fresh.put("estimated", true);
+            fresh.put("asOf", System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("⚠️  Could not read data counts: {}", e.getMessage());
+            return counts != null ? counts : fresh;
+        }
+
+        cachedCounts = fresh;
+        cachedCountsAt = now;
+        return fresh;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
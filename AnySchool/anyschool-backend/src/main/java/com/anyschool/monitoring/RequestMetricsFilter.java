@@ -0,0 +1,114 @@
+package com.anyschool.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Request Metrics Filter
+ *
+ * Outermost servlet filter: times every request (including ones rejected by
+ * security) and records it in RequestMetricsRegistry under its route -
+ * the matched controller pattern, so /api/orders/1 and /api/orders/2 both
+ * count as "GET /api/orders/{id}".
+ *
+ * Async requests (StreamingResponseBody exports, the debit-file download)
+ * leave the filter as soon as the handler returns, before the body is
+ * written; they are recorded by an AsyncListener when the async request
+ * completes, with the full streaming time and the final status.
+ *
+ * CORS preflights (OPTIONS) are not recorded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final RequestMetricsRegistry registry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(routeOf(request), start));
+            } else {
+                long micros = (System.nanoTime() - start) / 1000;
+                int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                registry.record(routeOf(request), status, micros);
+            }
+        }
+    }
+
+    private String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : RequestMetricsRegistry.UNMATCHED_ROUTE);
+    }
+
+    /**
+     * Records an async request once it completes; the route is taken on the
+     * initial dispatch, where the handler mapping set it
+     */
+    private class CompletionListener implements AsyncListener {
+
+        private final String route;
+        private final long start;
+        private volatile boolean failed;
+
+        CompletionListener(String route, long start) {
+            this.route = route;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            long micros = (System.nanoTime() - start) / 1000;
+            int status = failed
+                    ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                    : ((HttpServletResponse) event.getSuppliedResponse()).getStatus();
+            registry.record(route, status, micros);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // The status may already be committed as 200 when streaming fails
+            failed = true;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Spring MVC answers the timeout itself; onComplete records its status
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register when the request goes async again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.anyschool.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request Metrics Registry
+ *
+ * In-memory request metrics fed by RequestMetricsFilter.
+ *
+ * Per route (HTTP method + matched URL pattern, e.g. "GET /api/orders/{id}"):
+ * - request count, server error (5xx) and client error (4xx) counts
+ * - latency histogram (p50/p95/p99/max)
+ *
+ * Plus an overall histogram and a 60-second sliding window for current
+ * throughput. Everything is lock-free on the recording path.
+ *
+ * Route cardinality is capped (app.monitoring.max-routes); overflow is
+ * counted under "OTHER" so path variables can't blow up memory.
+ */
+@Component
+public class RequestMetricsRegistry {
+
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+    public static final String OVERFLOW_ROUTE = "OTHER";
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final ConcurrentHashMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final RouteMetrics overall = new RouteMetrics();
+    private final AtomicLongArray windowCounts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray windowEpochs = new AtomicLongArray(WINDOW_SECONDS);
+    private final long startedAtNanos = System.nanoTime();
+    private final int maxRoutes;
+
+    public RequestMetricsRegistry(@Value("${app.monitoring.max-routes:500}") int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    /**
+     * Record a completed request
+     *
+     * @param route Route key (method + pattern)
+     * @param status HTTP status sent
+     * @param micros Time spent in the application
+     */
+    public void record(String route, int status, long micros) {
+        RouteMetrics metrics = routes.get(route);
+        if (metrics == null) {
+            metrics = routes.size() < maxRoutes
+                    ? routes.computeIfAbsent(route, k -> new RouteMetrics())
+                    : routes.computeIfAbsent(OVERFLOW_ROUTE, k -> new RouteMetrics());
+        }
+        metrics.record(status, micros);
+        overall.record(status, micros);
+        recordInWindow();
+    }
+
+    /**
+     * Overall metrics across all routes
+     */
+    public Map<String, Object> getOverallSummary() {
+        Map<String, Object> summary = overall.toMap(uptimeSeconds());
+        summary.put("requestsPerSecondLastMinute", round(getRecentRequestsPerSecond()));
+        summary.put("uptimeSeconds", (long) uptimeSeconds());
+        return summary;
+    }
+
+    /**
+     * Per-route metrics, busiest routes first
+     *
+     * @param limit Max routes to return (<= 0 = all)
+     */
+    public List<Map<String, Object>> getRouteSummaries(int limit) {
+        double uptime = uptimeSeconds();
+        List<Map.Entry<String, RouteMetrics>> entries = new ArrayList<>(routes.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, RouteMetrics> e) -> e.getValue().requests.sum()).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, RouteMetrics> entry : entries) {
+            if (limit > 0 && result.size() >= limit) {
+                break;
+            }
+            Map<String, Object> route = entry.getValue().toMap(uptime);
+            route.put("route", entry.getKey());
+            result.add(route);
+        }
+        return result;
+    }
+
+    public long getTotalRequests() {
+        return overall.requests.sum();
+    }
+
+    public long getTotalServerErrors() {
+        return overall.serverErrors.sum();
+    }
+
+    public LatencyHistogram getOverallLatency() {
+        return overall.latency;
+    }
+
+    /**
+     * Average requests per second over the last 60 seconds
+     */
+    public double getRecentRequestsPerSecond() {
+        long nowSecond = currentSecond();
+        long total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long epoch = windowEpochs.get(i);
+            if (epoch > nowSecond - WINDOW_SECONDS && epoch <= nowSecond) {
+                total += windowCounts.get(i);
+            }
+        }
+        double window = Math.min(WINDOW_SECONDS, Math.max(1, uptimeSeconds()));
+        return total / window;
+    }
+
+    /**
+     * Count the request in the current one-second slot; a slot left over
+     * from a previous minute is reset by whichever thread gets there first
+     */
+    private void recordInWindow() {
+        long second = currentSecond();
+        int slot = (int) (second % WINDOW_SECONDS);
+        long epoch = windowEpochs.get(slot);
+        if (epoch != second && windowEpochs.compareAndSet(slot, epoch, second)) {
+            windowCounts.set(slot, 0);
+        }
+        windowCounts.incrementAndGet(slot);
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAtNanos);
+    }
+
+    private double uptimeSeconds() {
+        return (System.nanoTime() - startedAtNanos) / 1_000_000_000.0;
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Counters and latency for one route
+     */
+    static final class RouteMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(int status, long micros) {
+            requests.increment();
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+            latency.record(micros);
+        }
+
+        Map<String, Object> toMap(double uptimeSeconds) {
+            long count = requests.sum();
+            long errors = serverErrors.sum();
+
+            Map<String, Object> latencyMs = new HashMap<>();
+            latencyMs.put("p50", toMillis(latency.getPercentileMicros(50)));
+            latencyMs.put("p95", toMillis(latency.getPercentileMicros(95)));
+            latencyMs.put("p99", toMillis(latency.getPercentileMicros(99)));
+            latencyMs.put("max", toMillis(latency.getMaxMicros()));
+            latencyMs.put("mean", round(latency.getMeanMicros() / 1000.0));
+
+            Map<String, Object> m = new HashMap<>();
+            m.put("requests", count);
+            m.put("serverErrors", errors);
+            m.put("clientErrors", clientErrors.sum());
+            m.put("errorRatePercent", count == 0 ? 0.0 : round(errors * 100.0 / count));
+            m.put("requestsPerSecond", uptimeSeconds <= 0 ? 0.0 : round(count / uptimeSeconds));
+            m.put("latencyMs", latencyMs);
+            return m;
+        }
+
+        private static double toMillis(long micros) {
+            return round(micros / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.anyschool.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL Budget
+ *
+ * Declares the maximum number of SQL statements a controller endpoint may
+ * run per request (overrides app.sql-budget.default-max-statements).
+ * Can be placed on a controller class or on individual handler methods.
+ *
+ * Example: {@code @SqlBudget(maxStatements = 5)} on a list endpoint that
+ * should be a couple of queries no matter how many rows it returns.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * Maximum SQL statements per request
+     */
+    int maxStatements();
+}
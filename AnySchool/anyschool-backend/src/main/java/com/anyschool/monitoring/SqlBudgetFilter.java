@@ -0,0 +1,92 @@
+package com.anyschool.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * SQL Budget Filter
+ *
+ * Opens a SqlRequestContext for each request (so statements run by the
+ * security filters count too), and when the request completes:
+ * - records the route's statement count and JDBC time in SqlBudgetRegistry
+ * - logs a warning when the route went over its budget (@SqlBudget or
+ *   app.sql-budget.default-max-statements), with the most repeated statement
+ * - logs a possible N+1 when one statement shape repeated at least
+ *   app.sql-budget.repeat-threshold times
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetRegistry registry;
+    private final boolean enabled;
+    private final int defaultMaxStatements;
+    private final int repeatThreshold;
+
+    public SqlBudgetFilter(
+            SqlBudgetRegistry registry,
+            @Value("${app.sql-budget.enabled:true}") boolean enabled,
+            @Value("${app.sql-budget.default-max-statements:50}") int defaultMaxStatements,
+            @Value("${app.sql-budget.repeat-threshold:10}") int repeatThreshold
+    ) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SqlRequestContext context = SqlRequestContext.begin(defaultMaxStatements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.end();
+            complete(request, context);
+        }
+    }
+
+    private void complete(HttpServletRequest request, SqlRequestContext context) {
+        if (context.getStatementCount() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + " " + (pattern != null ? pattern : RequestMetricsRegistry.UNMATCHED_ROUTE);
+        boolean overBudget = context.getStatementCount() > context.getMaxStatements();
+        Map.Entry<String, Integer> repeated = context.getMostRepeatedShape();
+
+        registry.record(route, context, overBudget, repeated);
+
+        if (overBudget) {
+            log.warn("SQL budget exceeded on {}: {} statements (budget {}, {}), {} ms JDBC; most repeated ({}x): {}",
+                    route, context.getStatementCount(), context.getMaxStatements(), context.getBudgetSource(),
+                    context.getJdbcNanos() / 1_000_000, repeated.getValue(), repeated.getKey());
+        } else if (repeated.getValue() >= repeatThreshold) {
+            log.warn("Possible N+1 on {}: statement repeated {}x: {}", route, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.anyschool.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * SQL Budget Interceptor
+ *
+ * Applies a handler's declared @SqlBudget (method first, then class) to the
+ * request's SqlRequestContext once Spring MVC has resolved the handler.
+ */
+@Component
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+        }
+        if (budget != null) {
+            context.declareBudget(budget.maxStatements(), "@SqlBudget on " + handlerMethod.getShortLogMessage());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package com.anyschool.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL Budget Registry
+ *
+ * Per-route SQL statistics collected by SqlBudgetFilter: requests,
+ * statements (total / max), JDBC time, budget violations and the worst
+ * repeated statement shape seen (the likely N+1).
+ */
+@Component
+public class SqlBudgetRegistry {
+
+    private final ConcurrentHashMap<String, RouteSqlStats> routes = new ConcurrentHashMap<>();
+    private final int maxRoutes;
+
+    public SqlBudgetRegistry(@Value("${app.monitoring.max-routes:500}") int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    void record(String route, SqlRequestContext context, boolean overBudget, Map.Entry<String, Integer> repeated) {
+        RouteSqlStats stats = routes.get(route);
+        if (stats == null) {
+            stats = routes.size() < maxRoutes
+                    ? routes.computeIfAbsent(route, k -> new RouteSqlStats())
+                    : routes.computeIfAbsent(RequestMetricsRegistry.OVERFLOW_ROUTE, k -> new RouteSqlStats());
+        }
+        stats.record(context, overBudget, repeated);
+    }
+
+    /**
+     * Worst routes first: most budget violations, then highest max statements
+     *
+     * @param limit Max routes to return (<= 0 = all)
+     */
+    public List<Map<String, Object>> getWorstRoutes(int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        routes.forEach((route, stats) -> {
+            Map<String, Object> m = stats.toMap();
+            m.put("route", route);
+            result.add(m);
+        });
+        result.sort(Comparator
+                .comparingLong((Map<String, Object> m) -> (Long) m.get("overBudgetRequests"))
+                .thenComparingInt(m -> (Integer) m.get("maxStatements"))
+                .reversed());
+        return limit > 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    /**
+     * Stats for one route; updates are synchronized per route (cheap, only
+     * contended by concurrent requests to the same endpoint)
+     */
+    static final class RouteSqlStats {
+        private long requests;
+        private long totalStatements;
+        private int maxStatements;
+        private long totalJdbcNanos;
+        private long maxJdbcNanos;
+        private long overBudgetRequests;
+        private int budget;
+        private String worstShape;
+        private int worstShapeCount;
+
+        synchronized void record(SqlRequestContext context, boolean overBudget, Map.Entry<String, Integer> repeated) {
+            requests++;
+            totalStatements += context.getStatementCount();
+            maxStatements = Math.max(maxStatements, context.getStatementCount());
+            totalJdbcNanos += context.getJdbcNanos();
+            maxJdbcNanos = Math.max(maxJdbcNanos, context.getJdbcNanos());
+            budget = context.getMaxStatements();
+            if (overBudget) {
+                overBudgetRequests++;
+            }
+            if (repeated != null && repeated.getValue() > worstShapeCount) {
+                worstShapeCount = repeated.getValue();
+                worstShape = repeated.getKey();
+            }
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> m = new HashMap<>();
+            m.put("requests", requests);
+            m.put("budget", budget);
+            m.put("overBudgetRequests", overBudgetRequests);
+            m.put("maxStatements", maxStatements);
+            m.put("avgStatements", requests == 0 ? 0.0 : RequestMetricsRegistry.round((double) totalStatements / requests));
+            m.put("avgJdbcMs", requests == 0 ? 0.0 : RequestMetricsRegistry.round(totalJdbcNanos / 1_000_000.0 / requests));
+            m.put("maxJdbcMs", RequestMetricsRegistry.round(maxJdbcNanos / 1_000_000.0));
+            m.put("mostRepeatedStatement", worstShape);
+            m.put("mostRepeatedCount", worstShapeCount);
+            return m;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.anyschool.monitoring;
+
+import com.anyschool.exception.SqlBudgetExceededException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * SQL Counting DataSource
+ *
+ * Wraps the application DataSource (registered by SqlInstrumentationConfig)
+ * so every statement sent on a thread with an open SqlRequestContext is
+ * counted - Hibernate, JdbcTemplate and plain JDBC alike - keyed by its
+ * shape: the SQL with literals and IN-lists collapsed, so a loop of
+ * identical lazy loads shows up as one shape repeated N times.
+ *
+ * - prepareStatement / prepareCall count once, however often the statement
+ *   is executed or batched (a JDBC batch is one round of work)
+ * - Statement.execute*(sql) and addBatch(sql) count per call
+ * - execute* / executeBatch time is added to the context's JDBC time
+ *
+ * In test mode (app.sql-budget.fail-on-exceed=true) the statement that
+ * crosses the budget throws SqlBudgetExceededException.
+ *
+ * Connections taken without an open context (schedulers, workers, the
+ * cache invalidation listener) are returned unwrapped. unwrap() passes
+ * through, so HikariDataSource and PgConnection stay reachable.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private final boolean failOnExceed;
+
+    public SqlCountingDataSource(DataSource target, boolean failOnExceed) {
+        super(target);
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counted(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counted(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Normalize a statement: literals -> ?, IN (?, ?, ...) -> IN (...), single spaces
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    private Connection counted(Connection connection) {
+        if (SqlRequestContext.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                        record((String) args[0]);
+                        Class<?> type = name.equals("prepareCall") ? CallableStatement.class : PreparedStatement.class;
+                        return statement(type, invoke(connection, method, args));
+                    }
+                    if (name.equals("createStatement")) {
+                        return statement(Statement.class, invoke(connection, method, args));
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    /**
+     * Statement proxy: counts SQL passed to execute* / addBatch, times executions
+     */
+    private Object statement(Class<?> type, Object statement) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    String name = method.getName();
+                    boolean execute = name.startsWith("execute");
+                    if ((execute || name.equals("addBatch")) && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        record(sql);
+                    }
+                    if (!execute) {
+                        return invoke(statement, method, args);
+                    }
+                    SqlRequestContext context = SqlRequestContext.current();
+                    if (context != null) {
+                        context.executeStarted();
+                    }
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        if (context != null) {
+                            context.executeEnded();
+                        }
+                    }
+                });
+    }
+
+    private void record(String sql) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context == null) {
+            return;
+        }
+        int count = context.recordStatement(shapeOf(sql));
+        if (failOnExceed && count > context.getMaxStatements()) {
+            throw new SqlBudgetExceededException("SQL budget exceeded: statement " + count
+                    + " > " + context.getMaxStatements() + " (" + context.getBudgetSource() + ")");
+        }
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return ("equals".equals(method.getName()) && method.getParameterCount() == 1)
+                || ("hashCode".equals(method.getName()) && method.getParameterCount() == 0);
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return "equals".equals(method.getName()) ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
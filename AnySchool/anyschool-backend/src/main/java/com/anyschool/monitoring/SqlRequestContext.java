@@ -0,0 +1,102 @@
+package com.anyschool.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL Request Context
+ *
+ * Per-request (thread-bound) SQL counters filled by SqlCountingDataSource,
+ * opened and closed by SqlBudgetFilter. Threads without an open context
+ * (schedulers, workers) are not tracked.
+ */
+public final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private int maxStatements;
+    private String budgetSource = "default";
+    private int statementCount;
+    private long jdbcNanos;
+    private long executeStartNanos;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+    private SqlRequestContext(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    static SqlRequestContext begin(int defaultMaxStatements) {
+        SqlRequestContext context = new SqlRequestContext(defaultMaxStatements);
+        CURRENT.set(context);
+        return context;
+    }
+
+    static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void declareBudget(int maxStatements, String source) {
+        this.maxStatements = maxStatements;
+        this.budgetSource = source;
+    }
+
+    /**
+     * @return the new statement count
+     */
+    int recordStatement(String shape) {
+        shapeCounts.merge(shape, 1, Integer::sum);
+        return ++statementCount;
+    }
+
+    void executeStarted() {
+        executeStartNanos = System.nanoTime();
+    }
+
+    void executeEnded() {
+        if (executeStartNanos != 0) {
+            jdbcNanos += System.nanoTime() - executeStartNanos;
+            executeStartNanos = 0;
+        }
+    }
+
+    int getMaxStatements() {
+        return maxStatements;
+    }
+
+    String getBudgetSource() {
+        return budgetSource;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Statements sent so far, per normalized shape
+     */
+    Map<String, Integer> getShapeCounts() {
+        return Collections.unmodifiableMap(shapeCounts);
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * Most repeated statement shape, or null if nothing ran
+     */
+    Map.Entry<String, Integer> getMostRepeatedShape() {
+        Map.Entry<String, Integer> worst = null;
+        for (Map.Entry<String, Integer> entry : shapeCounts.entrySet()) {
+            if (worst == null || entry.getValue() > worst.getValue()) {
+                worst = entry;
+            }
+        }
+        return worst;
+    }
+}
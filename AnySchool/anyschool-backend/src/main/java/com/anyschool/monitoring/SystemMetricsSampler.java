@@ -0,0 +1,234 @@
+package com.anyschool.monitoring;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * System Metrics Sampler
+ *
+ * Background sampler behind GET /api/admin/system/history.
+ *
+ * Every app.monitoring.sample-interval-ms it records heap, non-heap, GC
+ * pause time, thread count, CPU, DB pool usage and request rate into
+ * fixed-size primitive ring buffers sized for app.monitoring.history-minutes.
+ * The buffers are allocated once at startup; the sampling path only writes
+ * into them (the JMX getters themselves still create a few short-lived
+ * MemoryUsage objects, which is unavoidable).
+ *
+ * Single writer (the scheduler thread). Readers copy out a range and then
+ * discard any sample the writer may have overwritten meanwhile, so no
+ * locking is needed on either side.
+ */
+@Component
+@Slf4j
+public class SystemMetricsSampler {
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final int capacity;
+    private final long intervalMillis;
+
+    private final long[] timestamps;
+    private final double[] heapUsedMb;
+    private final double[] nonHeapUsedMb;
+    private final double[] gcPauseMs;
+    private final int[] threads;
+    private final double[] processCpu;
+    private final int[] dbActive;
+    private final int[] dbTotal;
+    private final int[] dbWaiting;
+    private final double[] requestsPerSecond;
+
+    /** Samples written so far; slot = count % capacity */
+    private volatile long count;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean osBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final GarbageCollectorMXBean[] gcBeans =
+            ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+
+    private final DataSource dataSource;
+    private final RequestMetricsRegistry requestMetrics;
+
+    private long lastGcTimeMs = -1;
+    private long lastRequestCount = -1;
+    private long lastSampleNanos;
+
+    public SystemMetricsSampler(
+            DataSource dataSource,
+            RequestMetricsRegistry requestMetrics,
+            @Value("${app.monitoring.sample-interval-ms:5000}") long intervalMillis,
+            @Value("${app.monitoring.history-minutes:60}") int historyMinutes
+    ) {
+        this.dataSource = dataSource;
+        this.requestMetrics = requestMetrics;
+        this.intervalMillis = Math.max(1000, intervalMillis);
+        this.capacity = (int) Math.max(2, historyMinutes * 60_000L / this.intervalMillis);
+
+        this.timestamps = new long[capacity];
+        this.heapUsedMb = new double[capacity];
+        this.nonHeapUsedMb = new double[capacity];
+        this.gcPauseMs = new double[capacity];
+        this.threads = new int[capacity];
+        this.processCpu = new double[capacity];
+        this.dbActive = new int[capacity];
+        this.dbTotal = new int[capacity];
+        this.dbWaiting = new int[capacity];
+        this.requestsPerSecond = new double[capacity];
+    }
+
+    /**
+     * Take one sample (scheduler thread only)
+     */
+    @Scheduled(fixedRateString = "${app.monitoring.sample-interval-ms:5000}",
+               initialDelayString = "${app.monitoring.sample-interval-ms:5000}")
+    public void sample() {
+        long nowNanos = System.nanoTime();
+        double elapsedSeconds = lastSampleNanos == 0 ? 0 : (nowNanos - lastSampleNanos) / 1_000_000_000.0;
+        lastSampleNanos = nowNanos;
+
+        long gcTime = 0;
+        for (int i = 0; i < gcBeans.length; i++) {
+            gcTime += Math.max(0, gcBeans[i].getCollectionTime());
+        }
+        long requestCount = requestMetrics.getTotalRequests();
+
+        int slot = (int) (count % capacity);
+        timestamps[slot] = System.currentTimeMillis();
+        heapUsedMb[slot] = memoryBean.getHeapMemoryUsage().getUsed() / MB;
+        nonHeapUsedMb[slot] = memoryBean.getNonHeapMemoryUsage().getUsed() / MB;
+        gcPauseMs[slot] = lastGcTimeMs < 0 ? 0 : gcTime - lastGcTimeMs;
+        threads[slot] = threadBean.getThreadCount();
+        processCpu[slot] = Math.max(0, osBean.getProcessCpuLoad() * 100);
+        requestsPerSecond[slot] = lastRequestCount < 0 || elapsedSeconds <= 0
+                ? 0
+                : (requestCount - lastRequestCount) / elapsedSeconds;
+
+        HikariPoolMXBean pool = poolBean();
+        dbActive[slot] = pool != null ? pool.getActiveConnections() : -1;
+        dbTotal[slot] = pool != null ? pool.getTotalConnections() : -1;
+        dbWaiting[slot] = pool != null ? pool.getThreadsAwaitingConnection() : -1;
+
+        lastGcTimeMs = gcTime;
+        lastRequestCount = requestCount;
+        count = count + 1; // publish (single writer)
+    }
+
+    /**
+     * Hikari pool MXBean, also behind ConnectionLimitingDataSource (null before the pool starts)
+     */
+    private HikariPoolMXBean poolBean() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Samples for the last N minutes, downsampled to a resolution
+     *
+     * Gauges are averaged per bucket; GC pause is summed (total pause time in
+     * the bucket); pool waiting threads use the bucket maximum.
+     *
+     * @param minutes How far back (capped to the retained history)
+     * @param resolutionSeconds Bucket width (<= sample interval = raw samples)
+     * @return Columnar series, oldest first
+     */
+    public Map<String, Object> getHistory(int minutes, int resolutionSeconds) {
+        long end = count;
+        int wanted = (int) Math.min(Math.max(1, minutes) * 60_000L / intervalMillis, capacity);
+        long start = Math.max(0, end - wanted);
+        int perBucket = (int) Math.max(1, resolutionSeconds * 1000L / intervalMillis);
+
+        List<Long> ts = new ArrayList<>();
+        List<Double> heap = new ArrayList<>();
+        List<Double> nonHeap = new ArrayList<>();
+        List<Double> gc = new ArrayList<>();
+        List<Double> threadSeries = new ArrayList<>();
+        List<Double> cpu = new ArrayList<>();
+        List<Double> poolActive = new ArrayList<>();
+        List<Double> poolTotal = new ArrayList<>();
+        List<Integer> poolWaiting = new ArrayList<>();
+        List<Double> rps = new ArrayList<>();
+
+        for (long bucketStart = start; bucketStart < end; bucketStart += perBucket) {
+            long bucketEnd = Math.min(bucketStart + perBucket, end);
+            int n = 0;
+            long lastTs = 0;
+            double heapSum = 0, nonHeapSum = 0, gcSum = 0, threadSum = 0, cpuSum = 0, activeSum = 0, totalSum = 0, rpsSum = 0;
+            int waitingMax = 0;
+            for (long i = bucketStart; i < bucketEnd; i++) {
+                int slot = (int) (i % capacity);
+                lastTs = timestamps[slot];
+                heapSum += heapUsedMb[slot];
+                nonHeapSum += nonHeapUsedMb[slot];
+                gcSum += gcPauseMs[slot];
+                threadSum += threads[slot];
+                cpuSum += processCpu[slot];
+                activeSum += dbActive[slot];
+                totalSum += dbTotal[slot];
+                waitingMax = Math.max(waitingMax, dbWaiting[slot]);
+                rpsSum += requestsPerSecond[slot];
+                n++;
+            }
+            ts.add(lastTs);
+            heap.add(round(heapSum / n));
+            nonHeap.add(round(nonHeapSum / n));
+            gc.add(round(gcSum));
+            threadSeries.add(round(threadSum / n));
+            cpu.add(round(cpuSum / n));
+            poolActive.add(round(activeSum / n));
+            poolTotal.add(round(totalSum / n));
+            poolWaiting.add(waitingMax);
+            rps.add(round(rpsSum / n));
+        }
+
+        // Drop buckets the writer may have overwritten while we were reading
+        long overwrittenBefore = count - capacity;
+        int stale = overwrittenBefore > start ? (int) Math.min(ts.size(), (overwrittenBefore - start + perBucket - 1) / perBucket) : 0;
+
+        Map<String, Object> series = new HashMap<>();
+        series.put("timestamps", ts.subList(stale, ts.size()));
+        series.put("heapUsedMb", heap.subList(stale, heap.size()));
+        series.put("nonHeapUsedMb", nonHeap.subList(stale, nonHeap.size()));
+        series.put("gcPauseMs", gc.subList(stale, gc.size()));
+        series.put("threads", threadSeries.subList(stale, threadSeries.size()));
+        series.put("processCpuPercent", cpu.subList(stale, cpu.size()));
+        series.put("dbPoolActive", poolActive.subList(stale, poolActive.size()));
+        series.put("dbPoolTotal", poolTotal.subList(stale, poolTotal.size()));
+        series.put("dbPoolWaitingMax", poolWaiting.subList(stale, poolWaiting.size()));
+        series.put("requestsPerSecond", rps.subList(stale, rps.size()));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("sampleIntervalSeconds", intervalMillis / 1000.0);
+        result.put("resolutionSeconds", perBucket * intervalMillis / 1000.0);
+        result.put("retainedMinutes", capacity * intervalMillis / 60_000.0);
+        result.put("points", ts.size() - stale);
+        result.put("series", series);
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
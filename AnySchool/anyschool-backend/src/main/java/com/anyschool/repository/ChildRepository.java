@@ -1,9 +1,15 @@
 package com.anyschool.repository;
 
+import com.anyschool.dto.ChildSummary;
 import com.anyschool.model.Child;
 import com.anyschool.model.School;
 import com.anyschool.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -40,6 +46,7 @@ public interface ChildRepository extends JpaRepository<Child, Long> {
 
     /**
      * Count pending verifications for a school
+     * (the queue badge reads school_child_counters instead, see ChildVerificationService)
      */
     Long countBySchoolAndVerificationStatus(School school, String status);
 
@@ -47,4 +54,25 @@ public interface ChildRepository extends JpaRepository<Child, Long> {
      * Find children by school and grade
      */
     List<Child> findBySchoolAndGradeOrderByNameAsc(School school, String grade);
-}
\ No newline at end of file
+
+    String CHILD_SUMMARY_SELECT =
+            "SELECT c.id AS id, c.name AS name, c.grade AS grade, c.verificationStatus AS verificationStatus, " +
+            "c.createdAt AS createdAt, c.updatedAt AS updatedAt, s.id AS schoolId, s.name AS schoolName, " +
+            "s.district AS schoolDistrict, s.province AS schoolProvince, s.grades AS schoolGrades, " +
+            "c.requestedSchoolName AS requestedSchoolName " +
+            "FROM Child c LEFT JOIN c.school s ";
+
+    /**
+     * A parent's children as read-only projections, newest first
+     */
+    @Query(CHILD_SUMMARY_SELECT + "WHERE c.parent.id = :parentId ORDER BY c.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ChildSummary> findSummariesByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * All children at a school as read-only projections
+     */
+    @Query(CHILD_SUMMARY_SELECT + "WHERE s.id = :schoolId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ChildSummary> findSummariesBySchoolId(@Param("schoolId") Long schoolId);
+}
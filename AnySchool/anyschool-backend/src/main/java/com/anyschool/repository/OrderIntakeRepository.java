@@ -0,0 +1,59 @@
+package com.anyschool.repository;
+
+import com.anyschool.model.OrderIntake;
+import com.anyschool.model.OrderIntakeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Order Intake Repository
+ * 
+ * Data access for the peak-mode order intake queue.
+ */
+@Repository
+public interface OrderIntakeRepository extends JpaRepository<OrderIntake, Long> {
+
+    /**
+     * Find an intake by its public tracking id (status polling)
+     */
+    Optional<OrderIntake> findByTrackingId(String trackingId);
+
+    /**
+     * Lock the oldest queued intake that is due (not backing off) for this transaction.
+     * SKIP LOCKED lets several workers claim different rows without blocking each other.
+     */
+    @Query(value = "SELECT * FROM order_intake WHERE status = 'QUEUED' " +
+                   "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+                   "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<OrderIntake> lockNextDue(@Param("now") LocalDateTime now);
+
+    /**
+     * Lock a claimed intake for processing, if it is still queued
+     * (waits for a worker that is still processing the same intake)
+     */
+    @Query(value = "SELECT * FROM order_intake WHERE id = :id AND status = 'QUEUED' FOR UPDATE",
+           nativeQuery = true)
+    Optional<OrderIntake> lockQueued(@Param("id") Long id);
+
+    /**
+     * Count intakes by status (queue depth metrics)
+     */
+    long countByStatus(OrderIntakeStatus status);
+
+    /**
+     * Count intakes ahead of a given one in the queue
+     */
+    long countByStatusAndIdLessThan(OrderIntakeStatus status, Long id);
+
+    /**
+     * Creation time of the oldest intake in a status (queue age metrics)
+     */
+    @Query("SELECT MIN(i.createdAt) FROM OrderIntake i WHERE i.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") OrderIntakeStatus status);
+}
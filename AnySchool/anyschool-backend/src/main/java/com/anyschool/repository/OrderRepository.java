@@ -1,8 +1,15 @@
 package com.anyschool.repository;
 
+import com.anyschool.dto.AdminOrderSummary;
+import com.anyschool.dto.OrderSummary;
 import com.anyschool.model.Order;
 import com.anyschool.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,6 +19,11 @@ import java.util.List;
  * Order Repository
  * 
  * Data access layer for Order entities.
+ *
+ * The list endpoints read OrderSummary / AdminOrderSummary projections
+ * (find*Summaries): one query selecting just the listed columns, the school
+ * and user via left joins and the item count via a subquery, read-only.
+ * The entity finders stay for code that modifies orders or needs the items.
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -73,4 +85,60 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * Count orders created after a specific date
      */
     Integer countByCreatedAtAfter(LocalDateTime date);
+
+    String ORDER_SUMMARY_SELECT =
+            "SELECT o.id AS id, o.orderType AS orderType, o.studentGrade AS studentGrade, " +
+            "o.studentName AS studentName, o.totalAmount AS totalAmount, o.status AS status, " +
+            "SIZE(o.orderItems) AS itemCount, o.createdAt AS createdAt, o.academicYear AS academicYear, " +
+            "o.paymentType AS paymentType, o.monthlyInstalment AS monthlyInstalment, " +
+            "o.paymentPlanMonths AS paymentPlanMonths, o.debitOrderDay AS debitOrderDay, " +
+            "o.firstDebitDate AS firstDebitDate, o.lastDebitDate AS lastDebitDate, " +
+            "s.id AS schoolId, s.name AS schoolName, s.province AS schoolProvince, " +
+            "o.requestedSchoolName AS requestedSchoolName " +
+            "FROM Order o LEFT JOIN o.school s ";
+
+    String ADMIN_ORDER_SUMMARY_SELECT =
+            "SELECT o.id AS id, o.orderType AS orderType, o.status AS status, o.totalAmount AS totalAmount, " +
+            "o.studentGrade AS studentGrade, o.studentName AS studentName, o.isMarkedFinal AS isMarkedFinal, " +
+            "o.createdAt AS createdAt, SIZE(o.orderItems) AS itemCount, " +
+            "u.id AS userId, u.fullName AS userFullName, u.email AS userEmail, " +
+            "s.id AS schoolId, s.name AS schoolName, o.requestedSchoolName AS requestedSchoolName " +
+            "FROM Order o LEFT JOIN o.user u LEFT JOIN o.school s ";
+
+    /**
+     * A user's orders, newest first (GET /api/orders)
+     */
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OrderSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * A user's orders of one type, newest first (GET /api/orders/donations)
+     */
+    @Query(ORDER_SUMMARY_SELECT + "WHERE o.user.id = :userId AND o.orderType = :orderType ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OrderSummary> findSummariesByUserIdAndOrderType(@Param("userId") Long userId,
+                                                         @Param("orderType") String orderType);
+
+    /**
+     * A school's orders, newest first (GET /api/orders/school/{schoolId})
+     */
+    @Query(ORDER_SUMMARY_SELECT + "WHERE s.id = :schoolId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OrderSummary> findSummariesBySchoolId(@Param("schoolId") Long schoolId);
+
+    /**
+     * Every order (GET /api/admin/orders)
+     */
+    @Query(ADMIN_ORDER_SUMMARY_SELECT + "ORDER BY o.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AdminOrderSummary> findAllAdminSummaries();
+
+    /**
+     * A school's orders for the super admin, newest first
+     * (GET /api/admin/orders/school/{schoolId})
+     */
+    @Query(ADMIN_ORDER_SUMMARY_SELECT + "WHERE s.id = :schoolId ORDER BY o.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AdminOrderSummary> findAdminSummariesBySchoolId(@Param("schoolId") Long schoolId);
 }
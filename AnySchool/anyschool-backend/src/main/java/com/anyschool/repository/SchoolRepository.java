@@ -1,7 +1,13 @@
 package com.anyschool.repository;
 
+import com.anyschool.dto.SchoolSummary;
 import com.anyschool.model.School;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +31,13 @@ import java.util.List;
  * 
  * Custom methods:
  * - findByProvince(String province) - Find schools by province
+ *
+ * findAll and findByProvince results go to the Hibernate query cache
+ * (SecondLevelCacheConfig).
+ *
+ * The public school lists read SchoolSummary projections (school + linked
+ * admin in one query, read-only); their rows are query-cached as well and
+ * invalidated whenever schools or users change.
  */
 @Repository
 public interface SchoolRepository extends JpaRepository<School, Long> {
@@ -38,5 +51,40 @@ public interface SchoolRepository extends JpaRepository<School, Long> {
      * @param province Province name
      * @return List of schools in the specified province (empty list if none found)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<School> findByProvince(String province);
+
+    /**
+     * All schools (cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<School> findAll();
+
+    /**
+     * School summary with its admin. Not query-cached: a users write through
+     * this node's Hibernate does invalidate the result (update-timestamps
+     * region), but users is not a cached entity, so the invalidation bus never
+     * announces its changes. An admin edited on another node, by AnyOffice or
+     * over plain JDBC would be served stale here until the query region expired.
+     */
+    String SCHOOL_SUMMARY_SELECT =
+            "SELECT s.id AS id, s.name AS name, s.district AS district, s.province AS province, " +
+            "s.grades AS grades, s.phone AS phone, s.createdAt AS createdAt, s.updatedAt AS updatedAt, " +
+            "a.id AS adminId, a.fullName AS adminFullName, a.email AS adminEmail " +
+            "FROM School s LEFT JOIN s.admin a ";
+
+    /**
+     * All schools with their admin (GET /api/schools)
+     */
+    @Query(SCHOOL_SUMMARY_SELECT + "ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<SchoolSummary> findAllSummaries();
+
+    /**
+     * Schools in a province with their admin (GET /api/schools/province/{province})
+     */
+    @Query(SCHOOL_SUMMARY_SELECT + "WHERE s.province = :province ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<SchoolSummary> findSummariesByProvince(@Param("province") String province);
 }
@@ -29,6 +29,11 @@ public interface SchoolRequestRepository extends JpaRepository<SchoolRequest, Lo
     @Query("SELECT sr FROM SchoolRequest sr LEFT JOIN FETCH sr.user WHERE sr.status = ?1 ORDER BY sr.createdAt DESC")
     List<SchoolRequest> findByStatusOrderByCreatedAtDesc(SchoolRequestStatus status);
 
+    /**
+     * Count requests by status (monitoring; no entity loading)
+     */
+    long countByStatus(SchoolRequestStatus status);
+
     /**
      * Find reviews by request type
      */
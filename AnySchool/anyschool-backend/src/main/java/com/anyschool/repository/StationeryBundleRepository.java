@@ -1,7 +1,10 @@
 package com.anyschool.repository;
 
 import com.anyschool.model.StationeryBundle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,11 +19,12 @@ import java.util.List;
 public interface StationeryBundleRepository extends JpaRepository<StationeryBundle, Long> {
 
     /**
-     * Find all bundles for a specific school
+     * Find all bundles for a specific school (cached)
      * 
      * @param schoolId School ID
      * @return List of bundles for the school
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<StationeryBundle> findBySchoolIdOrderByGrade(Long schoolId);
 
     /**
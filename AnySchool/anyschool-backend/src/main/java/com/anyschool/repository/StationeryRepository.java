@@ -1,7 +1,10 @@
 package com.anyschool.repository;
 
 import com.anyschool.model.Stationery;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +28,9 @@ import java.util.List;
  * 
  * Custom methods:
  * - findByCategory(String category) - Find stationery items by category
+ *
+ * findAll and findByCategory results go to the Hibernate query cache
+ * (SecondLevelCacheConfig).
  */
 @Repository
 public interface StationeryRepository extends JpaRepository<Stationery, Long> {
@@ -38,5 +44,13 @@ public interface StationeryRepository extends JpaRepository<Stationery, Long> {
      * @param category Stationery category (e.g., "Pens", "Notebooks", "Backpacks")
      * @return List of stationery items in the specified category (empty list if none found)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Stationery> findByCategory(String category);
+
+    /**
+     * Full catalogue (cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Stationery> findAll();
 }
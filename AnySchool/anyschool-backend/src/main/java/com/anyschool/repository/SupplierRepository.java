@@ -1,7 +1,10 @@
 package com.anyschool.repository;
 
 import com.anyschool.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +13,9 @@ import java.util.List;
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     
     /**
-     * Find all active suppliers
+     * Find all active suppliers (cached)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Supplier> findByActiveTrue();
     
     /**
@@ -1,9 +1,15 @@
 package com.anyschool.repository;
 
+import com.anyschool.dto.UserSummary;
 import com.anyschool.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,6 +31,7 @@ import java.util.Optional;
  * 
  * Custom methods:
  * - findByEmail(String email) - Find user by email address
+ * - findAllSummaries() - Admin user list as read-only projections
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -50,4 +57,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Count of users with that role
      */
     Long countByRole(String role);
+
+    /**
+     * All users for the admin list
+     * 
+     * Selects only the listed columns into UserSummary rows: no User entities
+     * in the persistence context, nothing to dirty-check, and the password
+     * hash never leaves the database.
+     */
+    @Query("SELECT u.id AS id, u.fullName AS fullName, u.email AS email, u.phoneNumber AS phoneNumber, " +
+           "u.role AS role, u.enabled AS enabled, u.verified AS verified, u.createdAt AS createdAt, " +
+           "u.schoolId AS schoolId " +
+           "FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserSummary> findAllSummaries();
 }
@@ -0,0 +1,620 @@
+package com.anyschool.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Scale Data Seeder
+ *
+ * Generates a production-sized synthetic data set for load and capacity
+ * testing. Off by default; enable with app.seed.scale.enabled=true.
+ *
+ * Default volumes (all configurable under app.seed.scale.*):
+ * - 5 000 schools, each with a school admin
+ * - 500 000 parents and 1 000 000 children
+ * - 5 000 000 orders with 1-6 items each (~17M order items)
+ * - 2 000 000 messages in parent/school threads
+ * - 1 000 000 communications (all audience types)
+ *
+ * How it works:
+ * - Rows are streamed with PostgreSQL COPY (CopyStream), not JPA. Orders +
+ *   items, messages and communications load in parallel on separate
+ *   connections once users, schools and children are in.
+ * - Deterministic: every row is derived from app.seed.scale.seed and its
+ *   own index (dates from app.seed.scale.as-of), so the same settings give
+ *   the same data on any machine, independent of load order.
+ * - Ids are allocated after each table's current max id, then the identity
+ *   and pooled order sequences are moved past the new rows and the tables
+ *   are ANALYZEd.
+ * - Runs after startup (after DataInitializer, whose stationery catalogue
+ *   the orders use) and skips itself if the scale data already exists.
+ *
+ * All seeded users share app.seed.scale.password; emails are
+ * admin{n}@seed.anyschool.test and parent{n}@seed.anyschool.test.
+ */
+@Component
+@Slf4j
+public class ScaleDataSeeder {
+
+    static final String EMAIL_DOMAIN = "@seed.anyschool.test";
+
+    // Per-table salts for the row generators
+    private static final long SALT_PARENT = 1;
+    private static final long SALT_SCHOOL = 2;
+    private static final long SALT_CHILD = 3;
+    private static final long SALT_ORDER = 4;
+    private static final long SALT_MESSAGE = 5;
+    private static final long SALT_COMMUNICATION = 6;
+    private static final long SALT_ADMIN = 7;
+
+    private static final String[] FIRST_NAMES = {
+            "Thabo", "Lerato", "Sipho", "Naledi", "Johan", "Anika", "Pieter", "Zanele", "Mandla", "Ayanda",
+            "Kagiso", "Palesa", "Themba", "Nomsa", "Ruan", "Chloe", "Ethan", "Amahle", "Liam", "Lindiwe",
+            "Tshepo", "Refilwe", "Bongani", "Karabo", "Mpho", "Jacques", "Megan", "Sibusiso", "Priya", "Yusuf"
+    };
+    private static final String[] SURNAMES = {
+            "Nkosi", "Dlamini", "Botha", "van der Merwe", "Naidoo", "Mokoena", "Khumalo", "Pillay", "Smith", "Ndlovu",
+            "Mthembu", "Jacobs", "Pretorius", "Zulu", "Mahlangu", "Fourie", "Govender", "Sithole", "Williams", "Molefe"
+    };
+    private static final String[][] TOWNS = {
+            {"Soweto", "City of Johannesburg", "Gauteng"},
+            {"Randburg", "City of Johannesburg", "Gauteng"},
+            {"Centurion", "City of Tshwane", "Gauteng"},
+            {"Mamelodi", "City of Tshwane", "Gauteng"},
+            {"Benoni", "Ekurhuleni", "Gauteng"},
+            {"Khayelitsha", "Cape Town Metro", "Western Cape"},
+            {"Bellville", "Cape Town Metro", "Western Cape"},
+            {"Stellenbosch", "Cape Winelands", "Western Cape"},
+            {"Umlazi", "eThekwini", "KwaZulu-Natal"},
+            {"Pinetown", "eThekwini", "KwaZulu-Natal"},
+            {"Pietermaritzburg", "uMgungundlovu", "KwaZulu-Natal"},
+            {"Gqeberha", "Nelson Mandela Bay", "Eastern Cape"},
+            {"Mthatha", "OR Tambo", "Eastern Cape"},
+            {"Bloemfontein", "Mangaung", "Free State"},
+            {"Polokwane", "Capricorn", "Limpopo"},
+            {"Mbombela", "Ehlanzeni", "Mpumalanga"},
+            {"Rustenburg", "Bojanala", "North West"},
+            {"Kimberley", "Frances Baard", "Northern Cape"}
+    };
+    private static final String[] SCHOOL_TYPES = {"Primary School", "High School", "Combined School"};
+    private static final String[] SCHOOL_GRADES = {"R,1,2,3,4,5,6,7", "8,9,10,11,12", "R,1,2,3,4,5,6,7,8,9,10,11,12"};
+    private static final String[] MESSAGE_SUBJECTS = {
+            "Stationery order question", "Missing items", "Delivery date", "Payment plan", "Uniform and books", "Change of class"
+    };
+    private static final String[] COMMUNICATION_TYPES = {"ANNOUNCEMENT", "EVENT", "REMINDER", "URGENT", "GENERAL"};
+    private static final String[] COMMUNICATION_PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "HIGH"};
+    private static final int[] DEBIT_DAYS = {1, 15, 25, 31};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    private final boolean enabled;
+    private final long seed;
+    private final String asOfSetting;
+    private final int schools;
+    private final int parents;
+    private final int children;
+    private final int orders;
+    private final int maxItemsPerOrder;
+    private final int messages;
+    private final int communications;
+    private final int parallelism;
+    private final String password;
+
+    public ScaleDataSeeder(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.seed.scale.enabled:false}") boolean enabled,
+            @Value("${app.seed.scale.seed:42}") long seed,
+            @Value("${app.seed.scale.as-of:}") String asOfSetting,
+            @Value("${app.seed.scale.schools:5000}") int schools,
+            @Value("${app.seed.scale.parents:500000}") int parents,
+            @Value("${app.seed.scale.children:1000000}") int children,
+            @Value("${app.seed.scale.orders:5000000}") int orders,
+            @Value("${app.seed.scale.max-items-per-order:6}") int maxItemsPerOrder,
+            @Value("${app.seed.scale.messages:2000000}") int messages,
+            @Value("${app.seed.scale.communications:1000000}") int communications,
+            @Value("${app.seed.scale.parallelism:3}") int parallelism,
+            @Value("${app.seed.scale.password:Seed@2026}") String password
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.enabled = enabled;
+        this.seed = seed;
+        this.asOfSetting = asOfSetting;
+        this.schools = Math.max(1, schools);
+        this.parents = Math.max(1, parents);
+        this.children = Math.max(1, children);
+        this.orders = Math.max(0, orders);
+        this.maxItemsPerOrder = Math.max(1, maxItemsPerOrder);
+        this.messages = Math.max(0, messages);
+        this.communications = Math.max(0, communications);
+        this.parallelism = Math.max(1, parallelism);
+        this.password = password;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            seed();
+        } catch (Exception e) {
+            log.error("❌ Scale seed failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generate and load the full data set (no-op if it already exists)
+     */
+    public void seed() throws SQLException, InterruptedException, ExecutionException {
+        Boolean seeded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE email = ?)", Boolean.class, "admin1" + EMAIL_DOMAIN);
+        if (Boolean.TRUE.equals(seeded)) {
+            log.info("ℹ️  Scale seed data already present - skipping");
+            return;
+        }
+
+        Plan plan = plan();
+        log.info("========================================");
+        log.info("🌱 Scale seed (seed {}, as of {}): {} schools, {} parents, {} children, {} orders, {} messages, {} communications",
+                seed, plan.asOf().toLocalDate(), schools, parents, children, orders, messages, communications);
+        log.info("========================================");
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            timed("users", () -> copyUsers(connection, plan));
+            timed("schools", () -> copySchools(connection, plan));
+            timed("children", () -> copyChildren(connection, plan));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scale-seed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(executor.submit(() -> withConnection(connection -> {
+                timed("orders", () -> copyOrders(connection, plan));
+                timed("order_items", () -> copyOrderItems(connection, plan));
+            })));
+            tasks.add(executor.submit(() -> withConnection(connection -> timed("messages", () -> copyMessages(connection, plan)))));
+            tasks.add(executor.submit(() -> withConnection(connection -> timed("communications", () -> copyCommunications(connection, plan)))));
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        resetSequencesAndAnalyze();
+
+        log.info("========================================");
+        log.info("✅ Scale seed complete in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        log.info("========================================");
+    }
+
+    // =========================================================================
+    // Tables
+    // =========================================================================
+
+    private long copyUsers(Connection connection, Plan plan) throws SQLException {
+        String passwordHash = passwordEncoder.encode(password);
+        try (CopyStream copy = CopyStream.open(connection, "users",
+                "id, email, password, full_name, phone_number, role, enabled, failed_login_attempts, verified, school_id, created_at, updated_at")) {
+            for (long s = 1; s <= schools; s++) {
+                SplittableRandom r = rng(SALT_ADMIN, s);
+                LocalDateTime createdAt = plan.asOf().minusDays(400 + r.nextInt(700));
+                copy.number(plan.adminId(s)).text("admin" + s + EMAIL_DOMAIN).text(passwordHash)
+                        .text(pick(r, FIRST_NAMES) + " " + pick(r, SURNAMES)).text(phone(r)).text("SCHOOL_ADMIN")
+                        .bool(true).number(0).bool(true).number(plan.schoolId(s))
+                        .timestamp(createdAt).timestamp(createdAt);
+                copy.endRow();
+            }
+            for (long p = 1; p <= parents; p++) {
+                SplittableRandom r = rng(SALT_PARENT, p);
+                LocalDateTime createdAt = plan.asOf().minusMinutes(r.nextLong(730L * 24 * 60));
+                copy.number(plan.parentId(p)).text("parent" + p + EMAIL_DOMAIN).text(passwordHash)
+                        .text(pick(r, FIRST_NAMES) + " " + surname(p)).text(phone(r)).text("PARENT")
+                        .bool(true).number(0).bool(r.nextInt(20) != 0).nul()
+                        .timestamp(createdAt).timestamp(createdAt);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copySchools(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "schools",
+                "id, name, district, province, grades, phone, admin_user_id, created_at, updated_at")) {
+            for (long s = 1; s <= schools; s++) {
+                SchoolRow school = school(s);
+                SplittableRandom r = rng(SALT_SCHOOL, -s);
+                LocalDateTime createdAt = plan.asOf().minusDays(400 + r.nextInt(700));
+                copy.number(plan.schoolId(s)).text(school.town()[0] + " " + SCHOOL_TYPES[school.type()] + " " + s)
+                        .text(school.town()[1]).text(school.town()[2]).text(SCHOOL_GRADES[school.type()])
+                        .text(phone(r)).number(plan.adminId(s)).timestamp(createdAt).timestamp(createdAt);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyChildren(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "children",
+                "id, name, grade, date_of_birth, parent_id, school_id, requested_school_name, verification_status, created_at, updated_at")) {
+            for (long c = 1; c <= children; c++) {
+                ChildRow child = child(c);
+                SplittableRandom r = rng(SALT_CHILD, -c);
+                int gradeNumber = "R".equals(child.grade()) ? 0 : Integer.parseInt(child.grade());
+                LocalDate dateOfBirth = plan.asOf().toLocalDate().minusYears(6 + gradeNumber).minusDays(r.nextInt(365));
+                LocalDateTime createdAt = plan.asOf().minusMinutes(r.nextLong(700L * 24 * 60));
+                int verification = r.nextInt(100);
+                copy.number(plan.childId(c)).text(child.firstName() + " " + surname(child.parent()))
+                        .text(child.grade()).date(dateOfBirth).number(plan.parentId(child.parent()))
+                        .number(plan.schoolId(child.school())).nul()
+                        .text(verification < 85 ? "APPROVED" : verification < 97 ? "PENDING" : "REJECTED")
+                        .timestamp(createdAt).timestamp(createdAt);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyOrders(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "orders",
+                "id, user_id, school_id, order_type, child_id, student_grade, student_name, total_amount, status, " +
+                "is_marked_final, academic_year, payment_type, order_month, payment_plan_months, payments_received, " +
+                "monthly_instalment, debit_order_day, first_debit_date, last_debit_date, created_at, updated_at, version")) {
+            for (long o = 1; o <= orders; o++) {
+                OrderRow order = order(o, plan);
+                ChildRow child = order.child();
+                boolean donation = order.donation();
+                copy.number(plan.orderId(o)).number(plan.parentId(child.parent())).number(plan.schoolId(child.school()))
+                        .text(donation ? "DONATION" : "PURCHASE")
+                        .number(donation ? null : plan.childId(order.childIndex()))
+                        .text(donation ? null : child.grade())
+                        .text(donation ? null : child.firstName() + " " + surname(child.parent()))
+                        .cents(order.totalCents()).text(order.status())
+                        .bool(order.markedFinal()).text(order.academicYear());
+                if (order.planMonths() > 0) {
+                    copy.text("PAYMENT_PLAN").number(order.createdAt().getMonthValue()).number(order.planMonths())
+                            .number(order.paymentsReceived()).cents(order.instalmentCents()).number(order.debitDay())
+                            .timestamp(order.firstDebit()).timestamp(order.lastDebit());
+                } else {
+                    copy.text("IMMEDIATE").number(order.createdAt().getMonthValue()).nul()
+                            .number(0).nul().nul().nul().nul();
+                }
+                copy.timestamp(order.createdAt()).timestamp(order.updatedAt()).number(0);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Second pass over the same order generator (rows are derived from the
+     * order index, so the lines match the totals written by copyOrders)
+     */
+    private long copyOrderItems(Connection connection, Plan plan) throws SQLException {
+        long itemId = plan.itemBase();
+        try (CopyStream copy = CopyStream.open(connection, "order_items",
+                "id, order_id, stationery_id, quantity, price, subtotal")) {
+            for (long o = 1; o <= orders; o++) {
+                OrderRow order = order(o, plan);
+                for (int l = 0; l < order.lines().length; l++) {
+                    int item = order.lines()[l];
+                    long price = plan.catalogueCents()[item];
+                    copy.number(++itemId).number(plan.orderId(o)).number(plan.catalogueIds()[item])
+                            .number(order.quantities()[l]).cents(price).cents(price * order.quantities()[l]);
+                    copy.endRow();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Threads of 1-6 messages between a parent and their child's school admin
+     */
+    private long copyMessages(Connection connection, Plan plan) throws SQLException {
+        SplittableRandom r = rng(SALT_MESSAGE, 0);
+        long written = 0;
+        try (CopyStream copy = CopyStream.open(connection, "messages",
+                "id, school_id, parent_user_id, child_id, sender_user_id, subject, content, thread_id, " +
+                "is_thread_start, is_read, sent_at, read_at")) {
+            while (written < messages) {
+                long c = 1 + r.nextLong(children);
+                ChildRow child = child(c);
+                long parentId = plan.parentId(child.parent());
+                long adminId = plan.adminId(child.school());
+                long threadId = plan.messageBase() + written + 1;
+                int length = (int) Math.min(1 + r.nextInt(6), messages - written);
+                boolean parentStarts = r.nextInt(5) != 0;
+                String subject = pick(r, MESSAGE_SUBJECTS);
+                LocalDateTime sentAt = plan.asOf().minusMinutes(r.nextLong(300L * 24 * 60));
+
+                for (int m = 0; m < length; m++) {
+                    boolean fromParent = (m % 2 == 0) == parentStarts;
+                    boolean read = m < length - 1 || r.nextInt(3) != 0;
+                    LocalDateTime readAt = read ? sentAt.plusMinutes(5 + r.nextInt(600)) : null;
+                    copy.number(plan.messageBase() + written + 1).number(plan.schoolId(child.school()))
+                            .number(parentId).number(plan.childId(c)).number(fromParent ? parentId : adminId)
+                            .text(m == 0 ? subject : null)
+                            .text((fromParent ? "Hi, regarding " : "Thank you, regarding ") + subject.toLowerCase()
+                                    + " for " + child.firstName() + " (message " + (m + 1) + ")")
+                            .number(threadId).bool(m == 0).bool(read).timestamp(sentAt).timestamp(readAt);
+                    copy.endRow();
+                    written++;
+                    sentAt = sentAt.plusMinutes(30 + r.nextInt(2 * 24 * 60));
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyCommunications(Connection connection, Plan plan) throws SQLException {
+        try (CopyStream copy = CopyStream.open(connection, "communications",
+                "id, school_id, created_by_user_id, title, message, type, priority, target_audience, target_grades, " +
+                "target_child_id, created_at, updated_at, published, is_read")) {
+            for (long i = 1; i <= communications; i++) {
+                SplittableRandom r = rng(SALT_COMMUNICATION, i);
+                int audience = r.nextInt(100);
+                long school;
+                String targetGrades = null;
+                Long targetChild = null;
+                if (audience < 15) {
+                    long c = 1 + r.nextLong(children);
+                    school = child(c).school();
+                    targetChild = plan.childId(c);
+                } else {
+                    school = 1 + r.nextLong(schools);
+                    if (audience < 50) {
+                        String[] grades = SCHOOL_GRADES[school(school).type()].split(",");
+                        int from = r.nextInt(grades.length);
+                        int to = Math.min(grades.length, from + 1 + r.nextInt(3));
+                        targetGrades = String.join(",", Arrays.copyOfRange(grades, from, to));
+                    }
+                }
+                String type = pick(r, COMMUNICATION_TYPES);
+                LocalDateTime createdAt = plan.asOf().minusMinutes(r.nextLong(365L * 24 * 60));
+                copy.number(plan.communicationBase() + i).number(plan.schoolId(school)).number(plan.adminId(school))
+                        .text(type.charAt(0) + type.substring(1).toLowerCase() + " #" + i)
+                        .text("Dear parents, this is " + type.toLowerCase() + " " + i + " from the school office.")
+                        .text(type).text(pick(r, COMMUNICATION_PRIORITIES))
+                        .text(targetChild != null ? "SPECIFIC_CHILD" : targetGrades != null ? "SPECIFIC_GRADES" : "ALL")
+                        .text(targetGrades).number(targetChild)
+                        .timestamp(createdAt).timestamp(createdAt).bool(r.nextInt(20) != 0).bool(false);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private void resetSequencesAndAnalyze() {
+        for (String table : new String[]{"users", "schools", "children", "messages", "communications"}) {
+            jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                    "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+        }
+        // Pooled sequences (allocationSize 50): leave a full block past the max id
+        jdbcTemplate.execute("SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) FROM orders) + 50)");
+        jdbcTemplate.execute("SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) FROM order_items) + 50)");
+
+        for (String table : new String[]{"users", "schools", "children", "orders", "order_items", "messages", "communications"}) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    // =========================================================================
+    // Row generators (pure functions of seed + index)
+    // =========================================================================
+
+    private record Plan(LocalDateTime asOf, long userBase, int schools, long schoolBase, long childBase,
+                        long orderBase, long itemBase, long messageBase, long communicationBase,
+                        long[] catalogueIds, long[] catalogueCents) {
+        long adminId(long s) { return userBase + s; }
+        long parentId(long p) { return userBase + schools + p; }
+        long schoolId(long s) { return schoolBase + s; }
+        long childId(long c) { return childBase + c; }
+        long orderId(long o) { return orderBase + o; }
+    }
+
+    private record SchoolRow(int type, String[] town) {
+    }
+
+    private record ChildRow(long parent, long school, String grade, String firstName) {
+    }
+
+    private record OrderRow(long childIndex, ChildRow child, boolean donation, LocalDateTime createdAt,
+                            LocalDateTime updatedAt, String status, boolean markedFinal, String academicYear,
+                            int[] lines, int[] quantities, long totalCents, int planMonths, int paymentsReceived,
+                            long instalmentCents, int debitDay, LocalDateTime firstDebit, LocalDateTime lastDebit) {
+    }
+
+    private Plan plan() {
+        LocalDateTime asOf = asOfSetting == null || asOfSetting.isBlank()
+                ? LocalDate.now().atStartOfDay()
+                : LocalDate.parse(asOfSetting).atStartOfDay();
+
+        List<long[]> catalogue = jdbcTemplate.query(
+                "SELECT id, ROUND(price * 100) AS cents FROM stationery WHERE available = true ORDER BY id",
+                (rs, i) -> new long[]{rs.getLong("id"), rs.getLong("cents")});
+        if (catalogue.isEmpty()) {
+            throw new IllegalStateException("No available stationery - scale seed needs the stationery catalogue");
+        }
+        long[] ids = new long[catalogue.size()];
+        long[] cents = new long[catalogue.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = catalogue.get(i)[0];
+            cents[i] = catalogue.get(i)[1];
+        }
+
+        return new Plan(asOf, maxId("users"), schools, maxId("schools"), maxId("children"),
+                maxId("orders"), maxId("order_items"), maxId("messages"), maxId("communications"), ids, cents);
+    }
+
+    private SchoolRow school(long s) {
+        SplittableRandom r = rng(SALT_SCHOOL, s);
+        int typeDraw = r.nextInt(100);
+        int type = typeDraw < 60 ? 0 : typeDraw < 90 ? 1 : 2;
+        return new SchoolRow(type, TOWNS[r.nextInt(TOWNS.length)]);
+    }
+
+    /**
+     * Children are spread evenly over parents (1M / 500k = two each by
+     * default); the school and a grade it teaches are random
+     */
+    private ChildRow child(long c) {
+        SplittableRandom r = rng(SALT_CHILD, c);
+        long parent = (c - 1) % parents + 1;
+        long school = 1 + r.nextLong(schools);
+        String[] grades = SCHOOL_GRADES[school(school).type()].split(",");
+        return new ChildRow(parent, school, grades[r.nextInt(grades.length)], pick(r, FIRST_NAMES));
+    }
+
+    private OrderRow order(long o, Plan plan) {
+        SplittableRandom r = rng(SALT_ORDER, o);
+        long childIndex = 1 + r.nextLong(children);
+        ChildRow child = child(childIndex);
+        boolean donation = r.nextInt(100) < 5;
+        LocalDateTime createdAt = plan.asOf().minusMinutes(r.nextLong(365L * 24 * 60));
+        long ageDays = ChronoUnit.DAYS.between(createdAt, plan.asOf());
+
+        int lineCount = 1 + r.nextInt(maxItemsPerOrder);
+        int[] lines = new int[lineCount];
+        int[] quantities = new int[lineCount];
+        long total = 0;
+        for (int l = 0; l < lineCount; l++) {
+            lines[l] = r.nextInt(plan.catalogueIds().length);
+            quantities[l] = r.nextInt(10) < 7 ? 1 : 2 + r.nextInt(4);
+            total += plan.catalogueCents()[lines[l]] * quantities[l];
+        }
+
+        String status = status(r, ageDays);
+        boolean markedFinal = switch (status) {
+            case "FINALIZING", "OUT_FOR_DELIVERY", "DELIVERED", "CLOSED" -> true;
+            default -> false;
+        };
+        int month = createdAt.getMonthValue();
+        String academicYear = String.valueOf(createdAt.getYear() + (month >= 10 ? 1 : 0));
+        LocalDateTime updatedAt = createdAt.plusMinutes(ageDays == 0 ? 0 : r.nextLong(ageDays * 24 * 60));
+
+        // Payment plan: next month to November, like OrderService.createOrder
+        int planMonths = 0;
+        int paymentsReceived = 0;
+        long instalment = 0;
+        int debitDay = 0;
+        LocalDateTime firstDebit = null;
+        LocalDateTime lastDebit = null;
+        if (!donation && month <= 9 && r.nextInt(4) == 0) {
+            planMonths = 11 - month;
+            debitDay = DEBIT_DAYS[r.nextInt(DEBIT_DAYS.length)];
+            instalment = (total * 2 + planMonths) / (2L * planMonths);
+            firstDebit = debitDate(createdAt.getYear(), month + 1, debitDay);
+            lastDebit = debitDate(createdAt.getYear(), 11, debitDay);
+            if (!"PENDING".equals(status) && !"DECLINED".equals(status) && !"CANCELLED".equals(status)) {
+                long due = firstDebit.isAfter(plan.asOf()) ? 0 : ChronoUnit.MONTHS.between(firstDebit, plan.asOf()) + 1;
+                paymentsReceived = (int) Math.min(planMonths, due);
+            }
+        }
+
+        return new OrderRow(childIndex, child, donation, createdAt, updatedAt, status, markedFinal, academicYear,
+                lines, quantities, total, planMonths, paymentsReceived, instalment, debitDay, firstDebit, lastDebit);
+    }
+
+    /**
+     * Lifecycle status by order age, with a few declines/cancellations
+     */
+    private static String status(SplittableRandom r, long ageDays) {
+        int draw = r.nextInt(100);
+        if (draw < 2) {
+            return "DECLINED";
+        }
+        if (draw < 4) {
+            return "CANCELLED";
+        }
+        if (ageDays < 2) {
+            return draw < 70 ? "PENDING" : "APPROVED";
+        }
+        if (ageDays < 7) {
+            return draw < 30 ? "APPROVED" : draw < 60 ? "ACKNOWLEDGED" : "IN_PROCESS";
+        }
+        if (ageDays < 30) {
+            return draw < 30 ? "IN_PROCESS" : draw < 50 ? "FINALIZING" : draw < 70 ? "OUT_FOR_DELIVERY" : "DELIVERED";
+        }
+        return draw < 60 ? "CLOSED" : "DELIVERED";
+    }
+
+    private static LocalDateTime debitDate(int year, int month, int debitDay) {
+        int length = LocalDate.of(year, month, 1).lengthOfMonth();
+        return LocalDateTime.of(year, month, debitDay == 31 ? length : Math.min(debitDay, length), 0, 0);
+    }
+
+    private String surname(long parent) {
+        return SURNAMES[rng(SALT_PARENT, -parent).nextInt(SURNAMES.length)];
+    }
+
+    private SplittableRandom rng(long salt, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private static String pick(SplittableRandom r, String[] values) {
+        return values[r.nextInt(values.length)];
+    }
+
+    private static String phone(SplittableRandom r) {
+        return "0" + (60 + r.nextInt(25)) + String.format("%07d", r.nextInt(10_000_000));
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private interface CopyTask {
+        long run() throws SQLException;
+    }
+
+    private interface ConnectionTask {
+        void run(Connection connection) throws SQLException;
+    }
+
+    private void timed(String table, CopyTask task) throws SQLException {
+        long start = System.nanoTime();
+        long rows = task.run();
+        double seconds = Math.max(0.001, (System.nanoTime() - start) / 1_000_000_000.0);
+        log.info("  ✅ {}: {} rows in {} s ({} rows/s)", table, rows, Math.round(seconds), Math.round(rows / seconds));
+    }
+
+    private Void withConnection(ConnectionTask task) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            task.run(connection);
+        }
+        return null;
+    }
+}
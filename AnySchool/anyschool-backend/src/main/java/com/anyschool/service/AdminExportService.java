@@ -0,0 +1,277 @@
+package com.anyschool.service;
+
+import com.anyschool.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/**
+ * Admin Export Service
+ *
+ * Super admin data exports (users, orders, order items) as NDJSON or CSV.
+ *
+ * Each export streams one SELECT through a forward-only JDBC cursor
+ * (app.export.fetch-size rows per round-trip) and writes every row straight
+ * to the output stream - through a Jackson generator for NDJSON, CsvUtils
+ * for CSV - so memory use doesn't depend on the number of rows. Field names
+ * are the SQL column aliases (camelCase, as in the admin list responses);
+ * timestamps are ISO-8601 local date-times.
+ *
+ * Must run in a (read-only) transaction: the PostgreSQL driver only uses a
+ * cursor instead of buffering the whole result when autocommit is off. Being
+ * read-only, the export is served by a read replica when one is configured.
+ */
+@Service
+@Slf4j
+public class AdminExportService {
+
+    /**
+     * Output format, chosen with ?format= on the export endpoints
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String USERS_SQL =
+            "SELECT u.id AS \"id\", u.full_name AS \"fullName\", u.email AS \"email\", " +
+            "       u.phone_number AS \"phoneNumber\", u.role AS \"role\", u.enabled AS \"enabled\", " +
+            "       u.verified AS \"verified\", u.school_id AS \"schoolId\", u.created_at AS \"createdAt\" " +
+            "FROM users u ORDER BY u.id";
+
+    private static final String ORDERS_SQL =
+            "SELECT o.id AS \"id\", o.user_id AS \"userId\", u.email AS \"userEmail\", " +
+            "       o.school_id AS \"schoolId\", s.name AS \"schoolName\", " +
+            "       o.requested_school_name AS \"requestedSchoolName\", o.order_type AS \"orderType\", " +
+            "       o.status AS \"status\", o.total_amount AS \"totalAmount\", o.student_name AS \"studentName\", " +
+            "       o.student_grade AS \"studentGrade\", o.academic_year AS \"academicYear\", " +
+            "       o.payment_type AS \"paymentType\", o.payments_received AS \"paymentsReceived\", " +
+            "       o.payment_plan_months AS \"paymentPlanMonths\", o.is_marked_final AS \"isMarkedFinal\", " +
+            "       o.created_at AS \"createdAt\", o.updated_at AS \"updatedAt\" " +
+            "FROM orders o JOIN users u ON u.id = o.user_id LEFT JOIN schools s ON s.id = o.school_id " +
+            "ORDER BY o.id";
+
+    private static final String ORDER_ITEMS_SQL =
+            "SELECT i.id AS \"id\", i.order_id AS \"orderId\", i.stationery_id AS \"stationeryId\", " +
+            "       st.name AS \"stationeryName\", i.quantity AS \"quantity\", i.price AS \"price\", " +
+            "       i.subtotal AS \"subtotal\" " +
+            "FROM order_items i LEFT JOIN stationery st ON st.id = i.stationery_id " +
+            "ORDER BY i.order_id, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AdminExportService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream all users (no password, OTP or reset-token columns)
+     *
+     * @param out Destination (HTTP response), not closed
+     * @return Number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeUsers(Format format, OutputStream out) {
+        return export("users", USERS_SQL, format, out);
+    }
+
+    /**
+     * Stream all orders with the user's email and the school's name
+     *
+     * @param out Destination (HTTP response), not closed
+     * @return Number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeOrders(Format format, OutputStream out) {
+        return export("orders", ORDERS_SQL, format, out);
+    }
+
+    /**
+     * Stream all order items with the stationery name, grouped by order
+     *
+     * @param out Destination (HTTP response), not closed
+     * @return Number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeOrderItems(Format format, OutputStream out) {
+        return export("order items", ORDER_ITEMS_SQL, format, out);
+    }
+
+    private long export(String name, String sql, Format format, OutputStream out) {
+        long start = System.nanoTime();
+        long rows;
+
+        try (RowWriter writer = format == Format.NDJSON ? new NdjsonRowWriter(out) : new CsvRowWriter(out)) {
+            rows = jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                long written = 0;
+                try {
+                    // Before the first row, so an empty CSV export still has its header
+                    writer.start(rs.getMetaData());
+                    while (rs.next()) {
+                        writer.write(rs);
+                        written++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("📤 Exported {} {} as {} in {} ms", rows, name, format,
+                (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Column value as written to the export (timestamps as LocalDateTime)
+     */
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    /**
+     * One output format: start() once with the column layout, then write() per row;
+     * close() flushes but leaves the underlying stream open
+     */
+    private interface RowWriter extends AutoCloseable {
+
+        void start(ResultSetMetaData metaData) throws SQLException, IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, written field by field through a Jackson
+     * generator using the application's ObjectMapper settings
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private String[] fields;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(ResultSetMetaData metaData) throws SQLException {
+            fields = new String[metaData.getColumnCount()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = metaData.getColumnLabel(i + 1);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                generator.writeFieldName(fields[i]);
+                generator.writeObject(value(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row of the column aliases
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private Object[] values;
+
+        CsvRowWriter(OutputStream out) {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start(ResultSetMetaData metaData) throws SQLException, IOException {
+            String[] header = new String[metaData.getColumnCount()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = metaData.getColumnLabel(i + 1);
+            }
+            writer.write(CsvUtils.toLine((Object[]) header));
+            writer.write("\r\n");
+            values = new Object[header.length];
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = value(rs, i + 1);
+            }
+            writer.write(CsvUtils.toLine(values));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
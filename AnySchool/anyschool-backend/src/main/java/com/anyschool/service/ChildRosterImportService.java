@@ -0,0 +1,395 @@
+package com.anyschool.service;
+
+import com.anyschool.util.CsvUtils;
+import com.anyschool.util.XlsxUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Child Roster Import Service
+ *
+ * Bulk onboarding of a school's learners from a CSV or XLSX roster, instead
+ * of every parent adding children one at a time.
+ *
+ * 1. The file is parsed row by row (CSV record reader, or the streaming XLSX
+ *    reader) and each row validated: name, grade and parent email required,
+ *    date of birth optional. Rows repeating a (name, grade) pair already
+ *    seen in the file are reported, not imported twice
+ * 2. One transaction, holding a per-school advisory lock so two uploads of
+ *    the same roster can't both insert:
+ *    - the school's existing (name, grade) pairs are loaded in one query;
+ *      rows already on the roster are skipped
+ *    - parent accounts for all remaining rows are resolved with a single
+ *      "lower(email) = ANY(?)" lookup
+ *    - new children are written with batched INSERTs, already APPROVED
+ *      (the school itself supplied them)
+ *
+ * Report: summary counts plus row-level errors and skipped rows (row number,
+ * name, grade, reason), each list capped at max-reported rows.
+ */
+@Service
+@Slf4j
+public class ChildRosterImportService {
+
+    /** Advisory lock namespace for roster imports (second key = school id) */
+    private static final int ROSTER_LOCK_NAMESPACE = 0x524f5354;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern EXCEL_SERIAL_PATTERN = Pattern.compile("^\\d+(\\.\\d+)?$");
+    private static final DateTimeFormatter SLASHED_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+
+    private static final String EXISTING_CHILDREN_SQL =
+            "SELECT name, grade FROM children WHERE school_id = ?";
+
+    private static final String PARENTS_SQL =
+            "SELECT id, lower(email) AS email, role FROM users WHERE lower(email) = ANY (?)";
+
+    private static final String INSERT_CHILD_SQL =
+            "INSERT INTO children (name, grade, date_of_birth, parent_id, school_id, verification_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, 'APPROVED', ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxRows;
+    private final int maxReported;
+
+    public ChildRosterImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.children.roster.batch-size:500}") int batchSize,
+            @Value("${app.children.roster.max-rows:10000}") int maxRows,
+            @Value("${app.children.roster.max-reported:500}") int maxReported
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * Import a roster into a school
+     *
+     * The file needs a header row with "name", "grade" and "parent email"
+     * columns ("date of birth" optional; ISO yyyy-MM-dd, yyyy/MM/dd or an
+     * Excel date cell). Header matching ignores case, spaces and underscores.
+     *
+     * @param schoolId School the children belong to
+     * @param filename Original file name (".xlsx" is read as a workbook, anything else as CSV)
+     * @param in Roster file
+     * @param dryRun Validate and match only, don't insert any children
+     * @return Report with summary, errors and skipped rows
+     */
+    public Map<String, Object> importRoster(Long schoolId, String filename, InputStream in, boolean dryRun) {
+        Integer schoolCount = jdbcTemplate.queryForObject("SELECT count(*) FROM schools WHERE id = ?", Integer.class, schoolId);
+        if (schoolCount == null || schoolCount == 0) {
+            throw new IllegalArgumentException("School not found");
+        }
+
+        RosterParser parser = new RosterParser();
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".xls")) {
+            throw new IllegalArgumentException("Legacy .xls workbooks are not supported - save the roster as .xlsx or .csv");
+        }
+        try {
+            if (name.endsWith(".xlsx")) {
+                readXlsx(in, parser);
+            } else {
+                readCsv(in, parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (parser.columns == null) {
+            throw new IllegalArgumentException("Roster is empty");
+        }
+
+        ImportResult result = transactionTemplate.execute(status -> importRows(schoolId, parser.rows, dryRun));
+
+        log.info("📥 Roster {} for school {}: {} rows, {} imported, {} already on roster, {} errors{}",
+                filename, schoolId, parser.rowsRead, result.imported, result.skipped.size(),
+                parser.errors.size() + result.errors.size(), dryRun ? " (dry run)" : "");
+
+        List<Map<String, Object>> errors = new ArrayList<>(parser.errors);
+        errors.addAll(result.errors);
+        errors.sort(Comparator.comparingInt(e -> (Integer) e.get("row")));
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("rowsRead", parser.rowsRead);
+        summary.put("imported", result.imported);
+        summary.put("alreadyOnRoster", result.skipped.size());
+        summary.put("errors", errors.size());
+        summary.put("dryRun", dryRun);
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("schoolId", schoolId);
+        report.put("summary", summary);
+        report.put("errors", errors.subList(0, Math.min(errors.size(), maxReported)));
+        report.put("skipped", result.skipped.subList(0, Math.min(result.skipped.size(), maxReported)));
+        return report;
+    }
+
+    private void readCsv(InputStream in, RosterParser parser) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String record;
+        int recordNumber = 0;
+        while ((record = CsvUtils.readRecord(reader)) != null) {
+            recordNumber++;
+            if (recordNumber == 1 && record.startsWith("\uFEFF")) {
+                // Excel's "CSV UTF-8" export starts with a byte order mark
+                record = record.substring(1);
+            }
+            parser.row(recordNumber, CsvUtils.parseLine(record));
+        }
+    }
+
+    /**
+     * Workbooks are zip files and need random access, so the upload is
+     * spooled to a temp file first
+     */
+    private void readXlsx(InputStream in, RosterParser parser) throws IOException {
+        Path temp = Files.createTempFile("roster-", ".xlsx");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            XlsxUtils.readFirstSheet(temp, parser::row);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private ImportResult importRows(Long schoolId, List<RosterRow> rows, boolean dryRun) {
+        ImportResult result = new ImportResult();
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", ROSTER_LOCK_NAMESPACE, schoolId.intValue());
+
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(EXISTING_CHILDREN_SQL,
+                rs -> { existing.add(key(rs.getString("name"), rs.getString("grade"))); },
+                schoolId);
+
+        List<RosterRow> candidates = new ArrayList<>();
+        Set<String> emails = new LinkedHashSet<>();
+        for (RosterRow row : rows) {
+            if (existing.contains(key(row.name, row.grade))) {
+                result.skipped.add(entry(row, "Already on the school roster"));
+            } else {
+                candidates.add(row);
+                emails.add(row.parentEmail);
+            }
+        }
+
+        Map<String, List<ParentAccount>> parents = findParents(emails);
+
+        List<RosterRow> toInsert = new ArrayList<>();
+        for (RosterRow row : candidates) {
+            List<ParentAccount> accounts = parents.get(row.parentEmail);
+            if (accounts == null) {
+                result.errors.add(entry(row, "No account for parent email " + row.parentEmail + " - the parent must register first"));
+            } else if (accounts.size() > 1) {
+                result.errors.add(entry(row, "Several accounts match parent email " + row.parentEmail));
+            } else if (!"PARENT".equals(accounts.get(0).role)) {
+                result.errors.add(entry(row, row.parentEmail + " is not a parent account"));
+            } else {
+                row.parentId = accounts.get(0).id;
+                toInsert.add(row);
+            }
+        }
+
+        if (!dryRun && !toInsert.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_CHILD_SQL, toInsert, batchSize, (ps, row) -> {
+                ps.setString(1, row.name);
+                ps.setString(2, row.grade);
+                ps.setDate(3, row.dateOfBirth != null ? Date.valueOf(row.dateOfBirth) : null);
+                ps.setLong(4, row.parentId);
+                ps.setLong(5, schoolId);
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            });
+        }
+        result.imported = toInsert.size();
+        return result;
+    }
+
+    /**
+     * One round-trip for every parent email on the roster
+     *
+     * @return Accounts by lower-cased email (more than one when emails differ only in case)
+     */
+    private Map<String, List<ParentAccount>> findParents(Set<String> emails) {
+        Map<String, List<ParentAccount>> parents = new HashMap<>();
+        if (emails.isEmpty()) {
+            return parents;
+        }
+        jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement(PARENTS_SQL);
+                    ps.setArray(1, con.createArrayOf("text", emails.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    parents.computeIfAbsent(rs.getString("email"), k -> new ArrayList<>())
+                            .add(new ParentAccount(rs.getLong("id"), rs.getString("role")));
+                });
+        return parents;
+    }
+
+    private static String key(String name, String grade) {
+        return name.trim().toLowerCase(Locale.ROOT) + '\u0000' + grade.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> entry(RosterRow row, String reason) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("row", row.rowNumber);
+        entry.put("name", row.name);
+        entry.put("grade", row.grade);
+        entry.put("reason", reason);
+        return entry;
+    }
+
+    /**
+     * Header row → column positions, then one validated RosterRow per data row
+     */
+    private class RosterParser {
+        private Map<String, Integer> columns;
+        private final List<RosterRow> rows = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private final Map<String, Integer> seen = new HashMap<>();
+        private int rowsRead;
+
+        void row(int rowNumber, List<String> cells) {
+            if (cells.stream().allMatch(String::isBlank)) {
+                return;
+            }
+            if (columns == null) {
+                columns = readHeader(cells);
+                return;
+            }
+            if (++rowsRead > maxRows) {
+                throw new IllegalArgumentException("Roster has more than " + maxRows + " rows - split it into smaller files");
+            }
+
+            RosterRow row = new RosterRow();
+            row.rowNumber = rowNumber;
+            row.name = cell(cells, "name");
+            row.grade = cell(cells, "grade");
+            row.parentEmail = cell(cells, "parentemail").toLowerCase(Locale.ROOT);
+
+            String error = validate(row, cell(cells, "dateofbirth"));
+            if (error == null) {
+                Integer firstRow = seen.putIfAbsent(key(row.name, row.grade), rowNumber);
+                if (firstRow != null) {
+                    error = "Duplicate of row " + firstRow + " in this file";
+                }
+            }
+            if (error != null) {
+                errors.add(entry(row, error));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        private Map<String, Integer> readHeader(List<String> cells) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String column = cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                switch (column) {
+                    case "name", "childname", "learnername", "fullname" -> header.putIfAbsent("name", i);
+                    case "grade" -> header.putIfAbsent("grade", i);
+                    case "parentemail", "email" -> header.putIfAbsent("parentemail", i);
+                    case "dateofbirth", "dob", "birthdate" -> header.putIfAbsent("dateofbirth", i);
+                    default -> { }
+                }
+            }
+            for (String required : List.of("name", "grade", "parentemail")) {
+                if (!header.containsKey(required)) {
+                    throw new IllegalArgumentException(
+                            "Roster header must include name, grade and parent email columns (missing: " + required + ")");
+                }
+            }
+            return header;
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < cells.size() ? cells.get(index).trim() : "";
+        }
+
+        private String validate(RosterRow row, String dateOfBirth) {
+            if (row.name.length() < 2 || row.name.length() > 100) {
+                return "Name must be between 2 and 100 characters";
+            }
+            if (row.grade.isEmpty() || row.grade.length() > 20) {
+                return "Grade is required (at most 20 characters)";
+            }
+            if (!EMAIL_PATTERN.matcher(row.parentEmail).matches()) {
+                return row.parentEmail.isEmpty() ? "Parent email is required" : "Invalid parent email";
+            }
+            if (!dateOfBirth.isEmpty()) {
+                row.dateOfBirth = parseDate(dateOfBirth);
+                if (row.dateOfBirth == null || row.dateOfBirth.isAfter(LocalDate.now())) {
+                    return "Invalid date of birth: " + dateOfBirth;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            if (EXCEL_SERIAL_PATTERN.matcher(value).matches()) {
+                return XlsxUtils.excelDate(Double.parseDouble(value));
+            }
+            return value.indexOf('/') > 0 ? LocalDate.parse(value, SLASHED_DATE) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static class RosterRow {
+        private int rowNumber;
+        private String name;
+        private String grade;
+        private String parentEmail;
+        private LocalDate dateOfBirth;
+        private Long parentId;
+    }
+
+    private record ParentAccount(long id, String role) {
+    }
+
+    private static class ImportResult {
+        private int imported;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private final List<Map<String, Object>> skipped = new ArrayList<>();
+    }
+}
@@ -0,0 +1,265 @@
+package com.anyschool.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Child Verification Service
+ *
+ * A school admin's verification queue: children linked to the school whose
+ * verification_status is still PENDING.
+ *
+ * - Queue pages are keyset-paged on id (newest first); the pending total
+ *   shown on the badge comes from school_child_counters, which triggers on
+ *   children keep current (V4 migration) - no count(*) per page
+ * - Bulk verify / reject is one UPDATE ... WHERE id IN (...) AND status =
+ *   'PENDING' RETURNING id, guarded by school and status so children of
+ *   other schools, already decided or changed meanwhile are reported, not
+ *   overwritten
+ * - "Verify all" for a grade is a single UPDATE over the school's pending
+ *   children in that grade
+ *
+ * Per-child outcomes (bulk verify / reject):
+ * - UPDATED - moved to APPROVED / REJECTED
+ * - INVALID_STATUS - child is not PENDING
+ * - CONFLICT - child changed while the update was running
+ * - NOT_FOUND - no such child at this school
+ */
+@Service
+@Slf4j
+public class ChildVerificationService {
+
+    public enum Decision {
+        VERIFY("APPROVED"), REJECT("REJECTED");
+
+        private final String status;
+
+        Decision(String status) {
+            this.status = status;
+        }
+
+        public String status() {
+            return status;
+        }
+
+        public static Decision parse(String action) {
+            try {
+                return valueOf(action.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("action must be VERIFY or REJECT");
+            }
+        }
+    }
+
+    public static final int MAX_CHILDREN_PER_CALL = 2000;
+
+    private static final String PENDING = "PENDING";
+
+    private static final String QUEUE_SQL =
+            "SELECT c.id, c.name, c.grade, c.date_of_birth, c.created_at, c.parent_id, u.full_name AS parent_name, u.email AS parent_email " +
+            "FROM children c JOIN users u ON u.id = c.parent_id " +
+            "WHERE c.school_id = :schoolId AND c.verification_status = 'PENDING'";
+
+    private static final String PENDING_COUNT_SQL =
+            "SELECT pending_children FROM school_child_counters WHERE school_id = :schoolId";
+
+    private static final String CURRENT_STATUS_SQL =
+            "SELECT id, verification_status FROM children WHERE id IN (:ids) AND school_id = :schoolId";
+
+    private static final String DECIDE_SQL =
+            "UPDATE children SET verification_status = :target, updated_at = :now " +
+            "WHERE id IN (:ids) AND school_id = :schoolId AND verification_status = 'PENDING' RETURNING id";
+
+    private static final String VERIFY_GRADE_SQL =
+            "UPDATE children SET verification_status = 'APPROVED', updated_at = :now " +
+            "WHERE school_id = :schoolId AND verification_status = 'PENDING' AND lower(grade) = lower(:grade)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public ChildVerificationService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${app.children.verification.default-limit:50}") int defaultLimit,
+            @Value("${app.children.verification.max-limit:200}") int maxLimit
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * One page of the school's verification queue
+     *
+     * @param cursor nextCursor of the previous page (null = first page)
+     * @param limit Page size (null = default, capped at max-limit)
+     * @param grade Only this grade (case-insensitive), null = all grades
+     * @return children, count, hasMore, nextCursor and pendingCount (whole school)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> queue(Long schoolId, Long cursor, Integer limit, String grade) {
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("schoolId", schoolId);
+        StringBuilder sql = new StringBuilder(QUEUE_SQL);
+        if (grade != null && !grade.isBlank()) {
+            sql.append(" AND lower(c.grade) = lower(:grade)");
+            params.addValue("grade", grade.trim());
+        }
+        if (cursor != null) {
+            sql.append(" AND c.id < :cursor");
+            params.addValue("cursor", cursor);
+        }
+        // One extra row tells whether another page follows
+        sql.append(" ORDER BY c.id DESC LIMIT :limit");
+        params.addValue("limit", pageSize + 1);
+
+        List<Map<String, Object>> children = new ArrayList<>(pageSize + 1);
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id",          rs.getLong("id"));
+            m.put("name",        rs.getString("name"));
+            m.put("grade",       rs.getString("grade"));
+            m.put("dateOfBirth", rs.getDate("date_of_birth") != null ? rs.getDate("date_of_birth").toLocalDate() : null);
+            m.put("createdAt",   rs.getTimestamp("created_at").toLocalDateTime());
+            m.put("parentId",    rs.getLong("parent_id"));
+            m.put("parentName",  rs.getString("parent_name"));
+            m.put("parentEmail", rs.getString("parent_email"));
+            children.add(m);
+        });
+
+        boolean hasMore = children.size() > pageSize;
+        if (hasMore) {
+            children.remove(pageSize);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("children", children);
+        result.put("count", children.size());
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", hasMore ? children.get(children.size() - 1).get("id").toString() : null);
+        result.put("pendingCount", pendingCount(schoolId));
+        return result;
+    }
+
+    /**
+     * Children awaiting verification at a school (counter lookup, no scan)
+     */
+    @Transactional(readOnly = true)
+    public long pendingCount(Long schoolId) {
+        List<Long> count = jdbcTemplate.queryForList(PENDING_COUNT_SQL, new MapSqlParameterSource("schoolId", schoolId), Long.class);
+        return count.isEmpty() ? 0 : count.get(0);
+    }
+
+    /**
+     * Verify or reject a set of pending children
+     *
+     * @param childIds Children to decide (duplicates ignored)
+     * @return Summary counts and per-child outcomes
+     * @throws IllegalArgumentException if the id list is empty or too long
+     */
+    @Transactional
+    public Map<String, Object> decide(Long schoolId, List<Long> childIds, Decision decision) {
+        if (childIds == null || childIds.isEmpty()) {
+            throw new IllegalArgumentException("childIds is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(childIds);
+        ids.remove(null);
+        if (ids.size() > MAX_CHILDREN_PER_CALL) {
+            throw new IllegalArgumentException("At most " + MAX_CHILDREN_PER_CALL + " children per call");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("schoolId", schoolId)
+                .addValue("target", decision.status())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+
+        Map<Long, String> before = new HashMap<>();
+        jdbcTemplate.query(CURRENT_STATUS_SQL, params,
+                rs -> { before.put(rs.getLong("id"), rs.getString("verification_status")); });
+
+        Set<Long> updated = new HashSet<>(jdbcTemplate.queryForList(DECIDE_SQL, params, Long.class));
+
+        List<Map<String, Object>> outcomes = new ArrayList<>(ids.size());
+        Map<String, Integer> counts = new HashMap<>();
+        for (Long id : ids) {
+            String previous = before.get(id);
+            String outcome;
+            if (updated.contains(id)) {
+                outcome = "UPDATED";
+            } else if (previous == null) {
+                outcome = "NOT_FOUND";
+            } else if (!PENDING.equals(previous)) {
+                outcome = "INVALID_STATUS";
+            } else {
+                outcome = "CONFLICT";
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("childId", id);
+            result.put("outcome", outcome);
+            result.put("previousStatus", previous);
+            outcomes.add(result);
+            counts.merge(outcome, 1, Integer::sum);
+        }
+
+        log.info("✅ Bulk {} at school {}: {} requested, {}", decision, schoolId, ids.size(), counts);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("action", decision.name());
+        summary.put("targetStatus", decision.status());
+        summary.put("requested", ids.size());
+        summary.put("updated", updated.size());
+        summary.put("skipped", ids.size() - updated.size());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("summary", summary);
+        result.put("outcomes", outcomes);
+        result.put("pendingCount", pendingCount(schoolId));
+        return result;
+    }
+
+    /**
+     * Verify every pending child of one grade at the school
+     *
+     * @param grade Grade as entered on the children (case-insensitive)
+     * @return Number of children verified and the school's remaining pendingCount
+     */
+    @Transactional
+    public Map<String, Object> verifyGrade(Long schoolId, String grade) {
+        if (grade == null || grade.isBlank()) {
+            throw new IllegalArgumentException("grade is required");
+        }
+        int verified = jdbcTemplate.update(VERIFY_GRADE_SQL, new MapSqlParameterSource()
+                .addValue("schoolId", schoolId)
+                .addValue("grade", grade.trim())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+
+        log.info("✅ Verified all pending children in grade {} at school {}: {}", grade.trim(), schoolId, verified);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("grade", grade.trim());
+        result.put("verified", verified);
+        result.put("pendingCount", pendingCount(schoolId));
+        return result;
+    }
+}
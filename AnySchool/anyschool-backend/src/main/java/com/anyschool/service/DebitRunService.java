@@ -0,0 +1,316 @@
+package com.anyschool.service;
+
+import com.anyschool.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Debit Run Service
+ *
+ * Monthly debit-order processing for PAYMENT_PLAN orders.
+ *
+ * Debit file:
+ * - streams every instalment due on a date through a forward-only JDBC
+ *   cursor (bounded fetch size), writing one CSV line per row, so the order
+ *   set is never materialized in memory
+ * - runs daily on a schedule (app.debit-run.cron) and writes
+ *   debit-run-YYYY-MM-DD.csv to app.debit-run.output-dir, or on demand
+ *   through DebitRunController
+ *
+ * Bank response file:
+ * - streamed line by line; successful collections are applied with batched
+ *   UPDATEs that increment paymentsReceived and move fully paid orders to
+ *   APPROVED (same rule as PurchasingAdminController.markPaymentReceived)
+ * - each collection is applied at most once (lastCollectedInstalment guard),
+ *   so re-uploading a response file is harmless
+ *
+ * The debit reference is "AS{orderId}-{instalmentNumber}". Bank account
+ * details are not stored by AnySchool; the collection platform resolves
+ * the account from the mandate reference.
+ */
+@Service
+@Slf4j
+public class DebitRunService {
+
+    public static final String REFERENCE_PREFIX = "AS";
+
+    private static final Set<String> PAID_RESULTS = Set.of("PAID", "SUCCESS", "SUCCESSFUL", "00");
+
+    private static final String DUE_INSTALMENTS_SQL =
+            "SELECT o.id, o.monthly_instalment, o.payment_plan_months, o.payments_received, " +
+            "       o.last_collected_instalment, o.first_debit_date, u.full_name, u.email, u.phone_number " +
+            "FROM orders o JOIN users u ON u.id = o.user_id " +
+            "WHERE o.payment_type = 'PAYMENT_PLAN' AND o.status = 'PENDING' " +
+            "  AND o.first_debit_date <= ? AND o.last_debit_date >= ? " +
+            "  AND (o.debit_order_day = ? OR (? AND o.debit_order_day > ?)) " +
+            "  AND COALESCE(o.payments_received, 0) < o.payment_plan_months " +
+            "ORDER BY o.id";
+
+    private static final String APPLY_COLLECTION_SQL =
+            "UPDATE orders SET payments_received = COALESCE(payments_received, 0) + 1, " +
+            "       last_collected_instalment = ?, " +
+            "       status = CASE WHEN COALESCE(payments_received, 0) + 1 >= payment_plan_months " +
+            "                     THEN 'APPROVED' ELSE status END, " +
+            "       updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND payment_type = 'PAYMENT_PLAN' AND status = 'PENDING' " +
+            "  AND COALESCE(payments_received, 0) < payment_plan_months " +
+            "  AND (last_collected_instalment IS NULL OR last_collected_instalment < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final int batchSize;
+    private final boolean scheduleEnabled;
+    private final Path outputDir;
+
+    public DebitRunService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.debit-run.fetch-size:500}") int fetchSize,
+            @Value("${app.debit-run.batch-size:500}") int batchSize,
+            @Value("${app.debit-run.enabled:false}") boolean scheduleEnabled,
+            @Value("${app.debit-run.output-dir:debit-runs}") String outputDir
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.scheduleEnabled = scheduleEnabled;
+        this.outputDir = Paths.get(outputDir);
+    }
+
+    /**
+     * Scheduled daily run: writes today's debit file to the output directory
+     * (transactional here too, since writeDebitFile is a self-invocation)
+     */
+    @Scheduled(cron = "${app.debit-run.cron:0 0 5 * * *}")
+    @Transactional(readOnly = true)
+    public void scheduledDebitRun() {
+        if (!scheduleEnabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        Path file = outputDir.resolve("debit-run-" + today + ".csv");
+        try {
+            Files.createDirectories(outputDir);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                Map<String, Object> summary = writeDebitFile(today, out);
+                log.info("Debit run for {} written to {}: {}", today, file, summary);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Debit run for {} failed: {}", today, e.getMessage());
+        }
+    }
+
+    /**
+     * Stream the bank debit file for all instalments due on a date
+     *
+     * Must run in a transaction: the PostgreSQL driver only uses a cursor
+     * (instead of buffering the whole result) when autocommit is off.
+     *
+     * @param debitDate Action date of the debit run
+     * @param out Destination (HTTP response or file), not closed
+     * @return Summary with instalment count and total amount
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> writeDebitFile(LocalDate debitDate, OutputStream out) {
+        int dayOfMonth = debitDate.getDayOfMonth();
+        boolean lastDayOfMonth = dayOfMonth == debitDate.lengthOfMonth();
+        Timestamp dayStart = Timestamp.valueOf(debitDate.atStartOfDay());
+        YearMonth debitMonth = YearMonth.from(debitDate);
+
+        long[] count = {0};
+        BigDecimal[] total = {BigDecimal.ZERO};
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CsvUtils.toLine("reference", "order_id", "instalment", "of", "amount",
+                    "action_date", "account_holder", "email", "phone"));
+            writer.write("\r\n");
+
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(DUE_INSTALMENTS_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setTimestamp(1, dayStart);
+                ps.setTimestamp(2, dayStart);
+                ps.setInt(3, dayOfMonth);
+                ps.setBoolean(4, lastDayOfMonth);
+                ps.setInt(5, dayOfMonth);
+                return ps;
+            }, rs -> {
+                long orderId = rs.getLong("id");
+                int planMonths = rs.getInt("payment_plan_months");
+                int lastCollected = rs.getInt("last_collected_instalment");
+                LocalDateTime firstDebit = rs.getTimestamp("first_debit_date").toLocalDateTime();
+                int instalment = (int) ChronoUnit.MONTHS.between(YearMonth.from(firstDebit), debitMonth) + 1;
+
+                // Already collected this month, or past the end of the plan
+                if (instalment <= lastCollected || instalment > planMonths) {
+                    return;
+                }
+
+                BigDecimal amount = rs.getBigDecimal("monthly_instalment");
+                try {
+                    writer.write(CsvUtils.toLine(
+                            REFERENCE_PREFIX + orderId + "-" + instalment,
+                            orderId,
+                            instalment,
+                            planMonths,
+                            amount,
+                            debitDate,
+                            rs.getString("full_name"),
+                            rs.getString("email"),
+                            rs.getString("phone_number")));
+                    writer.write("\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                count[0]++;
+                if (amount != null) {
+                    total[0] = total[0].add(amount);
+                }
+            });
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("debitDate", debitDate.toString());
+        summary.put("instalments", count[0]);
+        summary.put("totalAmount", total[0]);
+        return summary;
+    }
+
+    /**
+     * Apply a bank response file
+     *
+     * Expected CSV: header row, then "reference,result[,...]" where result is
+     * PAID/SUCCESS/SUCCESSFUL/00 for a successful collection. Anything else
+     * counts as unpaid and leaves the order untouched.
+     *
+     * @return Summary: lines read, paid, applied, already applied/skipped, unpaid, invalid
+     */
+    @Transactional
+    public Map<String, Object> applyBankResponse(InputStream in) {
+        long linesRead = 0;
+        long paid = 0;
+        long applied = 0;
+        long invalid = 0;
+        List<String> unpaidReferences = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                linesRead++;
+
+                List<String> fields = CsvUtils.parseLine(line);
+                long[] parsed = fields.size() >= 2 ? parseReference(fields.get(0)) : null;
+                if (parsed == null) {
+                    invalid++;
+                    continue;
+                }
+
+                if (!PAID_RESULTS.contains(fields.get(1).toUpperCase())) {
+                    unpaidReferences.add(fields.get(0));
+                    continue;
+                }
+
+                paid++;
+                int instalment = (int) parsed[1];
+                batch.add(new Object[]{instalment, now, parsed[0], instalment});
+                if (batch.size() >= batchSize) {
+                    applied += flushCollections(batch);
+                }
+            }
+            applied += flushCollections(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Bank response applied: {} lines, {} paid, {} applied, {} unpaid, {} invalid",
+                linesRead, paid, applied, unpaidReferences.size(), invalid);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("linesRead", linesRead);
+        summary.put("paid", paid);
+        summary.put("applied", applied);
+        summary.put("alreadyAppliedOrSkipped", paid - applied);
+        summary.put("unpaid", unpaidReferences.size());
+        summary.put("unpaidReferences", unpaidReferences);
+        summary.put("invalid", invalid);
+        return summary;
+    }
+
+    private long flushCollections(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long updated = 0;
+        for (int rows : jdbcTemplate.batchUpdate(APPLY_COLLECTION_SQL, batch)) {
+            // SUCCESS_NO_INFO (-2) still means the row was updated
+            if (rows > 0 || rows == java.sql.Statement.SUCCESS_NO_INFO) {
+                updated++;
+            }
+        }
+        batch.clear();
+        return updated;
+    }
+
+    /**
+     * Parse "AS{orderId}-{instalment}" into {orderId, instalment}, or null if malformed
+     */
+    private long[] parseReference(String reference) {
+        if (reference == null || !reference.startsWith(REFERENCE_PREFIX)) {
+            return null;
+        }
+        int dash = reference.lastIndexOf('-');
+        if (dash <= REFERENCE_PREFIX.length()) {
+            return null;
+        }
+        try {
+            long orderId = Long.parseLong(reference.substring(REFERENCE_PREFIX.length(), dash));
+            long instalment = Long.parseLong(reference.substring(dash + 1));
+            return instalment > 0 ? new long[]{orderId, instalment} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
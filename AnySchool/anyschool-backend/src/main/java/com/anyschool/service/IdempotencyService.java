@@ -0,0 +1,225 @@
+package com.anyschool.service;
+
+import com.anyschool.exception.IdempotencyKeyMismatchException;
+import com.anyschool.exception.IdempotencyStoreFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Service
+ *
+ * Makes POST endpoints safe to retry via the Idempotency-Key header.
+ *
+ * Features:
+ * - In-memory key store scoped per user, entries expire after a TTL
+ * - A retry with the same key gets the original response back without
+ *   re-running the action
+ * - Concurrent duplicates wait on the first in-flight execution instead
+ *   of running it again
+ * - Reusing a key with a different request body (compared by a SHA-256 of
+ *   its canonical JSON) is rejected (422)
+ * - At most max-entries keys are held; past that, new keys are rejected
+ *   (503) until entries expire
+ *
+ * Failed executions (exceptions or 5xx responses) are not remembered,
+ * so the client can retry them with the same key.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ObjectMapper canonicalMapper;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger putsSinceSweep = new AtomicInteger();
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final int maxEntries;
+
+    public IdempotencyService(
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${app.idempotency.wait-timeout-seconds:30}") long waitTimeoutSeconds,
+            @Value("${app.idempotency.max-entries:100000}") int maxEntries
+    ) {
+        // Map keys sorted, no indentation: equal bodies always serialise to the same bytes
+        this.canonicalMapper = objectMapper.copy()
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .disable(SerializationFeature.INDENT_OUTPUT);
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(waitTimeoutSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run an action at most once per (scope, key)
+     *
+     * @param scope Owner of the key (usually the user id), so keys never collide across users
+     * @param key Idempotency-Key header value (null/blank = no idempotency, just run the action)
+     * @param request Request body, used to detect a key reused for a different request
+     * @param action The action to execute
+     * @return The action's response, or the stored response for a repeated key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(Object scope, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + ":" + key.trim();
+        byte[] fingerprint = fingerprint(request);
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry fresh = new Entry(fingerprint, now + ttlMillis);
+            Entry existing = entries.putIfAbsent(storeKey, fresh);
+
+            if (existing == null) {
+                if (!sweepIfNeeded(now)) {
+                    IdempotencyStoreFullException full = new IdempotencyStoreFullException(
+                            "Too many requests in flight. Please try again in a moment.");
+                    entries.remove(storeKey, fresh);
+                    fresh.response.completeExceptionally(full);
+                    throw full;
+                }
+                return (ResponseEntity<T>) runFirst(storeKey, fresh, action);
+            }
+            if (existing.isExpired(now) && existing.response.isDone()) {
+                entries.remove(storeKey, existing);
+                continue;
+            }
+            if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyMismatchException(
+                        "Idempotency-Key has already been used for a different request");
+            }
+
+            log.info("Replaying response for idempotency key {}", storeKey);
+            return (ResponseEntity<T>) replay(awaitFirst(existing));
+        }
+    }
+
+    /**
+     * SHA-256 of the request body as canonical JSON: unlike hashCode() it
+     * doesn't depend on the DTO implementing equals/hashCode, and a
+     * different body practically never collides
+     */
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be fingerprinted: " + e.getOriginalMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Execute the action for the first request with this key and publish
+     * the outcome to any duplicates waiting on it
+     */
+    private ResponseEntity<?> runFirst(String storeKey, Entry entry, Supplier<? extends ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            entries.remove(storeKey, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    /**
+     * Wait for the in-flight (or completed) first execution of a key
+     */
+    private ResponseEntity<?> awaitFirst(Entry entry) {
+        try {
+            return entry.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the original request with this Idempotency-Key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private ResponseEntity<?> replay(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    /**
+     * Drop expired entries every SWEEP_INTERVAL inserts, or straight away
+     * once the store grows past max-entries
+     *
+     * @return false if the store is still over max-entries: the new key is
+     *         then rejected (503) rather than evicting a live one, which would
+     *         let its retry run the action twice
+     */
+    private boolean sweepIfNeeded(long now) {
+        if (putsSinceSweep.incrementAndGet() < SWEEP_INTERVAL && entries.size() <= maxEntries) {
+            return true;
+        }
+        putsSinceSweep.set(0);
+        entries.values().removeIf(entry -> entry.isExpired(now) && entry.response.isDone());
+        if (entries.size() > maxEntries) {
+            log.warn("Idempotency key store holds {} live entries (max {}), rejecting new key",
+                    entries.size(), maxEntries);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stored key: request fingerprint, expiry and the (eventual) response
+     */
+    private static final class Entry {
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
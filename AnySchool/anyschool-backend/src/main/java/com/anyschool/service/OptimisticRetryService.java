@@ -0,0 +1,82 @@
+package com.anyschool.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Optimistic Retry Service
+ *
+ * Runs an action in a fresh transaction and re-runs it when it loses an
+ * optimistic-lock race (another writer bumped the order version first).
+ *
+ * Only for idempotent transitions that re-read and re-check state on each
+ * attempt (e.g. "approve if ACKNOWLEDGED"): the retry sees the winner's
+ * change and either applies cleanly on top of it or fails its own
+ * validation. Non-idempotent edits should let the 409 reach the client.
+ *
+ * Must be called outside any existing transaction, otherwise the attempts
+ * would join the caller's (already doomed) transaction.
+ */
+@Service
+@Slf4j
+public class OptimisticRetryService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetryService(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.optimistic-retry.max-attempts:3}") int maxAttempts,
+            @Value("${app.optimistic-retry.backoff-ms:25}") long backoffMillis
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Execute an action, retrying on optimistic lock conflicts
+     *
+     * @param operation Name for logging (e.g. "approve order 42")
+     * @param action The transactional work; runs once per attempt
+     * @return The action's result
+     * @throws OptimisticLockingFailureException if every attempt conflicted (mapped to 409)
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.info("{} hit a concurrent update, retrying ({}/{})", operation, attempt, maxAttempts);
+                backoff(operation, attempt);
+            }
+        }
+    }
+
+    /**
+     * Jittered linear backoff so competing retries don't collide again
+     */
+    private void backoff(String operation, int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying " + operation);
+        }
+    }
+}
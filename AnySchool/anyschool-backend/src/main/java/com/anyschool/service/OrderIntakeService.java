@@ -0,0 +1,293 @@
+package com.anyschool.service;
+
+import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.model.Order;
+import com.anyschool.model.OrderIntake;
+import com.anyschool.model.OrderIntakeStatus;
+import com.anyschool.model.User;
+import com.anyschool.repository.OrderIntakeRepository;
+import com.anyschool.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Order Intake Service
+ *
+ * Peak mode for order creation (back-to-school rush).
+ *
+ * When app.orders.peak-mode.enabled=true, POST /api/orders:
+ * - validates the order and stores it in the order_intake table
+ * - returns 202 with a tracking id instead of creating the order inline
+ *
+ * OrderIntakeWorker threads then claimNext() and process() queued intakes,
+ * creating the orders through OrderService at a controlled rate, so bursts
+ * queue up in the database instead of exhausting Tomcat and connection pools.
+ *
+ * Retries: claiming an intake commits attempts + 1 and a next_attempt_at
+ * (exponential backoff from retry-backoff-ms, capped at retry-backoff-max-ms)
+ * before the order is created. If creation fails on something transient, or
+ * the worker dies, the intake stays QUEUED and is picked up again once
+ * next_attempt_at has passed; after max-attempts it is marked FAILED.
+ * Business failures (invalid items, missing user, bad payload) fail at once.
+ */
+@Service
+@Slf4j
+public class OrderIntakeService {
+
+    private final OrderIntakeRepository intakeRepository;
+    private final UserRepository userRepository;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final boolean peakModeEnabled;
+
+    @Getter
+    private final int workerConcurrency;
+
+    @Getter
+    private final double maxOrdersPerSecond;
+
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retryBackoffMax;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public OrderIntakeService(
+            OrderIntakeRepository intakeRepository,
+            UserRepository userRepository,
+            OrderService orderService,
+            ObjectMapper objectMapper,
+            @Value("${app.orders.peak-mode.enabled:false}") boolean peakModeEnabled,
+            @Value("${app.orders.peak-mode.worker-concurrency:4}") int workerConcurrency,
+            @Value("${app.orders.peak-mode.max-orders-per-second:20}") double maxOrdersPerSecond,
+            @Value("${app.orders.peak-mode.max-attempts:5}") int maxAttempts,
+            @Value("${app.orders.peak-mode.retry-backoff-ms:5000}") long retryBackoffMillis,
+            @Value("${app.orders.peak-mode.retry-backoff-max-ms:300000}") long retryBackoffMaxMillis
+    ) {
+        this.intakeRepository = intakeRepository;
+        this.userRepository = userRepository;
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.peakModeEnabled = peakModeEnabled;
+        this.workerConcurrency = workerConcurrency;
+        this.maxOrdersPerSecond = maxOrdersPerSecond;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        this.retryBackoffMax = Duration.ofMillis(retryBackoffMaxMillis);
+    }
+
+    /**
+     * Validate an order and queue it for a worker
+     *
+     * @param user User placing the order
+     * @param request Order details
+     * @return Queued intake (trackingId is returned to the client)
+     */
+    @Transactional
+    public OrderIntake enqueue(User user, CreateOrderRequest request) {
+        orderService.validateOrderRequest(request, user);
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Order request could not be serialized");
+        }
+
+        OrderIntake intake = OrderIntake.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .userId(user.getId())
+                .payload(payload)
+                .status(OrderIntakeStatus.QUEUED)
+                .build();
+
+        OrderIntake saved = intakeRepository.save(intake);
+        log.info("Order queued for user {} with tracking id {}", user.getEmail(), saved.getTrackingId());
+        return saved;
+    }
+
+    /**
+     * Claim the oldest due intake for one attempt
+     *
+     * Runs and commits in its own transaction, so the attempt is counted and
+     * the intake backs off (next_attempt_at) even if creating the order then
+     * fails or the worker dies. Intakes that already used all their attempts
+     * without an outcome are marked FAILED here instead of being claimed.
+     *
+     * @return Id of the claimed intake, null if none is due
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderIntake intake;
+        while ((intake = intakeRepository.lockNextDue(now).orElse(null)) != null) {
+            if (intake.getAttempts() < maxAttempts) {
+                intake.setAttempts(intake.getAttempts() + 1);
+                intake.setNextAttemptAt(now.plus(retryDelay(intake.getAttempts())));
+                intakeRepository.save(intake);
+                return intake.getId();
+            }
+            fail(intake, "Gave up after " + intake.getAttempts() + " attempts"
+                    + (intake.getErrorMessage() != null ? ": " + intake.getErrorMessage() : ""));
+        }
+        return null;
+    }
+
+    /**
+     * Create the order for a claimed intake
+     *
+     * The intake row stays locked for the whole transaction, so the order
+     * insert and the COMPLETED update commit together.
+     *
+     * @return false if the intake is no longer queued (another worker finished it)
+     * @throws IntakeProcessingException if the order could not be created
+     */
+    @Transactional
+    public boolean process(Long intakeId) {
+        OrderIntake intake = intakeRepository.lockQueued(intakeId).orElse(null);
+        if (intake == null) {
+            return false;
+        }
+
+        try {
+            CreateOrderRequest request = objectMapper.readValue(intake.getPayload(), CreateOrderRequest.class);
+            User user = userRepository.findById(intake.getUserId())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + intake.getUserId()));
+
+            Order order = orderService.createOrder(user, request);
+
+            intake.setStatus(OrderIntakeStatus.COMPLETED);
+            intake.setOrderId(order.getId());
+            intake.setErrorMessage(null);
+            intake.setNextAttemptAt(null);
+            intake.setProcessedAt(LocalDateTime.now());
+            intakeRepository.save(intake);
+        } catch (Exception e) {
+            throw new IntakeProcessingException(intake.getId(), e);
+        }
+
+        processedCount.incrementAndGet();
+        log.info("Intake {} materialized as order {}", intake.getTrackingId(), intake.getOrderId());
+        return true;
+    }
+
+    /**
+     * Record a failed attempt (runs after process() rolled back)
+     *
+     * Business failures and the last allowed attempt mark the intake FAILED;
+     * anything else leaves it QUEUED until its next_attempt_at.
+     */
+    @Transactional
+    public void recordFailure(IntakeProcessingException failure) {
+        Throwable cause = failure.getCause();
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        boolean permanent = cause instanceof IllegalArgumentException || cause instanceof JsonProcessingException;
+
+        intakeRepository.lockQueued(failure.getIntakeId()).ifPresent(intake -> {
+            if (permanent) {
+                fail(intake, message);
+            } else if (intake.getAttempts() >= maxAttempts) {
+                fail(intake, "Gave up after " + intake.getAttempts() + " attempts: " + message);
+            } else {
+                intake.setErrorMessage(truncate(message));
+                intakeRepository.save(intake);
+                log.warn("Intake {} attempt {}/{} failed, retrying after {}: {}", intake.getTrackingId(),
+                        intake.getAttempts(), maxAttempts, intake.getNextAttemptAt(), message);
+            }
+        });
+    }
+
+    private void fail(OrderIntake intake, String errorMessage) {
+        intake.setStatus(OrderIntakeStatus.FAILED);
+        intake.setErrorMessage(truncate(errorMessage));
+        intake.setNextAttemptAt(null);
+        intake.setProcessedAt(LocalDateTime.now());
+        intakeRepository.save(intake);
+        failedCount.incrementAndGet();
+        log.warn("Intake {} failed: {}", intake.getTrackingId(), errorMessage);
+    }
+
+    /**
+     * Backoff before the next attempt: retry-backoff doubled per attempt, capped
+     */
+    private Duration retryDelay(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(retryBackoffMax) > 0 ? retryBackoffMax : delay;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    /**
+     * Get an intake for status polling
+     */
+    @Transactional(readOnly = true)
+    public OrderIntake getByTrackingId(String trackingId) {
+        return intakeRepository.findByTrackingId(trackingId)
+                .orElseThrow(() -> new IllegalArgumentException("Order intake not found: " + trackingId));
+    }
+
+    /**
+     * Number of queued intakes ahead of this one (0 = next up)
+     */
+    @Transactional(readOnly = true)
+    public long getQueuePosition(OrderIntake intake) {
+        if (intake.getStatus() != OrderIntakeStatus.QUEUED) {
+            return 0;
+        }
+        return intakeRepository.countByStatusAndIdLessThan(OrderIntakeStatus.QUEUED, intake.getId());
+    }
+
+    /**
+     * Queue depth and throughput metrics for monitoring
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getQueueMetrics() {
+        LocalDateTime oldestQueued = intakeRepository.findOldestCreatedAtByStatus(OrderIntakeStatus.QUEUED);
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("peakModeEnabled", peakModeEnabled);
+        metrics.put("workerConcurrency", workerConcurrency);
+        metrics.put("maxOrdersPerSecond", maxOrdersPerSecond);
+        metrics.put("maxAttempts", maxAttempts);
+        metrics.put("queueDepth", intakeRepository.countByStatus(OrderIntakeStatus.QUEUED));
+        metrics.put("failedTotal", intakeRepository.countByStatus(OrderIntakeStatus.FAILED));
+        metrics.put("oldestQueuedAgeSeconds", oldestQueued != null
+                ? Duration.between(oldestQueued, LocalDateTime.now()).getSeconds()
+                : 0);
+        metrics.put("processedSinceStartup", processedCount.get());
+        metrics.put("failedSinceStartup", failedCount.get());
+        return metrics;
+    }
+
+    /**
+     * Raised when a queued intake could not be turned into an order;
+     * carries the intake id so the worker can record the failure
+     */
+    public static class IntakeProcessingException extends RuntimeException {
+        @Getter
+        private final Long intakeId;
+
+        public IntakeProcessingException(Long intakeId, Throwable cause) {
+            super(cause.getMessage(), cause);
+            this.intakeId = intakeId;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.anyschool.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Order Intake Worker
+ *
+ * Bounded pool of worker threads that drain the peak-mode order intake
+ * queue. Only started when app.orders.peak-mode.enabled=true.
+ *
+ * - worker-concurrency threads, so at most that many order transactions
+ *   (and pooled connections) are used for intake at any time
+ * - a shared rate limiter spaces order creation to max-orders-per-second
+ * - idle workers poll every poll-interval-ms
+ *
+ * Business failures (invalid items, missing user) mark the intake FAILED;
+ * other failures leave it QUEUED, backing off until its next_attempt_at,
+ * and FAILED after app.orders.peak-mode.max-attempts (OrderIntakeService).
+ */
+@Component
+@Slf4j
+public class OrderIntakeWorker {
+
+    private final OrderIntakeService intakeService;
+    private final long pollIntervalMillis;
+    private final long slotIntervalNanos;
+    private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public OrderIntakeWorker(
+            OrderIntakeService intakeService,
+            @Value("${app.orders.peak-mode.poll-interval-ms:500}") long pollIntervalMillis
+    ) {
+        this.intakeService = intakeService;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.slotIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(intakeService.getMaxOrdersPerSecond(), 0.001));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!intakeService.isPeakModeEnabled()) {
+            return;
+        }
+
+        int concurrency = Math.max(1, intakeService.getWorkerConcurrency());
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "order-intake-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            executor.submit(this::runLoop);
+        }
+        log.info("Order intake peak mode ON: {} workers, max {} orders/s",
+                concurrency, intakeService.getMaxOrdersPerSecond());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                awaitRateSlot();
+                if (!processOne()) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return true if an intake was taken off the queue
+     */
+    private boolean processOne() throws InterruptedException {
+        Long intakeId;
+        try {
+            intakeId = intakeService.claimNext();
+        } catch (Exception e) {
+            // Back off on infrastructure errors instead of spinning on a failing database
+            log.error("Order intake worker error: {}", e.getMessage());
+            Thread.sleep(pollIntervalMillis);
+            return true;
+        }
+        if (intakeId == null) {
+            return false;
+        }
+
+        try {
+            intakeService.process(intakeId);
+        } catch (OrderIntakeService.IntakeProcessingException e) {
+            try {
+                intakeService.recordFailure(e);
+            } catch (Exception recordError) {
+                log.error("Intake {} failure not recorded, will be retried: {}", intakeId, recordError.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("Intake {} will be retried: {}", intakeId, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Reserve the next free slot of the shared rate limiter and sleep until it
+     */
+    private void awaitRateSlot() throws InterruptedException {
+        long now = System.nanoTime();
+        long slot = nextSlotNanos.getAndAccumulate(now,
+                (next, current) -> Math.max(next, current) + slotIntervalNanos);
+        long waitNanos = Math.max(slot, now) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.anyschool.service;
 
 import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.dto.OrderSummary;
 import com.anyschool.model.*;
 import com.anyschool.repository.OrderRepository;
 import com.anyschool.repository.SchoolRepository;
@@ -16,6 +17,9 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Order Service
@@ -123,13 +127,18 @@ public class OrderService {
                 .lastDebitDate(lastDebitDate)
                 .build();
 
+        // Resolve all stationery items in one query instead of one findById per line
+        Map<Long, Stationery> stationeryById = findStationeryByIds(request.getItems());
+
         // Add order items
         BigDecimal totalAmount = BigDecimal.ZERO;
         
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
             // Find stationery
-            Stationery stationery = stationeryRepository.findById(itemRequest.getStationeryId())
-                    .orElseThrow(() -> new IllegalArgumentException("Stationery not found with id: " + itemRequest.getStationeryId()));
+            Stationery stationery = stationeryById.get(itemRequest.getStationeryId());
+            if (stationery == null) {
+                throw new IllegalArgumentException("Stationery not found with id: " + itemRequest.getStationeryId());
+            }
 
             // Create order item
             OrderItem orderItem = OrderItem.builder()
@@ -172,13 +181,28 @@ public class OrderService {
         return savedOrder;
     }
 
+    /**
+     * Load every stationery item referenced by the order lines with a single
+     * {@code WHERE id IN (...)} query, keyed by id for lookup while building items.
+     */
+    private Map<Long, Stationery> findStationeryByIds(List<CreateOrderRequest.OrderItemRequest> items) {
+        Set<Long> stationeryIds = items.stream()
+                .map(CreateOrderRequest.OrderItemRequest::getStationeryId)
+                .collect(Collectors.toSet());
+
+        return stationeryRepository.findAllById(stationeryIds).stream()
+                .collect(Collectors.toMap(Stationery::getId, Function.identity()));
+    }
+
     /**
      * Validate order request
      * 
      * For SCHOOL_ADMIN users: student details are not required (ordering for school)
      * For PARENT/other users: student grade and name are required for PURCHASE orders
+     * 
+     * Public so peak-mode intake can reject bad orders before queueing them.
      */
-    private void validateOrderRequest(CreateOrderRequest request, User user) {
+    public void validateOrderRequest(CreateOrderRequest request, User user) {
         // Check school ID OR requested school name
         if (request.getSchoolId() == null && 
             (request.getRequestedSchoolName() == null || request.getRequestedSchoolName().trim().isEmpty())) {
@@ -249,11 +273,11 @@ public class OrderService {
     }
 
     /**
-     * Get all orders for a user
+     * Get all orders for a user (list rows, read-only projections)
      */
-    public List<Order> getUserOrders(User user) {
+    public List<OrderSummary> getUserOrders(User user) {
         log.info("Fetching orders for user: {}", user.getEmail());
-        return orderRepository.findByUserOrderByCreatedAtDesc(user);
+        return orderRepository.findSummariesByUserId(user.getId());
     }
 
     /**
@@ -303,11 +327,11 @@ public class OrderService {
      * Get all donations for a user
      * 
      * @param user User (donor)
-     * @return List of donations
+     * @return List of donations (list rows, read-only projections)
      */
-    public List<Order> getDonations(User user) {
+    public List<OrderSummary> getDonations(User user) {
         log.info("Fetching donations for user: {}", user.getEmail());
-        return orderRepository.findByUserAndOrderTypeOrderByCreatedAtDesc(user, "DONATION");
+        return orderRepository.findSummariesByUserIdAndOrderType(user.getId(), "DONATION");
     }
 
     /**
@@ -371,11 +395,11 @@ public class OrderService {
      * Get all orders for a school
      * 
      * @param schoolId School ID
-     * @return List of orders
+     * @return List of orders (list rows, read-only projections)
      */
-    public List<Order> getSchoolOrders(Long schoolId) {
+    public List<OrderSummary> getSchoolOrders(Long schoolId) {
         log.info("Fetching orders for school: {}", schoolId);
-        return orderRepository.findBySchoolIdOrderByCreatedAtDesc(schoolId);
+        return orderRepository.findSummariesBySchoolId(schoolId);
     }
 
     /**
@@ -0,0 +1,166 @@
+package com.anyschool.service;
+
+import com.anyschool.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order Transition Service
+ *
+ * Bulk purchasing workflow transitions (acknowledge, start processing,
+ * verify payment, send for delivery, mark delivered, close) for many orders
+ * at once.
+ *
+ * Each call is one set-based UPDATE ... WHERE id IN (...) AND status =
+ * expected RETURNING id, so a 400-order delivery run is one statement
+ * instead of 400 load/save round-trips. The status guard makes it safe
+ * against concurrent single-order changes: anything not in the expected
+ * status is left alone and reported.
+ *
+ * Per-order outcomes:
+ * - TRANSITIONED - moved to the target status
+ * - SENT_FOR_APPROVAL - IN_PROCESS requested but total >= R1000, marked for super admin instead
+ * - INVALID_STATUS - order is not in the required previous status
+ * - CONFLICT - order changed status while the transition was running
+ * - NOT_FOUND - no such order
+ */
+@Service
+@Slf4j
+public class OrderTransitionService {
+
+    /**
+     * Orders at or above this total need super admin approval before IN_PROCESS
+     */
+    public static final BigDecimal SUPER_ADMIN_APPROVAL_THRESHOLD = new BigDecimal("1000");
+
+    public static final int MAX_ORDERS_PER_CALL = 2000;
+
+    private static final String CURRENT_STATUS_SQL =
+            "SELECT id, status FROM orders WHERE id IN (:ids)";
+
+    private static final String TRANSITION_SQL =
+            "UPDATE orders SET status = :target, updated_at = :now, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :expected RETURNING id";
+
+    private static final String CLOSE_SQL =
+            "UPDATE orders SET status = :target, is_marked_final = true, updated_at = :now, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :expected RETURNING id";
+
+    private static final String START_PROCESSING_SQL =
+            "UPDATE orders SET status = :target, updated_at = :now, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :expected AND total_amount < :threshold RETURNING id";
+
+    private static final String SEND_FOR_APPROVAL_SQL =
+            "UPDATE orders SET is_marked_final = true, updated_at = :now, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :expected AND total_amount >= :threshold RETURNING id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderTransitionService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move a set of orders to a target status
+     *
+     * @param orderIds Orders to transition (duplicates ignored)
+     * @param target Target status; must have a purchasing predecessor
+     * @return Summary counts and per-order outcomes
+     * @throws IllegalArgumentException if the target status or id list is invalid
+     */
+    @Transactional
+    public Map<String, Object> transition(List<Long> orderIds, OrderStatus target) {
+        OrderStatus expected = target.purchasingPredecessor();
+        if (expected == null) {
+            throw new IllegalArgumentException("Orders can't be bulk-transitioned to " + target);
+        }
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("orderIds is required");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        ids.remove(null);
+        if (ids.size() > MAX_ORDERS_PER_CALL) {
+            throw new IllegalArgumentException("At most " + MAX_ORDERS_PER_CALL + " orders per call");
+        }
+
+        Map<Long, String> before = new HashMap<>();
+        jdbcTemplate.query(CURRENT_STATUS_SQL, new MapSqlParameterSource("ids", ids),
+                rs -> { before.put(rs.getLong("id"), rs.getString("status")); });
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("target", target.name())
+                .addValue("expected", expected.name())
+                .addValue("threshold", SUPER_ADMIN_APPROVAL_THRESHOLD)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+
+        Set<Long> transitioned;
+        Set<Long> sentForApproval = Set.of();
+        if (target == OrderStatus.IN_PROCESS) {
+            transitioned = new HashSet<>(jdbcTemplate.queryForList(START_PROCESSING_SQL, params, Long.class));
+            sentForApproval = new HashSet<>(jdbcTemplate.queryForList(SEND_FOR_APPROVAL_SQL, params, Long.class));
+        } else if (target == OrderStatus.CLOSED) {
+            transitioned = new HashSet<>(jdbcTemplate.queryForList(CLOSE_SQL, params, Long.class));
+        } else {
+            transitioned = new HashSet<>(jdbcTemplate.queryForList(TRANSITION_SQL, params, Long.class));
+        }
+
+        List<Map<String, Object>> outcomes = new ArrayList<>(ids.size());
+        Map<String, Integer> counts = new HashMap<>();
+        for (Long id : ids) {
+            String previous = before.get(id);
+            String outcome;
+            if (transitioned.contains(id)) {
+                outcome = "TRANSITIONED";
+            } else if (sentForApproval.contains(id)) {
+                outcome = "SENT_FOR_APPROVAL";
+            } else if (previous == null) {
+                outcome = "NOT_FOUND";
+            } else if (!expected.name().equals(previous)) {
+                outcome = "INVALID_STATUS";
+            } else {
+                outcome = "CONFLICT";
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("orderId", id);
+            result.put("outcome", outcome);
+            result.put("previousStatus", previous);
+            if ("INVALID_STATUS".equals(outcome)) {
+                result.put("message", "Order must be " + expected + " to move to " + target);
+            }
+            outcomes.add(result);
+            counts.merge(outcome, 1, Integer::sum);
+        }
+
+        log.info("Bulk transition to {}: {} requested, {}", target, ids.size(), counts);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("targetStatus", target.name());
+        summary.put("requiredStatus", expected.name());
+        summary.put("requested", ids.size());
+        summary.put("transitioned", transitioned.size());
+        summary.put("sentForApproval", sentForApproval.size());
+        summary.put("skipped", ids.size() - transitioned.size() - sentForApproval.size());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("summary", summary);
+        result.put("outcomes", outcomes);
+        return result;
+    }
+}
@@ -0,0 +1,195 @@
+package com.anyschool.service;
+
+import com.anyschool.model.OrderStatus;
+import com.anyschool.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Procurement Service
+ *
+ * Consolidated purchasing demand across orders.
+ *
+ * One grouped query over order_items → stationery → suppliers sums the
+ * quantity per SKU per supplier for the chosen order statuses and date
+ * range; the database does the aggregation, so only one row per SKU comes
+ * back no matter how many orders are in scope. Rows arrive ordered by
+ * supplier and are folded into per-supplier purchase lists in one pass.
+ *
+ * Items without a supplier are grouped under "Unassigned supplier".
+ */
+@Service
+@Slf4j
+public class ProcurementService {
+
+    /**
+     * Statuses used when none are given: paid orders still to be purchased
+     */
+    public static final List<OrderStatus> DEFAULT_DEMAND_STATUSES =
+            List.of(OrderStatus.APPROVED, OrderStatus.ACKNOWLEDGED, OrderStatus.IN_PROCESS);
+
+    private static final String DEMAND_SQL =
+            "SELECT sup.id AS supplier_id, sup.name AS supplier_name, sup.email AS supplier_email, " +
+            "       sup.phone AS supplier_phone, s.id AS stationery_id, s.sku, s.name, s.brand, s.category, " +
+            "       s.cost_price, SUM(oi.quantity) AS total_quantity, COUNT(DISTINCT o.id) AS order_count " +
+            "FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id " +
+            "JOIN stationery s ON s.id = oi.stationery_id " +
+            "LEFT JOIN suppliers sup ON sup.id = s.supplier_id " +
+            "WHERE o.status IN (:statuses) " +
+            "  AND o.created_at >= :from AND o.created_at < :to " +
+            "GROUP BY sup.id, sup.name, sup.email, sup.phone, s.id, s.sku, s.name, s.brand, s.category, s.cost_price " +
+            "ORDER BY sup.name NULLS LAST, sup.id, s.category, s.name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProcurementService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aggregate demand per supplier
+     *
+     * @param statuses Order statuses to include (null/empty = DEFAULT_DEMAND_STATUSES)
+     * @param from First order date (inclusive, null = no lower bound)
+     * @param to Last order date (inclusive, null = no upper bound)
+     * @return Per-supplier purchase lists with line and supplier totals
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> aggregateDemand(Collection<OrderStatus> statuses, LocalDate from, LocalDate to) {
+        Collection<OrderStatus> effectiveStatuses = statuses == null || statuses.isEmpty()
+                ? DEFAULT_DEMAND_STATUSES
+                : statuses;
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' date must not be after 'to' date");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", effectiveStatuses.stream().map(Enum::name).collect(Collectors.toList()))
+                .addValue("from", Timestamp.valueOf((from != null ? from : LocalDate.of(1970, 1, 1)).atStartOfDay()))
+                .addValue("to", Timestamp.valueOf((to != null ? to.plusDays(1) : LocalDate.of(9999, 1, 1)).atStartOfDay()));
+
+        Map<String, Map<String, Object>> suppliers = new LinkedHashMap<>();
+        long[] totalUnits = {0};
+        long[] skuCount = {0};
+
+        jdbcTemplate.query(DEMAND_SQL, params, rs -> {
+            Long supplierId = (Long) rs.getObject("supplier_id");
+            String key = supplierId != null ? supplierId.toString() : "unassigned";
+
+            Map<String, Object> supplier = suppliers.get(key);
+            if (supplier == null) {
+                supplier = newSupplierList(supplierId, rs.getString("supplier_name"),
+                        rs.getString("supplier_email"), rs.getString("supplier_phone"));
+                suppliers.put(key, supplier);
+            }
+
+            long quantity = rs.getLong("total_quantity");
+            BigDecimal costPrice = rs.getBigDecimal("cost_price");
+            BigDecimal lineCost = costPrice != null ? costPrice.multiply(BigDecimal.valueOf(quantity)) : null;
+
+            Map<String, Object> line = new HashMap<>();
+            line.put("stationeryId", rs.getLong("stationery_id"));
+            line.put("sku", rs.getString("sku"));
+            line.put("name", rs.getString("name"));
+            line.put("brand", rs.getString("brand"));
+            line.put("category", rs.getString("category"));
+            line.put("quantity", quantity);
+            line.put("orderCount", rs.getLong("order_count"));
+            line.put("unitCost", costPrice);
+            line.put("estimatedCost", lineCost);
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> items = (List<Map<String, Object>>) supplier.get("items");
+            items.add(line);
+            supplier.put("totalUnits", (Long) supplier.get("totalUnits") + quantity);
+            if (lineCost != null) {
+                supplier.put("estimatedCost", ((BigDecimal) supplier.get("estimatedCost")).add(lineCost));
+            }
+
+            totalUnits[0] += quantity;
+            skuCount[0]++;
+        });
+
+        log.info("Procurement demand aggregated: {} suppliers, {} SKUs, {} units (statuses {})",
+                suppliers.size(), skuCount[0], totalUnits[0], effectiveStatuses);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("statuses", effectiveStatuses);
+        result.put("from", from != null ? from.toString() : null);
+        result.put("to", to != null ? to.toString() : null);
+        result.put("supplierCount", suppliers.size());
+        result.put("skuCount", skuCount[0]);
+        result.put("totalUnits", totalUnits[0]);
+        result.put("suppliers", new ArrayList<>(suppliers.values()));
+        return result;
+    }
+
+    /**
+     * Write aggregated demand as a flat CSV purchase list (one line per supplier/SKU)
+     *
+     * @param demand Result of aggregateDemand
+     * @param out Destination, not closed
+     */
+    @SuppressWarnings("unchecked")
+    public void writeDemandCsv(Map<String, Object> demand, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CsvUtils.toLine("supplier", "supplier_email", "sku", "item", "brand", "category",
+                    "quantity", "order_count", "unit_cost", "estimated_cost"));
+            writer.write("\r\n");
+            for (Map<String, Object> supplier : (List<Map<String, Object>>) demand.get("suppliers")) {
+                for (Map<String, Object> line : (List<Map<String, Object>>) supplier.get("items")) {
+                    writer.write(CsvUtils.toLine(
+                            supplier.get("supplierName"),
+                            supplier.get("supplierEmail"),
+                            line.get("sku"),
+                            line.get("name"),
+                            line.get("brand"),
+                            line.get("category"),
+                            line.get("quantity"),
+                            line.get("orderCount"),
+                            line.get("unitCost"),
+                            line.get("estimatedCost")));
+                    writer.write("\r\n");
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> newSupplierList(Long supplierId, String name, String email, String phone) {
+        Map<String, Object> supplier = new HashMap<>();
+        supplier.put("supplierId", supplierId);
+        supplier.put("supplierName", supplierId != null ? name : "Unassigned supplier");
+        supplier.put("supplierEmail", email);
+        supplier.put("supplierPhone", phone);
+        supplier.put("totalUnits", 0L);
+        supplier.put("estimatedCost", BigDecimal.ZERO);
+        supplier.put("items", new ArrayList<Map<String, Object>>());
+        return supplier;
+    }
+}
@@ -0,0 +1,479 @@
+package com.anyschool.service;
+
+import com.anyschool.model.OrderStatus;
+import com.anyschool.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reconciliation Service
+ *
+ * Bulk bank statement reconciliation for the purchasing desk, replacing
+ * one-at-a-time mark-payment / verify-payment clicks at month end.
+ *
+ * 1. Open orders (PENDING and IN_PROCESS) are streamed once into an
+ *    in-memory hash index keyed by order id, plus an amount index for
+ *    lines that carry no reference
+ * 2. The statement CSV is parsed line by line; each credit line is matched
+ *    by payment reference ("AS{orderId}", optionally "-{instalment}") and
+ *    the amount the order expects:
+ *    - PENDING IMMEDIATE order, amount = total → APPROVED
+ *    - PENDING PAYMENT_PLAN order, amount = instalment → paymentsReceived + 1
+ *      (APPROVED once all instalments are in)
+ *    - IN_PROCESS order, amount = total → FINALIZING (payment verified)
+ *    A debit-order reference ("AS{orderId}-{n}") on a payment plan also
+ *    records instalment n as collected, and is reported as already applied
+ *    if instalment n (or a later one) was collected before - by an earlier
+ *    line or by a DebitRunService bank response - so one collection is never
+ *    counted twice
+ * 3. Matches are written with batched UPDATEs, one transaction per batch;
+ *    each UPDATE is guarded by the status/payment count seen in the index,
+ *    so orders changed by someone else meanwhile are reported, not clobbered
+ *
+ * Report: matched, unmatched (no/unknown reference, wrong amount),
+ * ambiguous (several references, or no reference and an amount shared by
+ * open orders) and already applied (instalment collected before) lines.
+ */
+@Service
+@Slf4j
+public class ReconciliationService {
+
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\bAS-?(\\d+)(?:-(\\d+))?\\b", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_CANDIDATES_REPORTED = 10;
+
+    private static final String OPEN_ORDERS_SQL =
+            "SELECT id, status, payment_type, total_amount, monthly_instalment, payments_received, payment_plan_months, " +
+            "       last_collected_instalment " +
+            "FROM orders WHERE status IN ('PENDING', 'IN_PROCESS')";
+
+    /**
+     * Instalment parameters are null for payments without a debit reference:
+     * last_collected_instalment is then left alone and not checked
+     */
+    private static final String APPLY_PAYMENT_SQL =
+            "UPDATE orders SET status = ?, payments_received = ?, " +
+            "       last_collected_instalment = COALESCE(CAST(? AS integer), last_collected_instalment), " +
+            "       updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND status = ? AND COALESCE(payments_received, 0) = ? " +
+            "  AND (CAST(? AS integer) IS NULL OR COALESCE(last_collected_instalment, 0) < CAST(? AS integer))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int fetchSize;
+    private final int batchSize;
+
+    public ReconciliationService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.reconciliation.fetch-size:1000}") int fetchSize,
+            @Value("${app.reconciliation.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reconcile a bank statement
+     *
+     * Statement CSV needs a header row with a "description" (or "reference")
+     * column and an "amount" column; a "date" column is echoed in the report.
+     * Debits (amount <= 0) are ignored.
+     *
+     * @param in Statement file
+     * @param dryRun Match only, don't update any orders
+     * @return Report with matched / unmatched / ambiguous lines
+     */
+    public Map<String, Object> reconcile(InputStream in, boolean dryRun) {
+        OpenOrderIndex index = loadOpenOrders();
+
+        List<Map<String, Object>> matched = new ArrayList<>();
+        List<Map<String, Object>> unmatched = new ArrayList<>();
+        List<Map<String, Object>> ambiguous = new ArrayList<>();
+        List<Map<String, Object>> alreadyApplied = new ArrayList<>();
+        List<PaymentUpdate> updates = new ArrayList<>();
+        long linesRead = 0;
+        long debitsSkipped = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("Bank statement is empty");
+            }
+            List<String> header = CsvUtils.parseLine(headerLine.toLowerCase(Locale.ROOT));
+            int descriptionCol = header.indexOf("description") >= 0 ? header.indexOf("description") : header.indexOf("reference");
+            int amountCol = header.indexOf("amount");
+            int dateCol = header.indexOf("date");
+            if (descriptionCol < 0 || amountCol < 0) {
+                throw new IllegalArgumentException("Bank statement must have 'description' (or 'reference') and 'amount' columns");
+            }
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                linesRead++;
+
+                List<String> fields = CsvUtils.parseLine(line);
+                String description = field(fields, descriptionCol);
+                String date = field(fields, dateCol);
+                BigDecimal amount = parseAmount(field(fields, amountCol));
+
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("line", lineNumber);
+                entry.put("date", date);
+                entry.put("description", description);
+                entry.put("amount", amount);
+
+                if (amount == null) {
+                    entry.put("reason", "Unreadable amount");
+                    unmatched.add(entry);
+                    continue;
+                }
+                if (amount.signum() <= 0) {
+                    debitsSkipped++;
+                    continue;
+                }
+
+                matchLine(index, description, amount, entry, matched, unmatched, ambiguous, alreadyApplied, updates);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long applied = 0;
+        List<Long> conflicts = new ArrayList<>();
+        if (!dryRun) {
+            applied = applyUpdates(updates, conflicts);
+        }
+
+        log.info("Bank statement reconciled: {} lines, {} matched, {} unmatched, {} ambiguous, {} already applied, {} applied{}",
+                linesRead, matched.size(), unmatched.size(), ambiguous.size(), alreadyApplied.size(), applied,
+                dryRun ? " (dry run)" : "");
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("linesRead", linesRead);
+        summary.put("debitsSkipped", debitsSkipped);
+        summary.put("openOrders", index.byId.size());
+        summary.put("matched", matched.size());
+        summary.put("unmatched", unmatched.size());
+        summary.put("ambiguous", ambiguous.size());
+        summary.put("alreadyApplied", alreadyApplied.size());
+        summary.put("applied", applied);
+        summary.put("conflicts", conflicts.size());
+        summary.put("dryRun", dryRun);
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("summary", summary);
+        report.put("matched", matched);
+        report.put("unmatched", unmatched);
+        report.put("ambiguous", ambiguous);
+        report.put("alreadyApplied", alreadyApplied);
+        report.put("conflictOrderIds", conflicts);
+        return report;
+    }
+
+    /**
+     * Match one statement line against the index, advancing the in-memory
+     * order state so a later line for the same order sees the new position
+     */
+    private void matchLine(OpenOrderIndex index, String description, BigDecimal amount, Map<String, Object> entry,
+                           List<Map<String, Object>> matched, List<Map<String, Object>> unmatched,
+                           List<Map<String, Object>> ambiguous, List<Map<String, Object>> alreadyApplied,
+                           List<PaymentUpdate> updates) {
+        Set<Long> referencedIds = new LinkedHashSet<>();
+        Integer instalment = null;
+        Matcher matcher = REFERENCE_PATTERN.matcher(description);
+        while (matcher.find()) {
+            referencedIds.add(Long.parseLong(matcher.group(1)));
+            if (instalment == null && matcher.group(2) != null) {
+                instalment = parseInstalment(matcher.group(2));
+            }
+        }
+
+        if (referencedIds.size() > 1) {
+            entry.put("reason", "Several order references on one line");
+            entry.put("candidates", new ArrayList<>(referencedIds));
+            ambiguous.add(entry);
+            return;
+        }
+
+        if (referencedIds.isEmpty()) {
+            List<Long> candidates = index.byAmount.getOrDefault(amount.stripTrailingZeros(), List.of());
+            if (candidates.isEmpty()) {
+                entry.put("reason", "No order reference");
+                unmatched.add(entry);
+            } else {
+                entry.put("reason", "No order reference; amount matches open orders");
+                entry.put("candidates", candidates.subList(0, Math.min(candidates.size(), MAX_CANDIDATES_REPORTED)));
+                entry.put("candidateCount", candidates.size());
+                ambiguous.add(entry);
+            }
+            return;
+        }
+
+        Long orderId = referencedIds.iterator().next();
+        entry.put("orderId", orderId);
+        OpenOrder order = index.byId.get(orderId);
+        if (order == null) {
+            entry.put("reason", "Order not found or not awaiting payment");
+            unmatched.add(entry);
+            return;
+        }
+        if (order.settled) {
+            entry.put("reason", "Order already settled earlier in this statement");
+            ambiguous.add(entry);
+            return;
+        }
+
+        // Only payment plans are collected by debit order; elsewhere the suffix is just text
+        Integer debitInstalment = order.paymentPlan ? instalment : null;
+        if (debitInstalment != null) {
+            entry.put("instalment", debitInstalment);
+            if (debitInstalment <= order.lastCollectedInstalment) {
+                entry.put("reason", "Instalment " + debitInstalment + " already collected (last collected "
+                        + order.lastCollectedInstalment + ")");
+                alreadyApplied.add(entry);
+                return;
+            }
+            if (debitInstalment > order.planMonths) {
+                entry.put("reason", "Instalment " + debitInstalment + " is beyond the " + order.planMonths + "-month plan");
+                unmatched.add(entry);
+                return;
+            }
+        }
+
+        BigDecimal expected = order.expectedAmount();
+        if (expected == null || expected.compareTo(amount) != 0) {
+            entry.put("reason", "Amount does not match (expected " + expected + ")");
+            unmatched.add(entry);
+            return;
+        }
+
+        PaymentUpdate update = order.applyPayment(debitInstalment);
+        updates.add(update);
+        entry.put("action", update.fromStatus + " -> " + update.toStatus
+                + (order.paymentPlan ? " (payment " + update.toPayments + "/" + order.planMonths + ")" : ""));
+        matched.add(entry);
+    }
+
+    /**
+     * Stream open orders into the hash index (forward-only cursor, read-only transaction)
+     */
+    private OpenOrderIndex loadOpenOrders() {
+        OpenOrderIndex index = new OpenOrderIndex();
+        readOnlyTransactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(OPEN_ORDERS_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    return ps;
+                }, rs -> {
+                    OpenOrder order = new OpenOrder(
+                            rs.getLong("id"),
+                            OrderStatus.valueOf(rs.getString("status")),
+                            "PAYMENT_PLAN".equals(rs.getString("payment_type")),
+                            rs.getBigDecimal("total_amount"),
+                            rs.getBigDecimal("monthly_instalment"),
+                            rs.getInt("payments_received"),
+                            rs.getInt("payment_plan_months"),
+                            rs.getInt("last_collected_instalment"));
+                    index.add(order);
+                }));
+        return index;
+    }
+
+    /**
+     * Write matches in batches, one transaction per batch
+     *
+     * @return Number of orders updated; ids whose guard failed go to conflicts
+     */
+    private long applyUpdates(List<PaymentUpdate> updates, List<Long> conflicts) {
+        long applied = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<PaymentUpdate> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (PaymentUpdate u : chunk) {
+                args.add(new Object[]{u.toStatus.name(), u.toPayments, u.instalment, now,
+                        u.orderId, u.fromStatus.name(), u.fromPayments, u.instalment, u.instalment});
+            }
+
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(APPLY_PAYMENT_SQL, args));
+            for (int i = 0; i < chunk.size(); i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    applied++;
+                } else {
+                    conflicts.add(chunk.get(i).orderId);
+                }
+            }
+        }
+        return applied;
+    }
+
+    private String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : "";
+    }
+
+    /**
+     * Instalment number from a debit reference, null if it doesn't fit an int
+     */
+    private Integer parseInstalment(String digits) {
+        try {
+            return Integer.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse "1 234.50", "R1,234.50" or "-99.00"; null if unreadable
+     */
+    private BigDecimal parseAmount(String raw) {
+        String cleaned = raw.replace(" ", "").replace("R", "").replace("r", "");
+        if (cleaned.contains(".")) {
+            cleaned = cleaned.replace(",", "");
+        } else {
+            cleaned = cleaned.replace(",", ".");
+        }
+        try {
+            return cleaned.isEmpty() ? null : new BigDecimal(cleaned);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hash index over open orders: by id, and by expected amount for reference-less lines
+     */
+    private static final class OpenOrderIndex {
+        private final Map<Long, OpenOrder> byId = new HashMap<>();
+        private final Map<BigDecimal, List<Long>> byAmount = new HashMap<>();
+
+        private void add(OpenOrder order) {
+            byId.put(order.id, order);
+            BigDecimal expected = order.expectedAmount();
+            if (expected != null) {
+                byAmount.computeIfAbsent(expected.stripTrailingZeros(), k -> new ArrayList<>()).add(order.id);
+            }
+        }
+    }
+
+    /**
+     * Compact in-memory view of an order awaiting payment
+     */
+    private static final class OpenOrder {
+        private final long id;
+        private final boolean paymentPlan;
+        private final BigDecimal totalAmount;
+        private final BigDecimal monthlyInstalment;
+        private final int planMonths;
+
+        private OrderStatus status;
+        private int payments;
+        private int lastCollectedInstalment;
+        private boolean settled;
+
+        private OpenOrder(long id, OrderStatus status, boolean paymentPlan, BigDecimal totalAmount,
+                          BigDecimal monthlyInstalment, int payments, int planMonths, int lastCollectedInstalment) {
+            this.id = id;
+            this.paymentPlan = paymentPlan && status == OrderStatus.PENDING;
+            this.totalAmount = totalAmount;
+            this.monthlyInstalment = monthlyInstalment;
+            this.planMonths = planMonths;
+            this.status = status;
+            this.payments = payments;
+            this.lastCollectedInstalment = lastCollectedInstalment;
+        }
+
+        private BigDecimal expectedAmount() {
+            return paymentPlan ? monthlyInstalment : totalAmount;
+        }
+
+        /**
+         * Advance the in-memory state by one payment and describe the UPDATE;
+         * the guard is the state before this payment, so several instalments
+         * for one order on the same statement chain correctly
+         *
+         * @param instalment Debit-order instalment collected, null if the line had none
+         */
+        private PaymentUpdate applyPayment(Integer instalment) {
+            OrderStatus fromStatus = status;
+            int fromPayments = payments;
+            if (instalment != null) {
+                lastCollectedInstalment = instalment;
+            }
+            if (paymentPlan) {
+                payments++;
+                if (payments >= planMonths) {
+                    status = OrderStatus.APPROVED;
+                    settled = true;
+                }
+            } else if (status == OrderStatus.PENDING) {
+                status = OrderStatus.APPROVED;
+                settled = true;
+            } else {
+                status = OrderStatus.FINALIZING;
+                settled = true;
+            }
+            return new PaymentUpdate(id, fromStatus, fromPayments, status, payments, instalment);
+        }
+    }
+
+    /**
+     * One guarded UPDATE: move an order from (status, payments) to (status, payments),
+     * recording the debit-order instalment if there was one
+     */
+    private static final class PaymentUpdate {
+        private final long orderId;
+        private final OrderStatus fromStatus;
+        private final int fromPayments;
+        private final OrderStatus toStatus;
+        private final int toPayments;
+        private final Integer instalment;
+
+        private PaymentUpdate(long orderId, OrderStatus fromStatus, int fromPayments,
+                              OrderStatus toStatus, int toPayments, Integer instalment) {
+            this.orderId = orderId;
+            this.fromStatus = fromStatus;
+            this.fromPayments = fromPayments;
+            this.toStatus = toStatus;
+            this.toPayments = toPayments;
+            this.instalment = instalment;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.anyschool.service;
+
+import com.anyschool.model.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * User Search Service
+ *
+ * Paged, filtered user list for super admins (GET /api/admin/users/search).
+ *
+ * Keyset pagination on id: each page is "WHERE id > :cursor ORDER BY id
+ * LIMIT n", an index range scan that costs the same on page 1 and page
+ * 5,000 (no OFFSET re-reading every earlier row). The response carries the
+ * last id as nextCursor; the next request passes it back as cursor.
+ *
+ * Filters (all optional, combined with AND): role, enabled, verified,
+ * schoolId, and q - a case-insensitive prefix of the email or full name,
+ * served by the lower(...) text_pattern_ops indexes (V3 migration).
+ *
+ * Total count, first page only (cursor absent), chosen with count=:
+ * - AUTO (default) - planner estimate; if that is at most
+ *   app.admin.user-search.exact-count-threshold, an exact count instead
+ *   (cheap at that size)
+ * - ESTIMATE - planner estimate only (EXPLAIN, never touches the table)
+ * - EXACT - SELECT count(*) with the filters
+ * - NONE - no total
+ * Later pages never count; clients keep the first page's total.
+ */
+@Service
+@Slf4j
+public class UserSearchService {
+
+    public enum CountMode { AUTO, ESTIMATE, EXACT, NONE }
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private static final String SELECT_SQL =
+            "SELECT id, full_name, email, phone_number, role, enabled, verified, created_at, school_id FROM users ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long exactCountThreshold;
+
+    public UserSearchService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.admin.user-search.default-limit:50}") int defaultLimit,
+            @Value("${app.admin.user-search.max-limit:200}") int maxLimit,
+            @Value("${app.admin.user-search.exact-count-threshold:10000}") long exactCountThreshold
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    /**
+     * One page of users
+     *
+     * @param cursor nextCursor of the previous page (null = first page)
+     * @param limit Page size (null = default, capped at max-limit)
+     * @param role Role name (case-insensitive), null = any
+     * @param q Email / full name prefix, null or blank = no search
+     * @param countMode Total count strategy (null = AUTO)
+     * @return users (same fields as GET /api/admin/users), count, hasMore,
+     *         nextCursor, and on the first page total + totalEstimated
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(Long cursor, Integer limit, String role, Boolean enabled, Boolean verified,
+                                      Long schoolId, String q, CountMode countMode) {
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder("WHERE true");
+        if (role != null && !role.isBlank()) {
+            where.append(" AND role = :role");
+            params.addValue("role", parseRole(role).name());
+        }
+        if (enabled != null) {
+            where.append(" AND enabled = :enabled");
+            params.addValue("enabled", enabled);
+        }
+        if (verified != null) {
+            where.append(" AND verified = :verified");
+            params.addValue("verified", verified);
+        }
+        if (schoolId != null) {
+            where.append(" AND school_id = :schoolId");
+            params.addValue("schoolId", schoolId);
+        }
+        if (q != null && !q.isBlank()) {
+            String prefix = q.trim().toLowerCase(Locale.ROOT);
+            if (prefix.length() > MAX_QUERY_LENGTH) {
+                throw new IllegalArgumentException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+            }
+            where.append(" AND (lower(email) LIKE :prefix OR lower(full_name) LIKE :prefix)");
+            params.addValue("prefix", escapeLike(prefix) + "%");
+        }
+        String filters = where.toString();
+
+        String pageSql = SELECT_SQL + filters + (cursor != null ? " AND id > :cursor" : "") + " ORDER BY id LIMIT :limit";
+        params.addValue("cursor", cursor);
+        // One extra row tells whether another page follows
+        params.addValue("limit", pageSize + 1);
+
+        List<Map<String, Object>> users = new ArrayList<>(pageSize + 1);
+        jdbcTemplate.query(pageSql, params, rs -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id",          rs.getLong("id"));
+            m.put("fullName",    rs.getString("full_name"));
+            m.put("email",       rs.getString("email"));
+            m.put("phoneNumber", rs.getString("phone_number"));
+            m.put("role",        rs.getString("role"));
+            m.put("enabled",     rs.getBoolean("enabled"));
+            m.put("verified",    rs.getBoolean("verified"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            m.put("createdAt",   createdAt != null ? createdAt.toLocalDateTime() : null);
+            m.put("schoolId",    rs.getObject("school_id"));
+            users.add(m);
+        });
+
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users.remove(pageSize);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", users);
+        result.put("count", users.size());
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", hasMore ? users.get(users.size() - 1).get("id").toString() : null);
+        if (cursor == null) {
+            addTotal(result, filters, params, countMode != null ? countMode : CountMode.AUTO);
+        }
+        return result;
+    }
+
+    private void addTotal(Map<String, Object> result, String filters, MapSqlParameterSource params, CountMode mode) {
+        if (mode == CountMode.NONE) {
+            return;
+        }
+        if (mode != CountMode.EXACT) {
+            Long estimate = estimateCount(filters, params);
+            if (estimate != null && (mode == CountMode.ESTIMATE || estimate > exactCountThreshold)) {
+                result.put("total", estimate);
+                result.put("totalEstimated", true);
+                return;
+            }
+            if (mode == CountMode.ESTIMATE) {
+                return;
+            }
+        }
+        result.put("total", jdbcTemplate.queryForObject("SELECT count(*) FROM users " + filters, params, Long.class));
+        result.put("totalEstimated", false);
+    }
+
+    /**
+     * Planner's row estimate for the filters (from table statistics, no scan)
+     *
+     * @return Estimated rows, null if the plan couldn't be read
+     */
+    private Long estimateCount(String filters, MapSqlParameterSource params) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT 1 FROM users " + filters,
+                    params, String.class);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (Exception e) {
+            log.warn("⚠️  Could not read user count estimate: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static UserRole parseRole(String role) {
+        try {
+            return UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role: " + role);
+        }
+    }
+
+    /**
+     * Escape LIKE wildcards so the search term matches literally
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,112 @@
+package com.anyschool.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV Utilities
+ * 
+ * Minimal RFC 4180 helpers for the streaming import/export features
+ * (debit runs, bank statements, rosters). Works one record at a time so
+ * callers never hold a whole file in memory.
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    /**
+     * Quote a value if it contains a comma, quote or line break
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String s = value.toString();
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+
+    /**
+     * Join values into one CSV line (without line terminator)
+     */
+    public static String toLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(escape(values[i]));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Read the next record: one line, or several when a quoted field holds a
+     * line break (RFC 4180). The line breaks inside quotes are kept as "\n".
+     *
+     * @return the record without its terminator, or null at end of input
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        boolean inQuotes = opensQuote(line, false);
+        while (inQuotes && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            inQuotes = opensQuote(line, true);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Whether a quoted field is still open at the end of the line; an escaped
+     * quote ("") toggles twice, so counting quotes is enough
+     */
+    private static boolean opensQuote(String line, boolean inQuotes) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                inQuotes = !inQuotes;
+            }
+        }
+        return inQuotes;
+    }
+
+    /**
+     * Split one CSV record into trimmed fields, honouring double quotes
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
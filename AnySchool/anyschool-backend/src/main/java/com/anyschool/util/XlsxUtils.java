@@ -0,0 +1,297 @@
+package com.anyschool.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * XLSX Utilities
+ *
+ * Streaming reader for the first worksheet of an .xlsx workbook (roster
+ * imports), using only the JDK: a workbook is a zip of XML parts, and the
+ * sheet is read with StAX so rows are handed over one at a time. Only the
+ * shared string table is held in memory. Cell styles are ignored, so a date
+ * cell arrives as its Excel serial number (see excelDate).
+ *
+ * A small upload can inflate to gigabytes (zip bomb), so every XML part is
+ * capped at MAX_PART_BYTES uncompressed and the string table at
+ * MAX_SHARED_STRINGS entries / MAX_SHARED_STRING_CHARS characters.
+ */
+public final class XlsxUtils {
+
+    /**
+     * Receives one worksheet row: 1-based row number and the cell values
+     * (trimmed, "" for empty cells, index = column)
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(int rowNumber, List<String> cells);
+    }
+
+    private static final String RELATIONSHIP_NS =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    // Last column Excel allows (XFD)
+    private static final int MAX_COLUMN = 16_383;
+    private static final long MAX_PART_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_SHARED_STRINGS = 1_000_000;
+    private static final long MAX_SHARED_STRING_CHARS = 16_000_000;
+
+    private XlsxUtils() {
+    }
+
+    /**
+     * Read every row of the workbook's first sheet
+     *
+     * @throws IllegalArgumentException if the file isn't a readable .xlsx workbook
+     *         or exceeds the size caps
+     */
+    public static void readFirstSheet(Path file, RowHandler handler) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            List<String> sharedStrings = readSharedStrings(zip);
+            ZipEntry sheet = zip.getEntry(firstSheetPath(zip));
+            if (sheet == null) {
+                throw new IllegalArgumentException("Workbook has no worksheet");
+            }
+            try (InputStream in = open(zip, sheet)) {
+                readRows(in, sharedStrings, handler);
+            }
+        } catch (ZipException e) {
+            throw new IllegalArgumentException("Not a valid .xlsx file");
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Unreadable .xlsx file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Date from an Excel serial day number (1900 date system)
+     */
+    public static LocalDate excelDate(double serial) {
+        return EXCEL_EPOCH.plusDays((long) Math.floor(serial));
+    }
+
+    /**
+     * Stream of a zip part that fails once more than MAX_PART_BYTES come out
+     * of it, whatever size the entry declares
+     */
+    private static InputStream open(ZipFile zip, ZipEntry entry) throws IOException {
+        if (entry.getSize() > MAX_PART_BYTES) {
+            throw partTooLarge(entry);
+        }
+        return new FilterInputStream(zip.getInputStream(entry)) {
+            private long remaining = MAX_PART_BYTES;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    consumed(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    consumed(n);
+                }
+                return n;
+            }
+
+            private void consumed(int n) {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw partTooLarge(entry);
+                }
+            }
+        };
+    }
+
+    private static IllegalArgumentException partTooLarge(ZipEntry entry) {
+        return new IllegalArgumentException("Workbook part " + entry.getName() + " is larger than "
+                + MAX_PART_BYTES / (1024 * 1024) + " MB uncompressed");
+    }
+
+    private static XMLStreamReader xmlReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(in);
+    }
+
+    /**
+     * Path of the first sheet listed in xl/workbook.xml, via its relationship
+     */
+    private static String firstSheetPath(ZipFile zip) throws IOException, XMLStreamException {
+        String relationshipId = null;
+        ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+        if (workbook == null) {
+            return DEFAULT_SHEET;
+        }
+        try (InputStream in = open(zip, workbook)) {
+            XMLStreamReader xml = xmlReader(in);
+            while (xml.hasNext() && relationshipId == null) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    relationshipId = xml.getAttributeValue(RELATIONSHIP_NS, "id");
+                }
+            }
+        }
+
+        ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relationshipId == null || rels == null) {
+            return DEFAULT_SHEET;
+        }
+        try (InputStream in = open(zip, rels)) {
+            XMLStreamReader xml = xmlReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())
+                        && relationshipId.equals(xml.getAttributeValue(null, "Id"))) {
+                    String target = xml.getAttributeValue(null, "Target");
+                    return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                }
+            }
+        }
+        return DEFAULT_SHEET;
+    }
+
+    /**
+     * The workbook's string table (cells of type "s" hold an index into it)
+     */
+    private static List<String> readSharedStrings(ZipFile zip) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = open(zip, entry)) {
+            XMLStreamReader xml = xmlReader(in);
+            StringBuilder text = new StringBuilder();
+            boolean phonetic = false;
+            long chars = 0;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> text.setLength(0);
+                        // Phonetic guides repeat the text in another script
+                        case "rPh" -> phonetic = true;
+                        case "t" -> {
+                            String value = xml.getElementText();
+                            if (!phonetic) {
+                                text.append(value);
+                            }
+                        }
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = false;
+                    } else if ("si".equals(xml.getLocalName())) {
+                        chars += text.length();
+                        if (strings.size() == MAX_SHARED_STRINGS || chars > MAX_SHARED_STRING_CHARS) {
+                            throw new IllegalArgumentException("Workbook string table is larger than "
+                                    + MAX_SHARED_STRINGS + " entries / " + MAX_SHARED_STRING_CHARS + " characters");
+                        }
+                        strings.add(text.toString());
+                    }
+                }
+            }
+        }
+        return strings;
+    }
+
+    private static void readRows(InputStream in, List<String> sharedStrings, RowHandler handler)
+            throws XMLStreamException {
+        XMLStreamReader xml = xmlReader(in);
+        List<String> cells = null;
+        int rowNumber = 0;
+        int column = 0;
+        String type = null;
+        String value = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "row" -> {
+                        String r = xml.getAttributeValue(null, "r");
+                        rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                        cells = new ArrayList<>();
+                    }
+                    case "c" -> {
+                        String ref = xml.getAttributeValue(null, "r");
+                        column = ref != null ? columnIndex(ref) : (cells != null ? cells.size() : 0);
+                        type = xml.getAttributeValue(null, "t");
+                        value = null;
+                    }
+                    case "v" -> value = xml.getElementText();
+                    // Inline string: <is><t>text</t></is> (possibly several runs)
+                    case "t" -> value = (value != null ? value : "") + xml.getElementText();
+                    default -> { }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(xml.getLocalName()) && cells != null) {
+                    String cell = cellValue(type, value, sharedStrings);
+                    if (column < cells.size()) {
+                        // Repeated reference: the later cell wins
+                        cells.set(column, cell);
+                    } else {
+                        while (cells.size() < column) {
+                            cells.add("");
+                        }
+                        cells.add(cell);
+                    }
+                } else if ("row".equals(xml.getLocalName()) && cells != null) {
+                    handler.row(rowNumber, cells);
+                    cells = null;
+                }
+            }
+        }
+    }
+
+    private static String cellValue(String type, String value, List<String> sharedStrings) {
+        if (value == null) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index).trim() : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.trim()) ? "TRUE" : "FALSE";
+        }
+        return value.trim();
+    }
+
+    /**
+     * 0-based column of a cell reference ("A1" → 0, "AB12" → 27)
+     *
+     * @throws IllegalArgumentException if the reference has no column or lies past XFD
+     */
+    static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+            if (column - 1 > MAX_COLUMN) {
+                throw new IllegalArgumentException("Cell reference " + ref + " is beyond column XFD");
+            }
+        }
+        if (column == 0) {
+            throw new IllegalArgumentException("Invalid cell reference " + ref);
+        }
+        return column - 1;
+    }
+}
@@ -0,0 +1,280 @@
+-- AnySchool baseline schema
+--
+-- The schema as Hibernate (ddl-auto=update) created it before migrations were
+-- introduced. Every statement is idempotent: on an existing database (or one
+-- where AnyOffice created the shared tables first) it only adds what is
+-- missing, on an empty database it creates everything.
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS bundle_stationery (
+    bundle_id bigint not null,
+    stationery_id bigint not null
+);
+
+CREATE TABLE IF NOT EXISTS children (
+    date_of_birth date,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    parent_id bigint not null,
+    school_id bigint,
+    updated_at timestamp(6) not null,
+    grade varchar(20) not null,
+    verification_status varchar(20) not null,
+    name varchar(100) not null,
+    requested_school_name varchar(200),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS communications (
+    is_read boolean not null,
+    published boolean not null,
+    created_at timestamp(6) not null,
+    created_by_user_id bigint not null,
+    id bigserial not null,
+    school_id bigint not null,
+    target_child_id bigint,
+    updated_at timestamp(6) not null,
+    priority varchar(20) not null,
+    target_audience varchar(50) not null,
+    type varchar(50) not null,
+    target_grades varchar(100),
+    title varchar(200) not null,
+    message TEXT not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS messages (
+    is_read boolean not null,
+    is_thread_start boolean not null,
+    child_id bigint,
+    id bigserial not null,
+    parent_user_id bigint not null,
+    read_at timestamp(6),
+    school_id bigint not null,
+    sender_user_id bigint not null,
+    sent_at timestamp(6) not null,
+    thread_id bigint,
+    subject varchar(200),
+    content TEXT not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_intake (
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    order_id bigint,
+    processed_at timestamp(6),
+    user_id bigint not null,
+    status varchar(20) not null check (status in ('QUEUED','COMPLETED','FAILED')),
+    tracking_id varchar(36) not null unique,
+    error_message varchar(500),
+    payload TEXT not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    price numeric(10,2) not null,
+    quantity integer not null,
+    subtotal numeric(10,2) not null,
+    id bigint not null,
+    order_id bigint not null,
+    stationery_id bigint not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    debit_order_day integer,
+    is_marked_final boolean not null,
+    last_collected_instalment integer,
+    monthly_instalment numeric(10,2),
+    order_month integer,
+    payment_plan_months integer,
+    payments_received integer,
+    total_amount numeric(10,2) not null,
+    bundle_id bigint,
+    child_id bigint,
+    created_at timestamp(6) not null,
+    first_debit_date timestamp(6),
+    id bigint not null,
+    last_debit_date timestamp(6),
+    school_id bigint,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    version bigint default 0 not null,
+    requested_school_name varchar(200),
+    academic_year varchar(255) not null,
+    order_type varchar(255) not null,
+    payment_type varchar(255) not null,
+    status varchar(255) not null check (status in ('PENDING','APPROVED','ACKNOWLEDGED','IN_PROCESS','FINALIZING','OUT_FOR_DELIVERY','DELIVERED','CLOSED','DECLINED','CANCELLED','RETURNED','PURCHASE_IN_PROGRESS','PACKAGED','COMPLETED')),
+    student_grade varchar(255),
+    student_name varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS school_events (
+    all_day boolean not null,
+    created_at timestamp(6) not null,
+    event_date timestamp(6) not null,
+    id bigserial not null,
+    school_id bigint not null,
+    updated_at timestamp(6) not null,
+    description varchar(255),
+    event_name varchar(255) not null,
+    event_time varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS school_requests (
+    created_at timestamp(6) not null,
+    created_school_id bigint,
+    id bigserial not null,
+    linked_school_id bigint,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    phone_number varchar(20),
+    status varchar(20) not null check (status in ('PENDING','APPROVED','REJECTED')),
+    request_type varchar(50) not null,
+    province varchar(100),
+    school_name varchar(200),
+    admin_notes TEXT,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS schools (
+    admin_user_id bigint unique,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    phone varchar(20),
+    district varchar(100) not null,
+    grades varchar(100),
+    province varchar(100) not null,
+    name varchar(200) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS stationery (
+    available boolean not null,
+    cost_price numeric(10,2),
+    markup_percentage numeric(5,2),
+    price numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    supplier_id bigint,
+    updated_at timestamp(6) not null,
+    category varchar(50) not null,
+    brand varchar(100),
+    name varchar(100) not null,
+    sku varchar(100),
+    description varchar(500),
+    image_url varchar(500),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS stationery_bundles (
+    is_finalized boolean not null,
+    price numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    school_id bigint not null,
+    updated_at timestamp(6) not null,
+    grade varchar(50) not null,
+    name varchar(200) not null,
+    description varchar(500),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS suppliers (
+    active boolean not null,
+    contract_end_date timestamp(6),
+    contract_start_date timestamp(6),
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    phone varchar(20),
+    supplier_type varchar(50) not null,
+    contact_person varchar(100),
+    delivery_time varchar(100),
+    email varchar(100),
+    minimum_order_value varchar(100),
+    payment_terms varchar(100),
+    name varchar(200) not null,
+    address varchar(500),
+    notes varchar(1000),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    enabled boolean default true not null,
+    failed_login_attempts int default 0 not null,
+    verified boolean default false not null,
+    otp_code varchar(6),
+    account_locked_until timestamp(6),
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    otp_expires_at timestamp(6),
+    password_reset_token_expires_at timestamp(6),
+    school_id bigint,
+    updated_at timestamp(6) not null,
+    phone_number varchar(20),
+    role varchar(20) not null check (role in ('PARENT','SCHOOL_ADMIN','DONOR','PURCHASING_ADMIN','SUPER_ADMIN')),
+    password_reset_token varchar(64),
+    email varchar(100) not null unique,
+    full_name varchar(100) not null,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+-- Shared catalogue table: AnyOffice's mapping has no supplier/costing columns,
+-- so add them if AnyOffice created the table
+ALTER TABLE stationery
+    ADD COLUMN IF NOT EXISTS cost_price numeric(10,2),
+    ADD COLUMN IF NOT EXISTS markup_percentage numeric(5,2),
+    ADD COLUMN IF NOT EXISTS supplier_id bigint;
+
+CREATE INDEX IF NOT EXISTS idx_order_intake_status_id ON order_intake (status, id);
+
+-- Foreign keys (Hibernate's names), skipped where the column already has one
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT * FROM (VALUES
+        ('bundle_stationery', 'fkh2m9bwuv8h0bqks9i7t703316', 'stationery_id', 'stationery'),
+        ('bundle_stationery', 'fk8q3ejk0marxim75bsnph40oso', 'bundle_id', 'stationery_bundles'),
+        ('children', 'fknj4ttxxbdk18yp1765brwyeeg', 'parent_id', 'users'),
+        ('children', 'fkptvlb8wsqytmfodbsiqnv3k2c', 'school_id', 'schools'),
+        ('communications', 'fkl4kx0pa3u56fvfcp4cx6ov7k0', 'created_by_user_id', 'users'),
+        ('communications', 'fkkx0yo525y5d1lob06ovufxeo6', 'school_id', 'schools'),
+        ('messages', 'fkdi39b9f54c51iior5jdyfnfuj', 'parent_user_id', 'users'),
+        ('messages', 'fkmft2braq1ps0od6rue35jtop7', 'school_id', 'schools'),
+        ('messages', 'fkk4mpqp6gfuaelpcamqv01brkr', 'sender_user_id', 'users'),
+        ('order_items', 'fkbioxgbv59vetrxe0ejfubep1w', 'order_id', 'orders'),
+        ('order_items', 'fk2l9hws4xqi2qqbmby8qn3kvtu', 'stationery_id', 'stationery'),
+        ('orders', 'fkhj7hkp6mrorpfahsraci33jva', 'bundle_id', 'stationery_bundles'),
+        ('orders', 'fklevhu3psy2lkcex2g4cqc2nq4', 'school_id', 'schools'),
+        ('orders', 'fk32ql8ubntj5uh44ph9659tiih', 'user_id', 'users'),
+        ('school_events', 'fkhn22ldos0wf81q67e5as5x0q6', 'school_id', 'schools'),
+        ('school_requests', 'fkaqt3dobd74m4upstrobp8nfaf', 'user_id', 'users'),
+        ('schools', 'fk161i5rdoe3wqyacrkvy17qov6', 'admin_user_id', 'users'),
+        ('stationery', 'fkjsfmheub6ji4gfrkvxfyye41o', 'supplier_id', 'suppliers'),
+        ('stationery_bundles', 'fknt1pj5nh4873svn6e2vq9thb8', 'school_id', 'schools')
+    ) AS t (table_name, constraint_name, column_name, referenced_table)
+    LOOP
+        IF NOT EXISTS (
+            SELECT 1
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+            WHERE c.contype = 'f'
+              AND c.conrelid = fk.table_name::regclass
+              AND a.attname = fk.column_name
+        ) THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES %I',
+                    fk.table_name, fk.constraint_name, fk.column_name, fk.referenced_table);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,94 @@
+-- Indexes for the repository finders and hot SQL queries
+--
+-- Built CONCURRENTLY so a deploy against a live database doesn't block order
+-- writes (Flyway runs this migration outside a transaction). If a build is
+-- interrupted, PostgreSQL leaves an INVALID index behind that IF NOT EXISTS
+-- would skip: drop it and re-run the migration (flyway repair).
+--
+-- Tables that stay small (schools, suppliers, users by role) and
+-- low-selectivity filters (order_type alone, request_type) are deliberately
+-- left to sequential scans.
+
+-- OrderRepository.findByUser[Id]OrderByCreatedAtDesc,
+-- findByUserAndOrderTypeOrderByCreatedAtDesc, countByUserAndOrderType
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created
+    ON orders (user_id, created_at);
+
+-- OrderRepository.findBySchoolId[AndOrderType]OrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_school_type_created
+    ON orders (school_id, order_type, created_at);
+
+-- ProcurementService demand (status IN ... AND created_at range),
+-- ReconciliationService open orders (status IN ('PENDING', 'IN_PROCESS'))
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created
+    ON orders (status, created_at);
+
+-- DebitRunService due instalments: only pending payment-plan orders, in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_pending_payment_plan
+    ON orders (id) WHERE payment_type = 'PAYMENT_PLAN' AND status = 'PENDING';
+
+-- Order.orderItems (loading an order's lines), demand join
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order
+    ON order_items (order_id);
+
+-- ChildRepository.findByParentOrderByCreatedAtDesc, findByIdAndParent
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_children_parent_created
+    ON children (parent_id, created_at);
+
+-- ChildRepository.findBySchool, findBySchoolAndGradeOrderByNameAsc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_children_school_grade_name
+    ON children (school_id, grade, name);
+
+-- ChildRepository.findBySchoolAndVerificationStatusOrderByCreatedAtDesc,
+-- countBySchoolAndVerificationStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_children_school_status_created
+    ON children (school_id, verification_status, created_at);
+
+-- MessageRepository.findByThreadIdOrderBySentAtAsc (thread_id = ? OR id = ?)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_thread
+    ON messages (thread_id);
+
+-- MessageRepository.countByParentAndIsReadFalseAndSenderNot,
+-- findByParentAndIsThreadStartTrueOrderBySentAtDesc, findConversation,
+-- findUnreadMessagesForUser (parent side)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_parent_read
+    ON messages (parent_user_id, is_read);
+
+-- MessageRepository.findBySchoolAndIsThreadStartTrueOrderBySentAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_school_thread_sent
+    ON messages (school_id, is_thread_start, sent_at);
+
+-- MessageRepository.countUnreadForSchool, findUnreadMessagesForUser (school side)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_school_unread
+    ON messages (school_id) WHERE is_read = false;
+
+-- CommunicationRepository.findBySchoolAndPublishedTrue[AndPriority]OrderByCreatedAtDesc,
+-- findBySchoolAndGrade, countForSchoolAndGrade, findBySchoolOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_communications_school_published_created
+    ON communications (school_id, published, created_at);
+
+-- SchoolEventRepository.findBySchoolIdOrderByEventDateAsc, findUpcomingEventsBySchoolId,
+-- findEventsBySchoolIdAndDateRange
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_school_events_school_date
+    ON school_events (school_id, event_date);
+
+-- SchoolRequestRepository.findByUserOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_school_requests_user
+    ON school_requests (user_id);
+
+-- SchoolRequestRepository.findByStatusOrderByCreatedAtDesc, countByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_school_requests_status_created
+    ON school_requests (status, created_at);
+
+-- StationeryBundleRepository.findBySchoolIdOrderByGrade, findBySchoolIdAndGrade,
+-- findBySchoolIdAndIsFinalized
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stationery_bundles_school_grade
+    ON stationery_bundles (school_id, grade);
+
+-- StationeryBundle.stationeryItems (join table has no primary key)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bundle_stationery_bundle
+    ON bundle_stationery (bundle_id);
+
+-- StationeryRepository.findByCategory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stationery_category
+    ON stationery (category);
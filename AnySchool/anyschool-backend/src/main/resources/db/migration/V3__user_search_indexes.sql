@@ -0,0 +1,23 @@
+-- Indexes for the super admin user search (UserSearchService)
+--
+-- Built CONCURRENTLY like V2, so the same applies: an interrupted build leaves
+-- an INVALID index that IF NOT EXISTS would skip - drop it and re-run.
+--
+-- Pages are keyset scans in id order; enabled / verified are too unselective
+-- to index and are filtered along the id-ordered scan.
+
+-- Prefix search: lower(email) LIKE 'abc%' / lower(full_name) LIKE 'abc%'.
+-- text_pattern_ops so LIKE can use the index whatever the database collation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_prefix
+    ON users (lower(email) text_pattern_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_full_name_prefix
+    ON users (lower(full_name) text_pattern_ops);
+
+-- role = ? ORDER BY id (the minority roles would otherwise scan past every parent)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_id
+    ON users (role, id);
+
+-- school_id = ? ORDER BY id (school admins of one school)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_school_id
+    ON users (school_id, id) WHERE school_id IS NOT NULL;
@@ -0,0 +1,74 @@
+-- Per-school count of children awaiting verification (the school admin's
+-- verification queue badge, ChildVerificationService)
+--
+-- Kept up to date incrementally by statement-level triggers on children, so
+-- every writer - JPA saves, the roster import, bulk verify / reject, COPY -
+-- adjusts it without a count(*). A statement is aggregated through its
+-- transition tables: a 2,000-child bulk update is one counter upsert per
+-- school, not 2,000.
+--
+-- Runs in a transaction: CREATE TRIGGER locks children against writes until
+-- commit, so the backfill below can't miss a concurrent insert.
+
+CREATE TABLE IF NOT EXISTS school_child_counters (
+    school_id bigint not null,
+    pending_children bigint not null default 0,
+    primary key (school_id),
+    foreign key (school_id) references schools (id) on delete cascade
+);
+
+CREATE OR REPLACE FUNCTION school_child_counters_apply() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO school_child_counters AS c (school_id, pending_children)
+        SELECT school_id, count(*) FROM new_rows
+        WHERE verification_status = 'PENDING' AND school_id IS NOT NULL
+        GROUP BY school_id
+        ON CONFLICT (school_id) DO UPDATE SET pending_children = c.pending_children + EXCLUDED.pending_children;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE school_child_counters c SET pending_children = c.pending_children - d.removed
+        FROM (SELECT school_id, count(*) AS removed FROM old_rows
+              WHERE verification_status = 'PENDING' AND school_id IS NOT NULL
+              GROUP BY school_id) d
+        WHERE c.school_id = d.school_id;
+    ELSE
+        -- Status and / or school changes: +1 where a row is now pending, -1
+        -- where it was; rows pending before and after cancel out
+        INSERT INTO school_child_counters AS c (school_id, pending_children)
+        SELECT school_id, sum(delta) FROM (
+            SELECT school_id, 1 AS delta FROM new_rows
+            WHERE verification_status = 'PENDING' AND school_id IS NOT NULL
+            UNION ALL
+            SELECT school_id, -1 FROM old_rows
+            WHERE verification_status = 'PENDING' AND school_id IS NOT NULL
+        ) changes
+        GROUP BY school_id
+        HAVING sum(delta) <> 0
+        ON CONFLICT (school_id) DO UPDATE SET pending_children = c.pending_children + EXCLUDED.pending_children;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS children_pending_counter_insert ON children;
+CREATE TRIGGER children_pending_counter_insert
+    AFTER INSERT ON children REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION school_child_counters_apply();
+
+DROP TRIGGER IF EXISTS children_pending_counter_update ON children;
+CREATE TRIGGER children_pending_counter_update
+    AFTER UPDATE ON children REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION school_child_counters_apply();
+
+DROP TRIGGER IF EXISTS children_pending_counter_delete ON children;
+CREATE TRIGGER children_pending_counter_delete
+    AFTER DELETE ON children REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION school_child_counters_apply();
+
+-- Backfill from the children already there
+INSERT INTO school_child_counters (school_id, pending_children)
+SELECT school_id, count(*) FROM children
+WHERE verification_status = 'PENDING' AND school_id IS NOT NULL
+GROUP BY school_id
+ON CONFLICT (school_id) DO UPDATE SET pending_children = EXCLUDED.pending_children;
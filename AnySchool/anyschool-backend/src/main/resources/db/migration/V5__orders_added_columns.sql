@@ -0,0 +1,12 @@
+-- Columns added to orders after the ddl-auto=update era: the debit run's
+-- instalment guard (last_collected_instalment) and the optimistic lock
+-- version. V1 creates orders with both, but on a database from that era
+-- orders already exists, V1's CREATE TABLE IF NOT EXISTS is skipped and
+-- ddl-auto=validate would then fail on the missing columns.
+--
+-- A separate migration rather than an edit to V1, which databases already
+-- have in their history (editing it would fail Flyway's checksum check).
+-- Existing orders start at version 0.
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS last_collected_instalment integer,
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Order intake retries (OrderIntakeService)
+--
+-- A worker claims an intake in its own short transaction: attempts is
+-- incremented and next_attempt_at pushed out by the retry backoff before the
+-- order is created. An intake whose order creation failed (or whose worker
+-- died) is retried once next_attempt_at has passed, and marked FAILED after
+-- app.orders.peak-mode.max-attempts. NULL = due now (intakes queued before
+-- this migration).
+
+ALTER TABLE order_intake
+    ADD COLUMN IF NOT EXISTS next_attempt_at timestamp(6);
@@ -0,0 +1,22 @@
+-- One-time alignment of the pooled order id sequences with rows inserted
+-- while orders and order_items still used IDENTITY ids.
+--
+-- Hibernate's pooled optimizer takes the block (value - 49 .. value] for
+-- every nextval, so each sequence must hand out a value of at least
+-- MAX(id) + 50 before it is safe. The sequences are advanced with nextval
+-- rather than setval: nextval is atomic and only ever moves forward, so a
+-- node already allocating from them while this runs can't be handed a
+-- block twice.
+
+DO $$
+DECLARE
+    target bigint;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) + 50 INTO target FROM orders;
+    WHILE nextval('orders_seq') < target LOOP
+    END LOOP;
+
+    SELECT COALESCE(MAX(id), 0) + 50 INTO target FROM order_items;
+    WHILE nextval('order_items_seq') < target LOOP
+    END LOOP;
+END $$;
@@ -0,0 +1,67 @@
+package com.anyschool.monitoring;
+
+import com.anyschool.PostgresIntegrationTest;
+import com.anyschool.exception.SqlBudgetExceededException;
+import com.anyschool.repository.StationeryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL budget with app.sql-budget.fail-on-exceed=true: JPA and JdbcTemplate
+ * statements count against the same per-request budget, and the statement
+ * that crosses it fails.
+ */
+@TestPropertySource(properties = "app.sql-budget.fail-on-exceed=true")
+class SqlBudgetIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StationeryRepository stationeryRepository;
+
+    @AfterEach
+    void closeContext() {
+        SqlRequestContext.end();
+    }
+
+    @Test
+    void countsJpaAndJdbcTemplateStatements() {
+        SqlRequestContext context = SqlRequestContext.begin(10);
+
+        stationeryRepository.count();
+        jdbcTemplate.queryForObject("SELECT count(*) FROM schools WHERE province = ?", Long.class, "Gauteng");
+        jdbcTemplate.execute("SELECT 1");
+
+        assertEquals(3, context.getStatementCount());
+        assertTrue(context.getJdbcNanos() > 0);
+    }
+
+    @Test
+    void statementOverBudgetFails() {
+        SqlRequestContext.begin(2);
+
+        jdbcTemplate.queryForObject("SELECT count(*) FROM schools", Long.class);
+        stationeryRepository.count();
+
+        SqlBudgetExceededException e = assertThrows(SqlBudgetExceededException.class,
+                () -> jdbcTemplate.queryForObject("SELECT count(*) FROM schools", Long.class));
+        assertTrue(e.getMessage().contains("statement 3 > 2"), e.getMessage());
+    }
+
+    @Test
+    void threadsWithoutContextAreNotLimited() {
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        }
+        assertNull(SqlRequestContext.current());
+    }
+}
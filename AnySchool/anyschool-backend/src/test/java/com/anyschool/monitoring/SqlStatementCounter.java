@@ -0,0 +1,44 @@
+package com.anyschool.monitoring;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Counts the SQL statements an action sends on the calling thread, through
+ * the same request context SqlBudgetFilter opens for HTTP requests
+ */
+public final class SqlStatementCounter {
+
+    private SqlStatementCounter() {
+    }
+
+    public static int count(Runnable action) {
+        SqlRequestContext context = SqlRequestContext.begin(Integer.MAX_VALUE);
+        try {
+            action.run();
+            return context.getStatementCount();
+        } finally {
+            SqlRequestContext.end();
+        }
+    }
+
+    /**
+     * Like {@link #count(Runnable)}, leaving out statements whose normalized
+     * shape matches {@code ignoredShape}
+     */
+    public static int count(Runnable action, Predicate<String> ignoredShape) {
+        SqlRequestContext context = SqlRequestContext.begin(Integer.MAX_VALUE);
+        try {
+            action.run();
+            int count = 0;
+            for (Map.Entry<String, Integer> shape : context.getShapeCounts().entrySet()) {
+                if (!ignoredShape.test(shape.getKey())) {
+                    count += shape.getValue();
+                }
+            }
+            return count;
+        } finally {
+            SqlRequestContext.end();
+        }
+    }
+}
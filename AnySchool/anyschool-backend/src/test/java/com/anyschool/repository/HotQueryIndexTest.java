@@ -0,0 +1,100 @@
+package com.anyschool.repository;
+
+import com.anyschool.PostgresIntegrationTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hot finders must be served by the indexes in the V2 / V3 migrations
+ *
+ * Each query is the shape the repository or service sends, with literal
+ * parameters, next to the index it was written for. It is EXPLAINed with
+ * enable_seqscan off, which makes the planner pick an index however small
+ * the table is. The plan must name that index: "no Seq Scan" alone is not
+ * enough, since ORDER BY id LIMIT finders fall back to the primary key when
+ * their own index is dropped, renamed, or no longer fits the finder.
+ */
+class HotQueryIndexTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("orders by user", "idx_orders_user_created",
+                        "SELECT * FROM orders WHERE user_id = 1 ORDER BY created_at DESC"),
+                Arguments.of("orders by school and type", "idx_orders_school_type_created",
+                        "SELECT * FROM orders WHERE school_id = 1 AND order_type = 'PURCHASE' ORDER BY created_at DESC"),
+                Arguments.of("open orders by status", "idx_orders_status_created",
+                        "SELECT id FROM orders WHERE status IN ('PENDING', 'IN_PROCESS') AND created_at >= now() - interval '30 days'"),
+                Arguments.of("due payment-plan orders", "idx_orders_pending_payment_plan",
+                        "SELECT id FROM orders WHERE payment_type = 'PAYMENT_PLAN' AND status = 'PENDING' AND id > 0 ORDER BY id LIMIT 500"),
+                Arguments.of("order lines", "idx_order_items_order",
+                        "SELECT * FROM order_items WHERE order_id = 1"),
+                Arguments.of("children by parent", "idx_children_parent_created",
+                        "SELECT * FROM children WHERE parent_id = 1 ORDER BY created_at DESC"),
+                Arguments.of("children by school and grade", "idx_children_school_grade_name",
+                        "SELECT * FROM children WHERE school_id = 1 AND grade = '5' ORDER BY name"),
+                Arguments.of("children by school and status", "idx_children_school_status_created",
+                        "SELECT * FROM children WHERE school_id = 1 AND verification_status = 'PENDING' ORDER BY created_at DESC"),
+                Arguments.of("message thread", "idx_messages_thread",
+                        "SELECT * FROM messages WHERE thread_id = 1 OR id = 1 ORDER BY sent_at"),
+                Arguments.of("parent unread messages", "idx_messages_parent_read",
+                        "SELECT count(*) FROM messages WHERE parent_user_id = 1 AND is_read = false AND sender_user_id <> 1"),
+                Arguments.of("school threads", "idx_messages_school_thread_sent",
+                        "SELECT * FROM messages WHERE school_id = 1 AND is_thread_start = true ORDER BY sent_at DESC"),
+                Arguments.of("school unread messages", "idx_messages_school_unread",
+                        "SELECT count(*) FROM messages WHERE school_id = 1 AND is_read = false"),
+                Arguments.of("published communications", "idx_communications_school_published_created",
+                        "SELECT * FROM communications WHERE school_id = 1 AND published = true ORDER BY created_at DESC"),
+                Arguments.of("school events", "idx_school_events_school_date",
+                        "SELECT * FROM school_events WHERE school_id = 1 AND event_date >= now() ORDER BY event_date"),
+                Arguments.of("school requests by user", "idx_school_requests_user",
+                        "SELECT * FROM school_requests WHERE user_id = 1 ORDER BY created_at DESC"),
+                Arguments.of("school requests by status", "idx_school_requests_status_created",
+                        "SELECT * FROM school_requests WHERE status = 'PENDING' ORDER BY created_at DESC"),
+                Arguments.of("bundles by school and grade", "idx_stationery_bundles_school_grade",
+                        "SELECT * FROM stationery_bundles WHERE school_id = 1 AND grade = '5'"),
+                Arguments.of("bundle items", "idx_bundle_stationery_bundle",
+                        "SELECT * FROM bundle_stationery WHERE bundle_id = 1"),
+                Arguments.of("stationery by category", "idx_stationery_category",
+                        "SELECT * FROM stationery WHERE category = 'PENS'"),
+                Arguments.of("user email prefix", "idx_users_email_prefix",
+                        "SELECT id FROM users WHERE lower(email) LIKE 'ann%' ORDER BY id LIMIT 50"),
+                Arguments.of("user name prefix", "idx_users_full_name_prefix",
+                        "SELECT id FROM users WHERE lower(full_name) LIKE 'ann%' ORDER BY id LIMIT 50"),
+                Arguments.of("users by role", "idx_users_role_id",
+                        "SELECT id FROM users WHERE role = 'SCHOOL_ADMIN' AND id > 0 ORDER BY id LIMIT 50"),
+                Arguments.of("order intake queue", "idx_order_intake_status_id",
+                        "SELECT id FROM order_intake WHERE status = 'QUEUED' AND (next_attempt_at IS NULL OR next_attempt_at <= now()) " +
+                        "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesItsIndex(String name, String index, String sql) {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        });
+
+        String text = String.join("\n", plan);
+        Pattern scan = Pattern.compile(
+                "(Index (Only )?Scan (Backward )?using|Bitmap Index Scan on) " + Pattern.quote(index) + "\\b");
+        assertTrue(scan.matcher(text).find(), () -> name + " is not using " + index + ":\n" + text);
+    }
+}
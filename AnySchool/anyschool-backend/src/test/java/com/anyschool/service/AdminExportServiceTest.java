@@ -0,0 +1,48 @@
+package com.anyschool.service;
+
+import com.anyschool.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * An export with no rows is still a well-formed file
+ */
+class AdminExportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AdminExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void emptyCsvExportHasHeader() {
+        assertEquals("id,orderId,stationeryId,stationeryName,quantity,price,subtotal\r\n",
+                exportOrderItemsFromEmptyTable(AdminExportService.Format.CSV));
+    }
+
+    @Test
+    void emptyNdjsonExportIsEmpty() {
+        assertEquals("", exportOrderItemsFromEmptyTable(AdminExportService.Format.NDJSON));
+    }
+
+    private String exportOrderItemsFromEmptyTable(AdminExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM order_items");
+            assertEquals(0, exportService.writeOrderItems(format, out));
+            status.setRollbackOnly();
+        });
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
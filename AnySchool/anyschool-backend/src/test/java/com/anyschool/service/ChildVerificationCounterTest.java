@@ -0,0 +1,86 @@
+package com.anyschool.service;
+
+import com.anyschool.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * school_child_counters (V4 triggers) must equal a count(*) of pending
+ * children per school after every kind of write: insert, bulk decide,
+ * verify-grade, a school change and a delete
+ */
+class ChildVerificationCounterTest extends PostgresIntegrationTest {
+
+    private static final String COUNTERS_VS_COUNT_SQL =
+            "SELECT s.id AS school_id, COALESCE(c.pending_children, 0) AS counter, " +
+            "(SELECT count(*) FROM children ch WHERE ch.school_id = s.id AND ch.verification_status = 'PENDING') AS actual " +
+            "FROM schools s LEFT JOIN school_child_counters c ON c.school_id = s.id";
+
+    @Autowired
+    private ChildVerificationService verificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long parentId;
+    private long schoolA;
+    private long schoolB;
+
+    @BeforeEach
+    void setUp() {
+        parentId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password, full_name, role, created_at, updated_at) " +
+                "VALUES (?, 'x', 'Counter Parent', 'PARENT', now(), now()) RETURNING id",
+                Long.class, "counter-" + UUID.randomUUID() + "@example.com");
+        List<Long> schools = jdbcTemplate.queryForList("SELECT id FROM schools ORDER BY id LIMIT 2", Long.class);
+        schoolA = schools.get(0);
+        schoolB = schools.get(1);
+    }
+
+    @Test
+    void countersFollowEveryWrite() {
+        // One multi-row insert: four pending at A (two in a grade of their own), one decided, one pending at B
+        String grade = "G" + UUID.randomUUID().toString().substring(0, 8);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "INSERT INTO children (name, grade, verification_status, parent_id, school_id, created_at, updated_at) VALUES " +
+                "('Ann', ?, 'PENDING', ?, ?, now(), now()), " +
+                "('Ben', ?, 'PENDING', ?, ?, now(), now()), " +
+                "('Cat', '5', 'PENDING', ?, ?, now(), now()), " +
+                "('Dan', '5', 'PENDING', ?, ?, now(), now()), " +
+                "('Eve', '5', 'APPROVED', ?, ?, now(), now()), " +
+                "('Fay', '5', 'PENDING', ?, ?, now(), now()) RETURNING id",
+                Long.class,
+                grade, parentId, schoolA, grade, parentId, schoolA, parentId, schoolA,
+                parentId, schoolA, parentId, schoolA, parentId, schoolB);
+        assertCountersMatch();
+
+        verificationService.decide(schoolA, List.of(ids.get(2), ids.get(4)), ChildVerificationService.Decision.REJECT);
+        assertCountersMatch();
+
+        verificationService.verifyGrade(schoolA, grade.toLowerCase());
+        assertCountersMatch();
+
+        // Dan moves school while still pending
+        jdbcTemplate.update("UPDATE children SET school_id = ? WHERE id = ?", schoolB, ids.get(3));
+        assertCountersMatch();
+
+        jdbcTemplate.update("DELETE FROM children WHERE id IN (?, ?, ?, ?, ?, ?)", ids.toArray());
+        assertCountersMatch();
+    }
+
+    private void assertCountersMatch() {
+        for (Map<String, Object> school : jdbcTemplate.queryForList(COUNTERS_VS_COUNT_SQL)) {
+            long actual = ((Number) school.get("actual")).longValue();
+            assertEquals(actual, ((Number) school.get("counter")).longValue(), () -> "school " + school.get("school_id"));
+            assertEquals(actual, verificationService.pendingCount(((Number) school.get("school_id")).longValue()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.anyschool.service;
+
+import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.exception.IdempotencyKeyMismatchException;
+import com.anyschool.exception.IdempotencyStoreFullException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A repeated Idempotency-Key is matched on the request body's content;
+ * the store takes no new keys past max-entries
+ */
+class IdempotencyServiceTest {
+
+    private final IdempotencyService idempotencyService = new IdempotencyService(new ObjectMapper(), 10, 5, 100);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void equalBodyIsReplayed() {
+        execute("key-1", order("Ann"));
+        ResponseEntity<Integer> replay = execute("key-1", order("Ann"));
+
+        assertEquals(1, runs.get());
+        assertEquals(1, replay.getBody());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void differentBodyIsRejected() {
+        execute("key-2", order("Ann"));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> execute("key-2", order("Ben")));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void mapKeyOrderDoesNotMatter() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", 2);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", 2);
+        second.put("a", 1);
+
+        execute("key-3", first);
+        execute("key-3", second);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void newKeysAreRejectedOnceStoreIsFull() {
+        IdempotencyService small = new IdempotencyService(new ObjectMapper(), 10, 5, 2);
+        small.execute(7L, "key-a", order("Ann"), () -> ResponseEntity.ok(runs.incrementAndGet()));
+        small.execute(7L, "key-b", order("Ann"), () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+        assertThrows(IdempotencyStoreFullException.class,
+                () -> small.execute(7L, "key-c", order("Ann"), () -> ResponseEntity.ok(runs.incrementAndGet())));
+        ResponseEntity<Integer> replay =
+                small.execute(7L, "key-a", order("Ann"), () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+        assertEquals(2, runs.get());
+        assertEquals(1, replay.getBody());
+    }
+
+    private ResponseEntity<Integer> execute(String key, Object request) {
+        return idempotencyService.execute(7L, key, request, () -> ResponseEntity.ok(runs.incrementAndGet()));
+    }
+
+    private static CreateOrderRequest order(String studentName) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setSchoolId(1L);
+        request.setStudentName(studentName);
+        request.setOrderType("PURCHASE");
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package com.anyschool.service;
+
+import com.anyschool.PostgresIntegrationTest;
+import com.anyschool.model.OrderIntake;
+import com.anyschool.model.OrderIntakeStatus;
+import com.anyschool.repository.OrderIntakeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Peak-mode intake retries: attempts are counted when an intake is claimed,
+ * failed intakes back off, and give up after max-attempts
+ */
+@TestPropertySource(properties = "app.orders.peak-mode.max-attempts=2")
+class OrderIntakeServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrderIntakeService intakeService;
+
+    @Autowired
+    private OrderIntakeRepository intakeRepository;
+
+    @BeforeEach
+    void emptyQueue() {
+        intakeRepository.deleteAll();
+    }
+
+    @Test
+    void transientFailureBacksOffThenGivesUp() {
+        Long id = queue("{}").getId();
+
+        assertEquals(id, intakeService.claimNext());
+        intakeService.recordFailure(new OrderIntakeService.IntakeProcessingException(id, new IllegalStateException("database down")));
+
+        OrderIntake intake = intakeRepository.findById(id).orElseThrow();
+        assertEquals(OrderIntakeStatus.QUEUED, intake.getStatus());
+        assertEquals(1, intake.getAttempts());
+        assertEquals("database down", intake.getErrorMessage());
+        assertTrue(intake.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        // Backing off: not claimable yet
+        assertNull(intakeService.claimNext());
+
+        makeDue(intake);
+        assertEquals(id, intakeService.claimNext());
+        intakeService.recordFailure(new OrderIntakeService.IntakeProcessingException(id, new IllegalStateException("database down")));
+
+        intake = intakeRepository.findById(id).orElseThrow();
+        assertEquals(OrderIntakeStatus.FAILED, intake.getStatus());
+        assertEquals(2, intake.getAttempts());
+        assertEquals("Gave up after 2 attempts: database down", intake.getErrorMessage());
+    }
+
+    @Test
+    void intakeOutOfAttemptsIsFailedInsteadOfClaimed() {
+        OrderIntake intake = queue("{}");
+        intake.setAttempts(2);
+        intakeRepository.save(intake);
+
+        assertNull(intakeService.claimNext());
+        assertEquals(OrderIntakeStatus.FAILED, intakeRepository.findById(intake.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void businessFailureFailsAtOnce() {
+        Long id = queue("{\"schoolId\": 1}").getId();
+
+        assertEquals(id, intakeService.claimNext());
+        OrderIntakeService.IntakeProcessingException failure =
+                assertThrows(OrderIntakeService.IntakeProcessingException.class, () -> intakeService.process(id));
+        intakeService.recordFailure(failure);
+
+        OrderIntake intake = intakeRepository.findById(id).orElseThrow();
+        assertEquals(OrderIntakeStatus.FAILED, intake.getStatus());
+        assertEquals(1, intake.getAttempts());
+    }
+
+    private OrderIntake queue(String payload) {
+        return intakeRepository.save(OrderIntake.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .userId(-1L)
+                .payload(payload)
+                .status(OrderIntakeStatus.QUEUED)
+                .build());
+    }
+
+    private void makeDue(OrderIntake intake) {
+        intake.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        intakeRepository.save(intake);
+    }
+}
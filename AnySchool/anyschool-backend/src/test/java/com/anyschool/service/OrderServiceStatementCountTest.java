@@ -0,0 +1,129 @@
+package com.anyschool.service;
+
+import com.anyschool.PostgresIntegrationTest;
+import com.anyschool.dto.CreateOrderRequest;
+import com.anyschool.model.Order;
+import com.anyschool.model.Stationery;
+import com.anyschool.model.User;
+import com.anyschool.model.UserRole;
+import com.anyschool.monitoring.SqlStatementCounter;
+import com.anyschool.repository.SchoolRepository;
+import com.anyschool.repository.StationeryRepository;
+import com.anyschool.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Order creation must cost a fixed number of statements, however many lines
+ * the order has:
+ *
+ * 1. school lookup
+ * 2. stationery lookup (one WHERE id IN (...) for all lines)
+ * 3. order insert
+ * 4. order item insert (one JDBC batch for all lines)
+ *
+ * Ids come from pooled sequences (allocationSize 50), so a measured order
+ * that starts a new block also sends a nextval; those calls are left out of
+ * the count. The second-level cache is emptied before each measurement so
+ * the school lookup is a real query.
+ */
+class OrderServiceStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int STATEMENTS_PER_ORDER = 4;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private StationeryRepository stationeryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User parent;
+    private Long schoolId;
+    private List<Stationery> catalogue;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("order-count-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setFullName("Statement Count Parent");
+        user.setRole(UserRole.PARENT);
+        parent = userRepository.save(user);
+
+        schoolId = schoolRepository.findAll().get(0).getId();
+        catalogue = stationeryRepository.findAll();
+
+        orderService.createOrder(parent, request(1));
+    }
+
+    @Test
+    void singleLineOrderUsesFixedStatementCount() {
+        assertEquals(STATEMENTS_PER_ORDER, statementsFor(request(1)));
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithOrderLines() {
+        int oneLine = statementsFor(request(1));
+        int manyLines = statementsFor(request(20));
+
+        assertEquals(STATEMENTS_PER_ORDER, oneLine);
+        assertEquals(oneLine, manyLines);
+    }
+
+    @Test
+    void sequenceBlockBoundaryDoesNotChangeStatementCount() {
+        // One more order than a pooled block, so at least one of them fetches a new block
+        for (int i = 0; i <= 50; i++) {
+            assertEquals(STATEMENTS_PER_ORDER, statementsFor(request(1)));
+        }
+    }
+
+    private int statementsFor(CreateOrderRequest request) {
+        entityManagerFactory.getCache().evictAll();
+        Order[] created = new Order[1];
+        int statements = SqlStatementCounter.count(() -> created[0] = orderService.createOrder(parent, request),
+                shape -> shape.contains("nextval("));
+        assertEquals(request.getItems().size(), created[0].getOrderItems().size());
+        return statements;
+    }
+
+    /**
+     * Purchase order with the given number of lines, cycling through the catalogue
+     */
+    private CreateOrderRequest request(int lines) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setStationeryId(catalogue.get(i % catalogue.size()).getId());
+            item.setQuantity(1 + i);
+            items.add(item);
+        }
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setSchoolId(schoolId);
+        request.setOrderType("PURCHASE");
+        request.setStudentGrade("5");
+        request.setStudentName("Test Learner");
+        request.setAcademicYear("2026");
+        request.setPaymentType("IMMEDIATE");
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package com.anyschool.service;
+
+import com.anyschool.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Debit-order references on a bank statement must not count an instalment
+ * DebitRunService (or an earlier line) already collected
+ */
+class ReconciliationServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password, full_name, role, created_at, updated_at) " +
+                "VALUES (?, 'x', 'Reconciliation Parent', 'PARENT', now(), now()) RETURNING id",
+                Long.class, "reconcile-" + UUID.randomUUID() + "@example.com");
+    }
+
+    @Test
+    void instalmentCollectedByDebitRunIsReportedAsAlreadyApplied() {
+        long orderId = paymentPlanOrder(2);
+
+        Map<String, Object> report = reconcile(
+                "AS" + orderId + "-2,100.00\n" +
+                "AS" + orderId + "-3,100.00\n" +
+                "AS" + orderId + "-3,100.00\n");
+
+        Map<?, ?> summary = (Map<?, ?>) report.get("summary");
+        assertEquals(1, summary.get("matched"));
+        assertEquals(2, summary.get("alreadyApplied"));
+        assertEquals(1L, summary.get("applied"));
+
+        Map<String, Object> order = jdbcTemplate.queryForMap(
+                "SELECT payments_received, last_collected_instalment, status FROM orders WHERE id = ?", orderId);
+        assertEquals(3, order.get("payments_received"));
+        assertEquals(3, order.get("last_collected_instalment"));
+        assertEquals("PENDING", order.get("status"));
+    }
+
+    @Test
+    void paymentWithoutInstalmentLeavesCollectionMarkerAlone() {
+        long orderId = paymentPlanOrder(2);
+
+        Map<String, Object> report = reconcile("AS" + orderId + ",100.00\n");
+
+        assertEquals(1L, ((Map<?, ?>) report.get("summary")).get("applied"));
+        Map<String, Object> order = jdbcTemplate.queryForMap(
+                "SELECT payments_received, last_collected_instalment FROM orders WHERE id = ?", orderId);
+        assertEquals(3, order.get("payments_received"));
+        assertEquals(2, order.get("last_collected_instalment"));
+    }
+
+    private Map<String, Object> reconcile(String lines) {
+        String csv = "description,amount\n" + lines;
+        return reconciliationService.reconcile(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false);
+    }
+
+    /**
+     * Pending 10-month plan at R100 a month with the given instalments already collected
+     */
+    private long paymentPlanOrder(int collected) {
+        long id = jdbcTemplate.queryForObject("SELECT nextval('orders_seq')", Long.class);
+        jdbcTemplate.update(
+                "INSERT INTO orders (id, user_id, status, order_type, payment_type, academic_year, total_amount, " +
+                "monthly_instalment, payment_plan_months, payments_received, last_collected_instalment, " +
+                "is_marked_final, created_at, updated_at) " +
+                "VALUES (?, ?, 'PENDING', 'PURCHASE', 'PAYMENT_PLAN', '2027', 1000.00, 100.00, 10, ?, ?, false, now(), now())",
+                id, userId, collected, collected);
+        return id;
+    }
+}
@@ -0,0 +1,36 @@
+package com.anyschool.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Records whose quoted fields span lines or contain escaped quotes
+ */
+class CsvUtilsTest {
+
+    @Test
+    void quotedLineBreakStaysInOneRecord() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "name,notes\r\nAnn,\"first line\r\nsecond, line\"\r\nBen,none\r\n"));
+
+        assertEquals(List.of("name", "notes"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("Ann", "first line\nsecond, line"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("Ben", "none"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertNull(CsvUtils.readRecord(reader));
+    }
+
+    @Test
+    void escapedQuotesDoNotOpenAField() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("\"say \"\"hi\"\"\",x\ny,z\n"));
+
+        assertEquals(List.of("say \"hi\"", "x"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+        assertEquals(List.of("y", "z"), CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+    }
+}
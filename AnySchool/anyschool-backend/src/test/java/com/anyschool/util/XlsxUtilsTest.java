@@ -0,0 +1,113 @@
+package com.anyschool.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cell references in hand-written or generated sheets: gaps, repeats and
+ * columns past Excel's XFD limit; parts that inflate past the size caps
+ */
+class XlsxUtilsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void columnIndexCoversExcelRange() {
+        assertEquals(0, XlsxUtils.columnIndex("A1"));
+        assertEquals(27, XlsxUtils.columnIndex("AB12"));
+        assertEquals(16_383, XlsxUtils.columnIndex("XFD1"));
+        assertThrows(IllegalArgumentException.class, () -> XlsxUtils.columnIndex("XFE1"));
+        assertThrows(IllegalArgumentException.class, () -> XlsxUtils.columnIndex("ZZZZZZZ1"));
+        assertThrows(IllegalArgumentException.class, () -> XlsxUtils.columnIndex("12"));
+    }
+
+    @Test
+    void gapsArePaddedAndRepeatedReferencesReplaced() throws IOException {
+        Path file = sheet("<row r=\"1\">"
+                + "<c r=\"A1\" t=\"inlineStr\"><is><t>Ann</t></is></c>"
+                + "<c r=\"C1\" t=\"inlineStr\"><is><t>5</t></is></c>"
+                + "<c r=\"A1\" t=\"inlineStr\"><is><t>Ben</t></is></c>"
+                + "</row>");
+
+        List<List<String>> rows = new ArrayList<>();
+        XlsxUtils.readFirstSheet(file, (rowNumber, cells) -> rows.add(cells));
+
+        assertEquals(List.of(List.of("Ben", "", "5")), rows);
+    }
+
+    @Test
+    void cellBeyondXfdIsRejected() throws IOException {
+        Path file = sheet("<row r=\"1\"><c r=\"XFE1\"><v>1</v></c></row>");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> XlsxUtils.readFirstSheet(file, (rowNumber, cells) -> { }));
+        assertTrue(e.getMessage().contains("XFE1"), e.getMessage());
+    }
+
+    @Test
+    void inflatedSheetIsRejected() throws IOException {
+        // ~65 MB of whitespace compresses to a few hundred KB
+        Path file = dir.resolve("bomb.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write("<worksheet><sheetData>".getBytes(StandardCharsets.UTF_8));
+            byte[] padding = new byte[1024 * 1024];
+            Arrays.fill(padding, (byte) ' ');
+            for (int i = 0; i < 65; i++) {
+                zip.write(padding);
+            }
+            zip.write("</sheetData></worksheet>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> XlsxUtils.readFirstSheet(file, (rowNumber, cells) -> { }));
+        assertTrue(e.getMessage().contains("sheet1.xml"), e.getMessage());
+    }
+
+    @Test
+    void oversizedStringTableIsRejected() throws IOException {
+        Path file = sheet("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c></row>",
+                "<si><t>a</t></si>".repeat(1_000_001));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> XlsxUtils.readFirstSheet(file, (rowNumber, cells) -> { }));
+        assertTrue(e.getMessage().contains("string table"), e.getMessage());
+    }
+
+    private Path sheet(String rows) throws IOException {
+        return sheet(rows, null);
+    }
+
+    private Path sheet(String rows, String sharedStrings) throws IOException {
+        Path file = dir.resolve("roster.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write(("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<sheetData>" + rows + "</sheetData></worksheet>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            if (sharedStrings != null) {
+                zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+                zip.write(("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                        + sharedStrings + "</sst>").getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}